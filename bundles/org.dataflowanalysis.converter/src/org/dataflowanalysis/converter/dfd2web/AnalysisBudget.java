@@ -0,0 +1,23 @@
+package org.dataflowanalysis.converter.dfd2web;
+
+import java.time.Duration;
+import org.apache.log4j.Logger;
+
+/**
+ * Limits the transpose flow graph analysis of the {@link DFD2WebConverter}. When the analysis of a diagram exceeds the
+ * budget, the converter falls back to a fixpoint label propagation and marks the result as partial analysis
+ * @param maximumTransposeFlowGraphs Maximum number of transpose flow graphs
+ * @param maximumVertices Maximum number of vertices of all transpose flow graphs
+ * @param maximumTime Maximum time to find and evaluate the transpose flow graphs
+ */
+public record AnalysisBudget(long maximumTransposeFlowGraphs, long maximumVertices, Duration maximumTime) {
+    private static final Logger logger = Logger.getLogger(AnalysisBudget.class);
+
+    public AnalysisBudget {
+        if (maximumTransposeFlowGraphs <= 0 || maximumVertices <= 0 || maximumTime == null || maximumTime.isNegative() || maximumTime.isZero()) {
+            logger.error("Analysis budget limits must be positive, but got: " + maximumTransposeFlowGraphs + " transpose flow graphs, "
+                    + maximumVertices + " vertices, " + maximumTime);
+            throw new IllegalArgumentException("Invalid analysis budget");
+        }
+    }
+}
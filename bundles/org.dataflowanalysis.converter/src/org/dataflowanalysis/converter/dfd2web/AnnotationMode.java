@@ -0,0 +1,19 @@
+package org.dataflowanalysis.converter.dfd2web;
+
+/**
+ * Determines which annotations the {@link DFD2WebConverter} adds to the nodes of the web editor diagram
+ */
+public enum AnnotationMode {
+    /**
+     * No annotations are created and the diagram is not analyzed
+     */
+    NONE,
+    /**
+     * Nodes are annotated with their propagated labels. Conditions are not checked
+     */
+    PROPAGATED_LABELS,
+    /**
+     * Nodes are annotated with their propagated labels and, if conditions are set, with the violated conditions
+     */
+    PROPAGATED_LABELS_AND_VIOLATIONS
+}
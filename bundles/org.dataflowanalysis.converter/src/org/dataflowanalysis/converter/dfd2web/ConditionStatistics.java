@@ -0,0 +1,11 @@
+package org.dataflowanalysis.converter.dfd2web;
+
+/**
+ * Describes the evaluation of a single condition by the {@link DFD2WebConverter}
+ * @param condition Index of the condition in the list of conditions
+ * @param violations Number of violating vertices over all transpose flow graphs
+ * @param evaluationTime Time spent evaluating the condition over all transpose flow graphs in nanoseconds. When the
+ * transpose flow graphs are evaluated in parallel, this is the sum of the time on all threads
+ */
+public record ConditionStatistics(int condition, int violations, long evaluationTime) {
+}
@@ -1,22 +1,36 @@
 package org.dataflowanalysis.converter.dfd2web;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import org.apache.log4j.Logger;
 import org.dataflowanalysis.analysis.core.AbstractTransposeFlowGraph;
 import org.dataflowanalysis.analysis.core.AbstractVertex;
 import org.dataflowanalysis.analysis.core.TransposeFlowGraphFinder;
-import org.dataflowanalysis.analysis.dfd.DFDConfidentialityAnalysis;
 import org.dataflowanalysis.analysis.dfd.core.DFDTransposeFlowGraphFinder;
 import org.dataflowanalysis.analysis.dfd.simple.DFDSimpleTransposeFlowGraphFinder;
 import org.dataflowanalysis.converter.Converter;
 import org.dataflowanalysis.converter.ConverterModel;
+import org.dataflowanalysis.converter.util.IncomingFlowIndex;
 import org.dataflowanalysis.converter.web2dfd.BehaviorConverter;
 import org.dataflowanalysis.converter.web2dfd.WebEditorConverterModel;
 import org.dataflowanalysis.converter.web2dfd.model.Annotation;
@@ -45,24 +59,109 @@ public class DFD2WebConverter extends Converter {
     private Optional<List<Predicate<? super AbstractVertex<?>>>> conditions = Optional.empty();
     private Optional<Class<? extends TransposeFlowGraphFinder>> transposeFlowGraphFinder = Optional.empty();
     private boolean readOnly = false;
-
-    private Map<Pin, List<String>> inputPinToFlowNamesMap;
+    private LabelPropagationMode labelPropagationMode = LabelPropagationMode.TRANSPOSE_FLOW_GRAPH;
+    private boolean parallel = false;
+    private AnnotationMode annotationMode = AnnotationMode.PROPAGATED_LABELS_AND_VIOLATIONS;
+    private TransposeFlowGraphCache transposeFlowGraphCache;
+    private AnalysisBudget analysisBudget;
+    private boolean automaticFinderSelection = false;
+    private ExecutorService abandonedAnalysis;
+    private Optional<String> partialAnalysisReason = Optional.empty();
+    private List<ConditionStatistics> conditionStatistics = List.of();
+    private boolean memoizeStrings = true;
+    private int memoHits;
+    private int memoMisses;
+
+    private final Map<Pin, String> pinStrings = new HashMap<>();
+    private final Map<Label, String> labelStrings = new HashMap<>();
+    private final Map<TermKey, String> termStrings = new HashMap<>();
+
+    private IncomingFlowIndex incomingFlowIndex;
     private BehaviorConverter behaviorConverter;
 
     @Override
     public WebEditorConverterModel convert(ConverterModel input) {
+        DataFlowDiagramAndDictionary dfdModel = toDataFlowDiagramAndDictionary(input);
+        WebEditorDfd webEditorDfd = processDfd(dfdModel.dataFlowDiagram(), dfdModel.dataDictionary(), createAnnotations(dfdModel));
+        return new WebEditorConverterModel(webEditorDfd);
+    }
+
+    /**
+     * Converts the given data flow diagram and dictionary and writes the web editor JSON directly to the given output
+     * stream. The output is identical to saving the result of {@link #convert(ConverterModel)}, but no intermediate web
+     * editor model is created. The output stream is not closed
+     * @param input Data flow diagram and dictionary that is converted
+     * @param outputStream Output stream the web editor JSON is written to
+     * @throws IOException Thrown, if writing to the output stream fails
+     */
+    public void convert(ConverterModel input, OutputStream outputStream) throws IOException {
+        DataFlowDiagramAndDictionary dfdModel = toDataFlowDiagramAndDictionary(input);
+        Map<Node, Annotation> mapNodeToAnnotation = createAnnotations(dfdModel);
+        DataFlowDiagram dataFlowDiagram = dfdModel.dataFlowDiagram();
+        DataDictionary dataDictionary = dfdModel.dataDictionary();
+        behaviorConverter = new BehaviorConverter(dataDictionary);
+        clearMemoTables();
+        var controlFlowNameMap = createControlFlowNameMap(dataFlowDiagram);
+
+        try (JsonGenerator generator = new JsonFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartObject();
+            generator.writeObjectFieldStart("model");
+            generator.writeStringField("type", "graph");
+            generator.writeStringField("id", "root");
+            generator.writeArrayFieldStart("children");
+            for (Flow flow : dataFlowDiagram.getFlows()) {
+                writeFlow(generator, flow, controlFlowNameMap);
+            }
+            for (Node node : dataFlowDiagram.getNodes()) {
+                writeNode(generator, node, mapNodeToAnnotation.get(node));
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+
+            generator.writeArrayFieldStart("labelTypes");
+            for (LabelType labelType : dataDictionary.getLabelTypes()) {
+                generator.writeStartObject();
+                writeStringField(generator, "id", labelType.getId());
+                writeStringField(generator, "name", labelType.getEntityName());
+                generator.writeArrayFieldStart("values");
+                for (Label label : labelType.getLabel()) {
+                    generator.writeStartObject();
+                    writeStringField(generator, "id", label.getId());
+                    writeStringField(generator, "text", label.getEntityName());
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeStringField("mode", readOnly ? "view" : "edit");
+            generator.writeArrayFieldStart("constraints");
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } finally {
+            behaviorConverter.close();
+        }
+    }
+
+    private DataFlowDiagramAndDictionary toDataFlowDiagramAndDictionary(ConverterModel input) {
         Optional<DataFlowDiagramAndDictionary> dfdModel = input.toType(DataFlowDiagramAndDictionary.class);
         if (dfdModel.isEmpty()) {
             logger.error("Expected DataFlowDiagramAndDictionary, but got: " + input.getClass()
                     .getSimpleName());
             throw new IllegalArgumentException("Invalid input for Model Conversion");
         }
-        WebEditorDfd webEditorDfd = processDfd(dfdModel.get()
-                .dataFlowDiagram(),
-                dfdModel.get()
-                        .dataDictionary(),
-                createNodeAnnotationMap(dfdModel.get(), this.conditions.orElse(null), this.transposeFlowGraphFinder.orElse(null)));
-        return new WebEditorConverterModel(webEditorDfd);
+        return dfdModel.get();
+    }
+
+    private Map<Node, Annotation> createAnnotations(DataFlowDiagramAndDictionary dfdModel) {
+        conditionStatistics = List.of();
+        partialAnalysisReason = Optional.empty();
+        if (annotationMode == AnnotationMode.NONE)
+            return new HashMap<>();
+        var annotatedConditions = annotationMode == AnnotationMode.PROPAGATED_LABELS_AND_VIOLATIONS ? this.conditions.orElse(null) : null;
+        return createNodeAnnotationMap(dfdModel, annotatedConditions, this.transposeFlowGraphFinder.orElse(null));
     }
 
     /**
@@ -81,6 +180,31 @@ public class DFD2WebConverter extends Converter {
         this.transposeFlowGraphFinder = Optional.ofNullable(transposeFlowGraphFinder);
     }
 
+    /**
+     * Sets whether the pin, label and term strings of the behavior are memoized during a conversion. Diagrams with many
+     * assignments referencing the same pins, labels or terms then render each of them only once
+     * @param memoizeStrings Determines whether the behavior strings are memoized
+     */
+    public void setMemoizeStrings(boolean memoizeStrings) {
+        this.memoizeStrings = memoizeStrings;
+    }
+
+    /**
+     * Returns the number of pin, label and term strings of the last conversion that were taken from the memo tables
+     * @return Returns the number of memo hits
+     */
+    public int getMemoHits() {
+        return memoHits;
+    }
+
+    /**
+     * Returns the number of pin, label and term strings of the last conversion that had to be rendered
+     * @return Returns the number of memo misses
+     */
+    public int getMemoMisses() {
+        return memoMisses;
+    }
+
     /**
      * Sets whether the resulting web dfd should be in read-only or not
      * @param readOnly Determines whether the read only mode is set
@@ -89,6 +213,82 @@ public class DFD2WebConverter extends Converter {
         this.readOnly = readOnly;
     }
 
+    /**
+     * Sets the mode that is used to compute the propagated labels of each node. By default, the transpose flow graphs of
+     * the diagram are evaluated
+     * @param labelPropagationMode Mode that is used to compute the propagated labels
+     */
+    public void setLabelPropagationMode(LabelPropagationMode labelPropagationMode) {
+        this.labelPropagationMode = labelPropagationMode;
+    }
+
+    /**
+     * Sets which annotations are added to the nodes of the web editor diagram. In {@link AnnotationMode#NONE}, the diagram
+     * is not analyzed at all. By default, propagated labels and violations of the set conditions are annotated
+     * @param annotationMode Mode that determines the created annotations
+     */
+    public void setAnnotationMode(AnnotationMode annotationMode) {
+        this.annotationMode = annotationMode;
+    }
+
+    /**
+     * Sets whether the transpose flow graphs are evaluated and checked against the conditions in parallel. The conditions
+     * must then be safe to be tested concurrently. The created annotations are identical to the sequential evaluation
+     * @param parallel Determines whether transpose flow graphs are evaluated in parallel
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Sets the cache that stores the evaluated transpose flow graphs of converted diagrams. Diagrams with the same
+     * structure that are converted again reuse the cached transpose flow graphs instead of analyzing the diagram
+     * @param transposeFlowGraphCache Cache of evaluated transpose flow graphs or null, if no cache should be used
+     */
+    public void setTransposeFlowGraphCache(TransposeFlowGraphCache transposeFlowGraphCache) {
+        this.transposeFlowGraphCache = transposeFlowGraphCache;
+    }
+
+    /**
+     * Sets the budget of the transpose flow graph analysis. If the analysis of a diagram exceeds the budget, the propagated
+     * labels are computed by a fixpoint propagation, no conditions are checked and every node is annotated as partial
+     * analysis. Once the time budget is exceeded, the analysis stops before evaluating the next transpose flow graph.
+     * Finding the transpose flow graphs cannot be interrupted, so a running search continues in a background thread until
+     * it finishes and its result is discarded. While such a search is still running, further conversions skip the analysis
+     * and fall back to the propagation, so at most one abandoned search is running per converter
+     * @param analysisBudget Budget of the analysis or null, if the analysis is not limited
+     */
+    public void setAnalysisBudget(AnalysisBudget analysisBudget) {
+        this.analysisBudget = analysisBudget;
+    }
+
+    /**
+     * Sets whether the transpose flow graph finder is selected automatically, if no finder class is set. A cycle analysis
+     * of the diagram selects the {@link DFDSimpleTransposeFlowGraphFinder} for acyclic diagrams and the
+     * {@link DFDTransposeFlowGraphFinder} for cyclic diagrams
+     * @param automaticFinderSelection Determines whether the finder is selected automatically
+     */
+    public void setAutomaticFinderSelection(boolean automaticFinderSelection) {
+        this.automaticFinderSelection = automaticFinderSelection;
+    }
+
+    /**
+     * Returns the reason why the last conversion only performed a partial analysis
+     * @return Returns an optional containing the reason, if the analysis budget was exceeded
+     */
+    public Optional<String> getPartialAnalysisReason() {
+        return partialAnalysisReason;
+    }
+
+    /**
+     * Returns the number of violations and the evaluation time of each condition during the last conversion. The list is
+     * empty, if no conditions were set
+     * @return Returns the statistics of each non-null condition, ordered by the index of the condition
+     */
+    public List<ConditionStatistics> getConditionStatistics() {
+        return conditionStatistics;
+    }
+
     /**
      * Creates the node annotations by analyzing the DFD
      * @param complete DFD / DD combination
@@ -98,49 +298,99 @@ public class DFD2WebConverter extends Converter {
      */
     private Map<Node, Annotation> createNodeAnnotationMap(DataFlowDiagramAndDictionary complete,
             List<Predicate<? super AbstractVertex<?>>> conditions, Class<? extends TransposeFlowGraphFinder> finderClass) {
-        var collection = getTransposeFlowGraphs(complete, finderClass);
-        collection = collection.stream()
-                .map(AbstractTransposeFlowGraph::evaluate)
-                .toList();
+        List<? extends AbstractTransposeFlowGraph> collection = List.of();
+        boolean useWorklist = labelPropagationMode == LabelPropagationMode.WORKLIST;
+        if (!useWorklist || conditions != null) {
+            var budgetedCollection = getTransposeFlowGraphsWithinBudget(complete, finderClass);
+            if (budgetedCollection.isPresent()) {
+                collection = budgetedCollection.get();
+            } else {
+                useWorklist = true;
+            }
+        }
+        // Cached transpose flow graphs may reference the nodes of a structurally equal diagram
+        Map<String, Node> nodesById = new HashMap<>();
+        complete.dataFlowDiagram()
+                .getNodes()
+                .forEach(it -> nodesById.put(it.getId(), it));
+        Function<AbstractVertex<?>, Node> nodeResolver = vertex -> {
+            Node node = (Node) vertex.getReferencedElement();
+            return nodesById.getOrDefault(node.getId(), node);
+        };
 
         Map<Node, Annotation> mapNodeToAnnotations = new HashMap<>();
-        Map<Node, Set<String>> mapNodeToPropagatedLabels = new HashMap<>();
-        collection.forEach(tfg -> tfg.getVertices()
-                .forEach(vertex -> {
-                    Node node = (Node) vertex.getReferencedElement();
-                    mapNodeToPropagatedLabels.putIfAbsent(node, new HashSet<>());
-                    var label = mapNodeToPropagatedLabels.get(node);
-                    vertex.getAllOutgoingDataCharacteristics()
-                            .forEach(characteristic -> characteristic.getAllCharacteristics()
-                                    .forEach(value -> label.add(value.getTypeName() + "." + value.getValueName())));
-                }));
-
-        mapNodeToPropagatedLabels.keySet()
-                .forEach(key -> {
-                    StringBuilder builder = new StringBuilder();
-                    builder.append("PropagatedLabels:")
-                            .append("\n");
+        LabelInterner labelInterner = new LabelInterner(complete.dataDictionary());
+        Map<Node, long[]> mapNodeToPropagatedLabels = new HashMap<>();
+        if (useWorklist) {
+            new WorklistLabelPropagation(complete.dataFlowDiagram()).propagate()
+                    .forEach((node, labels) -> {
+                        long[] propagatedLabels = labelInterner.createBitSet();
+                        for (Label label : labels) {
+                            propagatedLabels = LabelInterner.add(propagatedLabels, labelInterner.getId(label));
+                        }
+                        mapNodeToPropagatedLabels.put(node, propagatedLabels);
+                    });
+        } else {
+            for (var tfg : collection) {
+                for (var vertex : tfg.getVertices()) {
+                    Node node = nodeResolver.apply(vertex);
+                    long[] nodeLabels = mapNodeToPropagatedLabels.computeIfAbsent(node, it -> labelInterner.createBitSet());
+                    for (var characteristic : vertex.getAllOutgoingDataCharacteristics()) {
+                        for (var value : characteristic.getAllCharacteristics()) {
+                            nodeLabels = LabelInterner.add(nodeLabels, labelInterner.getId(value.getTypeName(), value.getValueName()));
+                        }
+                    }
+                    mapNodeToPropagatedLabels.put(node, nodeLabels);
+                }
+            }
+        }
 
-                    mapNodeToPropagatedLabels.get(key)
-                            .forEach(value -> builder.append(value)
-                                    .append("\n"));
-                    if (!mapNodeToPropagatedLabels.get(key)
-                            .isEmpty())
-                        mapNodeToAnnotations.put(key, new Annotation(builder.toString(), "tag", "#FFFFFF"));
-                });
+        mapNodeToPropagatedLabels.forEach((node, propagatedLabels) -> {
+            if (LabelInterner.isEmpty(propagatedLabels))
+                return;
+            StringBuilder builder = new StringBuilder();
+            builder.append("PropagatedLabels:")
+                    .append("\n");
+            labelInterner.render(propagatedLabels)
+                    .forEach(value -> builder.append(value)
+                            .append("\n"));
+            mapNodeToAnnotations.put(node, new Annotation(builder.toString(), "tag", "#FFFFFF"));
+        });
+
+        if (partialAnalysisReason.isPresent()) {
+            complete.dataFlowDiagram()
+                    .getNodes()
+                    .forEach(node -> {
+                        StringBuilder builder = new StringBuilder();
+                        if (mapNodeToAnnotations.get(node) != null)
+                            builder.append(mapNodeToAnnotations.get(node)
+                                    .message());
+                        builder.append("PartialAnalysis: ")
+                                .append(partialAnalysisReason.get())
+                                .append("\n");
+                        mapNodeToAnnotations.put(node, new Annotation(builder.toString(), "tag", "#FFA500"));
+                    });
+            return mapNodeToAnnotations;
+        }
 
         if (conditions == null)
             return mapNodeToAnnotations;
 
-        DFDConfidentialityAnalysis analysis = new DFDConfidentialityAnalysis(null, null, null);
+        List<ConditionViolations> collectionViolations = (parallel ? collection.parallelStream() : collection.stream())
+                .map(tfg -> findViolations(tfg, conditions, nodeResolver))
+                .toList();
+        List<ConditionStatistics> statistics = new ArrayList<>();
         for (int i = 0; i < conditions.size(); i++) {
-            var condition = conditions.get(i);
-            if (condition == null)
+            if (conditions.get(i) == null)
                 continue;
-            for (var tfg : collection) {
-                var violations = analysis.queryDataFlow(tfg, condition);
-                for (var vertex : violations) {
-                    Node node = (Node) vertex.getReferencedElement();
+            int violationCount = 0;
+            long evaluationTime = 0;
+            for (var tfgViolations : collectionViolations) {
+                evaluationTime += tfgViolations.evaluationTimes()[i];
+                var violations = tfgViolations.violatingNodes()
+                        .get(i);
+                violationCount += violations.size();
+                for (Node node : violations) {
                     StringBuilder builder = new StringBuilder();
                     if (mapNodeToAnnotations.get(node) != null)
                         builder.append(mapNodeToAnnotations.get(node)
@@ -153,10 +403,163 @@ public class DFD2WebConverter extends Converter {
                     mapNodeToAnnotations.put(node, new Annotation(builder.toString(), "bolt", "#ff0000"));
                 }
             }
+            logger.debug("Constraint " + i + " has " + violationCount + " violations and took " + evaluationTime / 1_000_000 + " ms");
+            statistics.add(new ConditionStatistics(i, violationCount, evaluationTime));
         }
+        conditionStatistics = List.copyOf(statistics);
         return mapNodeToAnnotations;
     }
 
+    /**
+     * Checks all conditions in a single pass over the vertices of the given transpose flow graph
+     * @param transposeFlowGraph Evaluated transpose flow graph
+     * @param conditions List of conditions that may contain null elements
+     * @param nodeResolver Function that returns the node of the converted diagram a vertex refers to
+     * @return Returns the violating nodes and the evaluation time of each condition
+     */
+    private ConditionViolations findViolations(AbstractTransposeFlowGraph transposeFlowGraph, List<Predicate<? super AbstractVertex<?>>> conditions,
+            Function<AbstractVertex<?>, Node> nodeResolver) {
+        List<List<Node>> violatingNodes = new ArrayList<>();
+        conditions.forEach(it -> violatingNodes.add(new ArrayList<>()));
+        long[] evaluationTimes = new long[conditions.size()];
+        for (var vertex : transposeFlowGraph.getVertices()) {
+            for (int i = 0; i < conditions.size(); i++) {
+                var condition = conditions.get(i);
+                if (condition == null)
+                    continue;
+                long start = System.nanoTime();
+                boolean violated = condition.test(vertex);
+                evaluationTimes[i] += System.nanoTime() - start;
+                if (violated)
+                    violatingNodes.get(i)
+                            .add(nodeResolver.apply(vertex));
+            }
+        }
+        return new ConditionViolations(violatingNodes, evaluationTimes);
+    }
+
+    private record ConditionViolations(List<List<Node>> violatingNodes, long[] evaluationTimes) {
+    }
+
+    /**
+     * Finds and evaluates the transpose flow graphs of the given diagram within the analysis budget, if one is set. If no
+     * finder class is given and automatic finder selection is enabled, the finder is chosen based on whether the diagram
+     * is cyclic
+     * @param complete DFD / DD combination
+     * @param finderClass Custom TFG Finder (optional)
+     * @return Returns the evaluated transpose flow graphs or an empty optional, if the analysis exceeded the budget
+     */
+    private Optional<List<? extends AbstractTransposeFlowGraph>> getTransposeFlowGraphsWithinBudget(DataFlowDiagramAndDictionary complete,
+            Class<? extends TransposeFlowGraphFinder> finderClass) {
+        DiagramStructure diagramStructure = null;
+        if (analysisBudget != null || (finderClass == null && automaticFinderSelection)) {
+            diagramStructure = new DiagramStructure(complete.dataFlowDiagram());
+        }
+        Class<? extends TransposeFlowGraphFinder> selectedFinderClass = finderClass;
+        if (finderClass == null && automaticFinderSelection) {
+            selectedFinderClass = diagramStructure.isCyclic() ? DFDTransposeFlowGraphFinder.class : DFDSimpleTransposeFlowGraphFinder.class;
+            logger.debug("Selected " + selectedFinderClass.getSimpleName() + " for " + (diagramStructure.isCyclic() ? "cyclic" : "acyclic")
+                    + " diagram");
+        }
+        if (analysisBudget == null)
+            return Optional.of(getEvaluatedTransposeFlowGraphs(complete, selectedFinderClass, () -> false));
+
+        // The estimate of cyclic diagrams is unbounded, so only the time and the actual transpose flow graphs are checked
+        if (!diagramStructure.isCyclic() && (diagramStructure.getTransposeFlowGraphs() > analysisBudget.maximumTransposeFlowGraphs()
+                || diagramStructure.getVertices() > analysisBudget.maximumVertices())) {
+            return exceedBudget("Estimated " + diagramStructure.getTransposeFlowGraphs() + " transpose flow graphs with "
+                    + diagramStructure.getVertices() + " vertices exceed the analysis budget");
+        }
+        if (abandonedAnalysis != null && !abandonedAnalysis.isTerminated()) {
+            return exceedBudget("Previous analysis that exceeded the time budget is still running");
+        }
+        abandonedAnalysis = null;
+
+        final Class<? extends TransposeFlowGraphFinder> usedFinderClass = selectedFinderClass;
+        ExecutorService executorService = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dfd2web-analysis");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<? extends AbstractTransposeFlowGraph> collection;
+        try {
+            Future<List<? extends AbstractTransposeFlowGraph>> future = executorService.submit(() -> {
+                Thread analysisThread = Thread.currentThread();
+                return getEvaluatedTransposeFlowGraphs(complete, usedFinderClass, analysisThread::isInterrupted);
+            });
+            try {
+                collection = future.get(analysisBudget.maximumTime()
+                        .toNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                abandonedAnalysis = executorService;
+                return exceedBudget("Analysis did not finish within " + analysisBudget.maximumTime()
+                        .toMillis() + " ms");
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                abandonedAnalysis = executorService;
+                Thread.currentThread()
+                        .interrupt();
+                return exceedBudget("Analysis was interrupted");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException)
+                    throw runtimeException;
+                throw new IllegalStateException("Analysis of the data flow diagram failed", e.getCause());
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        long vertices = collection.stream()
+                .mapToLong(it -> it.getVertices()
+                        .size())
+                .sum();
+        if (collection.size() > analysisBudget.maximumTransposeFlowGraphs() || vertices > analysisBudget.maximumVertices()) {
+            return exceedBudget(collection.size() + " transpose flow graphs with " + vertices + " vertices exceed the analysis budget");
+        }
+        return Optional.of(collection);
+    }
+
+    private Optional<List<? extends AbstractTransposeFlowGraph>> exceedBudget(String reason) {
+        logger.warn(reason + ", falling back to label propagation");
+        partialAnalysisReason = Optional.of(reason);
+        return Optional.empty();
+    }
+
+    /**
+     * Finds and evaluates the transpose flow graphs of the given diagram or returns them from the cache, if a cache is set
+     * @param complete DFD / DD combination
+     * @param finderClass Custom TFG Finder (optional)
+     * @param cancelled Determines whether the analysis was abandoned and should stop before evaluating the next transpose
+     * flow graph
+     * @return Returns the evaluated transpose flow graphs
+     * @throws CancellationException If the analysis was abandoned
+     */
+    private List<? extends AbstractTransposeFlowGraph> getEvaluatedTransposeFlowGraphs(DataFlowDiagramAndDictionary complete,
+            Class<? extends TransposeFlowGraphFinder> finderClass, BooleanSupplier cancelled) {
+        String key = null;
+        if (transposeFlowGraphCache != null) {
+            Class<? extends TransposeFlowGraphFinder> usedFinderClass = DFDSimpleTransposeFlowGraphFinder.class.equals(finderClass)
+                    ? DFDSimpleTransposeFlowGraphFinder.class
+                    : DFDTransposeFlowGraphFinder.class;
+            key = TransposeFlowGraphCache.computeKey(complete, usedFinderClass);
+            var cachedTransposeFlowGraphs = transposeFlowGraphCache.get(key);
+            if (cachedTransposeFlowGraphs.isPresent())
+                return cachedTransposeFlowGraphs.get();
+        }
+        List<? extends AbstractTransposeFlowGraph> transposeFlowGraphs = getTransposeFlowGraphs(complete, finderClass);
+        List<? extends AbstractTransposeFlowGraph> collection = (parallel ? transposeFlowGraphs.parallelStream() : transposeFlowGraphs.stream())
+                .map(it -> {
+                    if (cancelled.getAsBoolean())
+                        throw new CancellationException("Analysis was abandoned");
+                    return it.evaluate();
+                })
+                .toList();
+        if (transposeFlowGraphCache != null)
+            transposeFlowGraphCache.put(key, collection);
+        return collection;
+    }
+
     private static List<? extends AbstractTransposeFlowGraph> getTransposeFlowGraphs(DataFlowDiagramAndDictionary complete,
             Class<? extends TransposeFlowGraphFinder> finderClass) {
         TransposeFlowGraphFinder finder;
@@ -183,17 +586,21 @@ public class DFD2WebConverter extends Converter {
     }
 
     private WebEditorDfd processDfd(DataFlowDiagram dataFlowDiagram, DataDictionary dataDictionary, Map<Node, Annotation> mapNodeToAnnotation) {
-        inputPinToFlowNamesMap = new HashMap<>();
         List<Child> children = new ArrayList<>();
         List<WebEditorLabelType> labelTypes = new ArrayList<>();
 
         behaviorConverter = new BehaviorConverter(dataDictionary);
+        clearMemoTables();
 
-        createLabelTypesAndValues(labelTypes, dataDictionary);
+        try {
+            createLabelTypesAndValues(labelTypes, dataDictionary);
 
-        createFlows(dataFlowDiagram, children);
+            createFlows(dataFlowDiagram, children);
 
-        createNodes(dataFlowDiagram, children, mapNodeToAnnotation);
+            createNodes(dataFlowDiagram, children, mapNodeToAnnotation);
+        } finally {
+            behaviorConverter.close();
+        }
 
         return new WebEditorDfd(new Model("graph", "root", children), labelTypes, readOnly ? "view" : "edit", new ArrayList<>());
     }
@@ -202,17 +609,7 @@ public class DFD2WebConverter extends Converter {
         for (Node node : dataFlowDiagram.getNodes()) {
             String text = node.getEntityName();
             String id = node.getId();
-            String type;
-            if (node instanceof Process) {
-                type = "node:function";
-            } else if (node instanceof Store) {
-                type = "node:storage";
-            } else if (node instanceof External) {
-                type = "node:input-output";
-            } else {
-                type = "error";
-                logger.error("Unrecognized node type");
-            }
+            String type = getNodeType(node);
 
             List<WebEditorLabel> labels = new ArrayList<>();
             for (Label label : node.getProperties()) {
@@ -241,22 +638,42 @@ public class DFD2WebConverter extends Converter {
         }
     }
 
+    private String getNodeType(Node node) {
+        if (node instanceof Process) {
+            return "node:function";
+        } else if (node instanceof Store) {
+            return "node:storage";
+        } else if (node instanceof External) {
+            return "node:input-output";
+        }
+        logger.error("Unrecognized node type");
+        return "error";
+    }
+
     private void createFlows(DataFlowDiagram dataFlowDiagram, List<Child> children) {
         var controlFlowNameMap = createControlFlowNameMap(dataFlowDiagram);
         for (Flow flow : dataFlowDiagram.getFlows()) {
-            fillPinToFlowNamesMap(inputPinToFlowNamesMap, flow, controlFlowNameMap);
             children.add(createFlow(flow, controlFlowNameMap));
         }
     }
 
+    /**
+     * Creates the index of incoming flows and names the control flows of the given data flow diagram
+     * @param dataFlowDiagram Data flow diagram whose flows are indexed
+     * @return Returns the names of the control flows
+     */
     private HashMap<Flow, String> createControlFlowNameMap(DataFlowDiagram dataFlowDiagram) {
         var controlFlowNameMap = new HashMap<Flow, String>();
+        incomingFlowIndex = new IncomingFlowIndex(dataFlowDiagram, flow -> controlFlowNameMap.getOrDefault(flow, flow.getEntityName()));
+        fillControlFlowNameMap(dataFlowDiagram, controlFlowNameMap);
+        return controlFlowNameMap;
+    }
+
+    private void fillControlFlowNameMap(DataFlowDiagram dataFlowDiagram, HashMap<Flow, String> controlFlowNameMap) {
         dataFlowDiagram.getNodes()
                 .forEach(node -> {
-                    var controlFlows = dataFlowDiagram.getFlows()
+                    var controlFlows = incomingFlowIndex.getIncomingFlows(node)
                             .stream()
-                            .filter(flow -> flow.getDestinationNode()
-                                    .equals(node))
                             .filter(flow -> flow.getEntityName()
                                     .isEmpty())
                             .toList();
@@ -267,7 +684,6 @@ public class DFD2WebConverter extends Converter {
                         controlFlowName += CONTROL_FLOW_NAME;
                     }
                 });
-        return controlFlowNameMap;
     }
 
     private Child createFlow(Flow flow, HashMap<Flow, String> controlFlowNameMap) {
@@ -281,6 +697,74 @@ public class DFD2WebConverter extends Converter {
         return new Child(text, null, null, id, type, sourceId, targetId, null, new ArrayList<>());
     }
 
+    private void writeFlow(JsonGenerator generator, Flow flow, HashMap<Flow, String> controlFlowNameMap) throws IOException {
+        generator.writeStartObject();
+        writeStringField(generator, "text", controlFlowNameMap.getOrDefault(flow, flow.getEntityName()));
+        writeStringField(generator, "id", flow.getId());
+        generator.writeStringField("type", "edge:arrow");
+        writeStringField(generator, "sourceId", flow.getSourcePin()
+                .getId());
+        writeStringField(generator, "targetId", flow.getDestinationPin()
+                .getId());
+        generator.writeArrayFieldStart("children");
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private void writeNode(JsonGenerator generator, Node node, Annotation annotation) throws IOException {
+        generator.writeStartObject();
+        writeStringField(generator, "text", node.getEntityName());
+        generator.writeArrayFieldStart("labels");
+        for (Label label : node.getProperties()) {
+            generator.writeStartObject();
+            writeStringField(generator, "labelTypeId", ((LabelType) label.eContainer()).getId());
+            writeStringField(generator, "labelTypeValueId", label.getId());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+
+        generator.writeArrayFieldStart("ports");
+        for (Pin pin : node.getBehavior()
+                .getInPin()) {
+            writePort(generator, null, pin.getId(), "port:dfd-input");
+        }
+        Map<Pin, List<AbstractAssignment>> mapPinToAssignments = mapping(node);
+        for (Pin pin : node.getBehavior()
+                .getOutPin()) {
+            writePort(generator, createBehaviorString(mapPinToAssignments.get(pin)), pin.getId(), "port:dfd-output");
+        }
+        generator.writeEndArray();
+
+        writeStringField(generator, "id", node.getId());
+        generator.writeStringField("type", getNodeType(node));
+        if (annotation != null) {
+            generator.writeObjectFieldStart("annotation");
+            writeStringField(generator, "message", annotation.message());
+            writeStringField(generator, "icon", annotation.icon());
+            writeStringField(generator, "color", annotation.color());
+            generator.writeEndObject();
+        }
+        generator.writeArrayFieldStart("children");
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private void writePort(JsonGenerator generator, String behavior, String id, String type) throws IOException {
+        generator.writeStartObject();
+        writeStringField(generator, "behavior", behavior);
+        writeStringField(generator, "id", id);
+        generator.writeStringField("type", type);
+        generator.writeArrayFieldStart("children");
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    // Mirrors the serialization of the web editor model, which omits fields without value
+    private void writeStringField(JsonGenerator generator, String fieldName, String value) throws IOException {
+        if (value != null)
+            generator.writeStringField(fieldName, value);
+    }
+
     private Map<Pin, List<AbstractAssignment>> mapping(Node node) {
         Map<Pin, List<AbstractAssignment>> mapPinToAssignments = new HashMap<>();
 
@@ -317,7 +801,7 @@ public class DFD2WebConverter extends Converter {
                 builder.append("assign ");
                 builder.append(getStringFromOutLabels(assignment.getOutputLabels()));
                 builder.append(" if ");
-                builder.append(behaviorConverter.termToString(assignment.getTerm()));
+                builder.append(getStringFromTerm(assignment.getTerm()));
                 if (!assignment.getInputPins()
                         .isEmpty()) {
                     builder.append(" from ");
@@ -331,35 +815,199 @@ public class DFD2WebConverter extends Converter {
     }
 
     private String getStringFromInputPins(List<Pin> inputPins) {
-        List<String> pinNamesAsString = new ArrayList<>();
-
-        inputPins.forEach(pin -> {
-            var flowNames = inputPinToFlowNamesMap.get(pin)
-                    .stream()
-                    .sorted()
-                    .toList();
-            var pinName = String.join(DELIMITER_PIN_NAME, flowNames);
-            pinNamesAsString.add(pinName);
-        });
-        return String.join(DELIMITER_MULTI_PIN, pinNamesAsString);
+        if (inputPins.size() == 1) {
+            return getStringFromInputPin(inputPins.get(0));
+        }
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < inputPins.size(); i++) {
+            if (i > 0) {
+                builder.append(DELIMITER_MULTI_PIN);
+            }
+            builder.append(getStringFromInputPin(inputPins.get(i)));
+        }
+        return builder.toString();
+    }
+
+    private String getStringFromInputPin(Pin pin) {
+        return memoize(pinStrings, pin, it -> String.join(DELIMITER_PIN_NAME, incomingFlowIndex.getSortedFlowNames(it)));
     }
 
     private String getStringFromOutLabels(List<Label> outLabels) {
-        List<String> outLabelsAsStrings = new ArrayList<>();
+        if (outLabels.size() == 1) {
+            return getStringFromOutLabel(outLabels.get(0));
+        }
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < outLabels.size(); i++) {
+            if (i > 0) {
+                builder.append(DELIMITER_MULTI_LABEL);
+            }
+            builder.append(getStringFromOutLabel(outLabels.get(i)));
+        }
+        return builder.toString();
+    }
 
-        outLabels.forEach(label -> outLabelsAsStrings.add(((LabelType) label.eContainer()).getEntityName() + "." + label.getEntityName()));
+    private String getStringFromOutLabel(Label label) {
+        // Labels without a label type are named by their complete reference
+        return memoize(labelStrings, label,
+                it -> it.eContainer() instanceof LabelType labelType ? labelType.getEntityName() + "." + it.getEntityName() : it.getEntityName());
+    }
 
-        return String.join(DELIMITER_MULTI_LABEL, outLabelsAsStrings);
+    private String getStringFromTerm(Term term) {
+        return memoize(termStrings, new TermKey(term), it -> behaviorConverter.termToString(it.term()));
     }
 
-    private void fillPinToFlowNamesMap(Map<Pin, List<String>> map, Flow flow, HashMap<Flow, String> controlFlowNameMap) {
-        if (map.containsKey(flow.getDestinationPin())) {
-            map.get(flow.getDestinationPin())
-                    .add(controlFlowNameMap.getOrDefault(flow, flow.getEntityName()));
-        } else {
-            List<String> flowNames = new ArrayList<>();
-            flowNames.add(controlFlowNameMap.getOrDefault(flow, flow.getEntityName()));
-            map.put(flow.getDestinationPin(), flowNames);
+    private <K> String memoize(Map<K, String> memoTable, K key, Function<K, String> renderer) {
+        if (!memoizeStrings) {
+            return renderer.apply(key);
+        }
+        String memoized = memoTable.get(key);
+        if (memoized != null) {
+            memoHits++;
+            return memoized;
+        }
+        memoMisses++;
+        String rendered = renderer.apply(key);
+        memoTable.put(key, rendered);
+        return rendered;
+    }
+
+    private void clearMemoTables() {
+        pinStrings.clear();
+        labelStrings.clear();
+        termStrings.clear();
+        memoHits = 0;
+        memoMisses = 0;
+    }
+
+    /**
+     * Identifies terms by their structure, so structurally equal terms of different assignments share their rendered
+     * string. Label references are equal, if they reference the same label. The hash code is computed once and the
+     * structure is only compared for terms with equal hash codes
+     */
+    private static final class TermKey {
+        private static final Term MISSING_TERM = datadictionaryFactory.eINSTANCE.createTRUE();
+
+        private final Term term;
+        private final int hashCode;
+
+        TermKey(Term term) {
+            this.term = term;
+            this.hashCode = structuralHashCode(term);
+        }
+
+        Term term() {
+            return term;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof TermKey otherKey && hashCode == otherKey.hashCode && structurallyEquals(term, otherKey.term);
+        }
+
+        /**
+         * Computes the hash code over the terms in preorder. Nested terms are visited with an explicit stack, so deeply
+         * nested conditions do not overflow the call stack
+         * @param term Term that is hashed
+         * @return Returns the structural hash code of the term
+         */
+        private static int structuralHashCode(Term term) {
+            int hashCode = 1;
+            Deque<Term> stack = new ArrayDeque<>();
+            stack.push(wrapNull(term));
+            while (!stack.isEmpty()) {
+                Term current = unwrapNull(stack.pop());
+                List<Term> operands = getOperands(current);
+                // The number of operands is hashed as well, so the preorder identifies the structure of the term
+                hashCode = 31 * (31 * hashCode + nodeHashCode(current)) + operands.size();
+                pushAll(stack, operands);
+            }
+            return hashCode;
+        }
+
+        private static int nodeHashCode(Term term) {
+            if (term instanceof LabelReference labelReference) {
+                return 31 + System.identityHashCode(labelReference.getLabel());
+            } else if (term instanceof NOT) {
+                return 1;
+            } else if (term instanceof AND) {
+                return 2;
+            } else if (term instanceof OR) {
+                return 3;
+            }
+            return term == null ? 0 : term.eClass()
+                    .hashCode();
+        }
+
+        /**
+         * Compares both terms in preorder with an explicit stack. Operands are compared pairwise, so the stacks of both
+         * terms always have the same size
+         * @param term Term that is compared
+         * @param otherTerm Other term that is compared
+         * @return Returns true, if both terms are structurally equal
+         */
+        private static boolean structurallyEquals(Term term, Term otherTerm) {
+            Deque<Term> stack = new ArrayDeque<>();
+            Deque<Term> otherStack = new ArrayDeque<>();
+            stack.push(wrapNull(term));
+            otherStack.push(wrapNull(otherTerm));
+            while (!stack.isEmpty()) {
+                Term current = unwrapNull(stack.pop());
+                Term otherCurrent = unwrapNull(otherStack.pop());
+                if (current == otherCurrent) {
+                    continue;
+                }
+                if (current == null || otherCurrent == null || !current.eClass()
+                        .equals(otherCurrent.eClass())) {
+                    return false;
+                }
+                if (current instanceof LabelReference labelReference && labelReference.getLabel() != ((LabelReference) otherCurrent).getLabel()) {
+                    return false;
+                }
+                List<Term> operands = getOperands(current);
+                List<Term> otherOperands = getOperands(otherCurrent);
+                if (operands.size() != otherOperands.size()) {
+                    return false;
+                }
+                pushAll(stack, operands);
+                pushAll(otherStack, otherOperands);
+            }
+            return true;
+        }
+
+        private static List<Term> getOperands(Term term) {
+            if (term instanceof NOT not) {
+                return Collections.singletonList(not.getNegatedTerm());
+            } else if (term instanceof AND and) {
+                return and.getTerms();
+            } else if (term instanceof OR or) {
+                return or.getTerms();
+            }
+            return List.of();
+        }
+
+        /**
+         * Pushes the operands in reverse order, so they are popped in their original order
+         * @param stack Stack of terms that are visited
+         * @param operands Operands that are pushed
+         */
+        private static void pushAll(Deque<Term> stack, List<Term> operands) {
+            for (int i = operands.size() - 1; i >= 0; i--) {
+                stack.push(wrapNull(operands.get(i)));
+            }
+        }
+
+        // Array deques do not permit null elements, so missing operands are represented by a placeholder
+        private static Term wrapNull(Term term) {
+            return term == null ? MISSING_TERM : term;
+        }
+
+        private static Term unwrapNull(Term term) {
+            return term == MISSING_TERM ? null : term;
         }
     }
 
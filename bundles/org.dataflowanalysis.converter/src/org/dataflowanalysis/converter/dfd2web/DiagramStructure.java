@@ -0,0 +1,217 @@
+package org.dataflowanalysis.converter.dfd2web;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.dataflowanalysis.dfd.datadictionary.Pin;
+import org.dataflowanalysis.dfd.dataflowdiagram.DataFlowDiagram;
+import org.dataflowanalysis.dfd.dataflowdiagram.Flow;
+import org.dataflowanalysis.dfd.dataflowdiagram.Node;
+
+/**
+ * Analyzes the graph structure of a data flow diagram before it is analyzed with transpose flow graphs.
+ * <p/>
+ * The strongly connected components of the diagram are computed with Tarjan's algorithm without recursion. For acyclic
+ * diagrams, the number of transpose flow graphs and their total number of vertices is computed in topological order,
+ * assuming that every transpose flow graph starts at a sink and selects one incoming flow for each in-pin of a node.
+ * The numbers saturate at {@link Long#MAX_VALUE}, which is also returned for cyclic diagrams
+ */
+class DiagramStructure {
+    private final List<Node> nodes;
+    private final Map<Node, Integer> nodeIndices = new HashMap<>();
+    private final int[][] successors;
+    private final List<Map<Pin, List<Integer>>> sourcesByPin = new ArrayList<>();
+    private final boolean[] sinks;
+    private final List<List<Node>> components = new ArrayList<>();
+    private boolean cyclic;
+    private long transposeFlowGraphs;
+    private long vertices;
+
+    /**
+     * Creates and computes the structure analysis of the given data flow diagram
+     * @param dataFlowDiagram Data flow diagram that is analyzed
+     */
+    DiagramStructure(DataFlowDiagram dataFlowDiagram) {
+        nodes = List.copyOf(dataFlowDiagram.getNodes());
+        for (int i = 0; i < nodes.size(); i++) {
+            nodeIndices.put(nodes.get(i), i);
+            sourcesByPin.add(new LinkedHashMap<>());
+        }
+        List<List<Integer>> successorLists = new ArrayList<>();
+        nodes.forEach(it -> successorLists.add(new ArrayList<>()));
+        sinks = new boolean[nodes.size()];
+        Arrays.fill(sinks, true);
+        for (Flow flow : dataFlowDiagram.getFlows()) {
+            int source = nodeIndices.get(flow.getSourceNode());
+            int destination = nodeIndices.get(flow.getDestinationNode());
+            successorLists.get(source)
+                    .add(destination);
+            sourcesByPin.get(destination)
+                    .computeIfAbsent(flow.getDestinationPin(), it -> new ArrayList<>())
+                    .add(source);
+            sinks[source] = false;
+            if (source == destination) {
+                cyclic = true;
+            }
+        }
+        successors = new int[nodes.size()][];
+        for (int i = 0; i < nodes.size(); i++) {
+            successors[i] = successorLists.get(i)
+                    .stream()
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+        computeComponents();
+        computeEstimates();
+    }
+
+    /**
+     * Returns whether the diagram contains a cycle
+     * @return Returns true, if a strongly connected component contains more than one node or a node has a flow to itself
+     */
+    boolean isCyclic() {
+        return cyclic;
+    }
+
+    /**
+     * Returns the strongly connected components of the diagram in reverse topological order
+     * @return Returns the nodes of each strongly connected component
+     */
+    List<List<Node>> getComponents() {
+        return Collections.unmodifiableList(components);
+    }
+
+    /**
+     * Returns the estimated number of transpose flow graphs of the diagram
+     * @return Returns the number of transpose flow graphs or {@link Long#MAX_VALUE}, if the diagram is cyclic
+     */
+    long getTransposeFlowGraphs() {
+        return transposeFlowGraphs;
+    }
+
+    /**
+     * Returns the estimated number of vertices of all transpose flow graphs of the diagram
+     * @return Returns the number of vertices or {@link Long#MAX_VALUE}, if the diagram is cyclic
+     */
+    long getVertices() {
+        return vertices;
+    }
+
+    private void computeComponents() {
+        int[] index = new int[nodes.size()];
+        int[] lowLink = new int[nodes.size()];
+        int[] nextSuccessor = new int[nodes.size()];
+        boolean[] onStack = new boolean[nodes.size()];
+        Arrays.fill(index, -1);
+        Deque<Integer> stack = new ArrayDeque<>();
+        Deque<Integer> callStack = new ArrayDeque<>();
+        int nextIndex = 0;
+        for (int root = 0; root < nodes.size(); root++) {
+            if (index[root] != -1) {
+                continue;
+            }
+            index[root] = lowLink[root] = nextIndex++;
+            stack.push(root);
+            onStack[root] = true;
+            callStack.push(root);
+            while (!callStack.isEmpty()) {
+                int node = callStack.peek();
+                if (nextSuccessor[node] < successors[node].length) {
+                    int successor = successors[node][nextSuccessor[node]++];
+                    if (index[successor] == -1) {
+                        index[successor] = lowLink[successor] = nextIndex++;
+                        stack.push(successor);
+                        onStack[successor] = true;
+                        callStack.push(successor);
+                    } else if (onStack[successor]) {
+                        lowLink[node] = Math.min(lowLink[node], index[successor]);
+                    }
+                    continue;
+                }
+                callStack.pop();
+                if (!callStack.isEmpty()) {
+                    int caller = callStack.peek();
+                    lowLink[caller] = Math.min(lowLink[caller], lowLink[node]);
+                }
+                if (lowLink[node] == index[node]) {
+                    List<Node> component = new ArrayList<>();
+                    int member;
+                    do {
+                        member = stack.pop();
+                        onStack[member] = false;
+                        component.add(nodes.get(member));
+                    } while (member != node);
+                    if (component.size() > 1) {
+                        cyclic = true;
+                    }
+                    components.add(component);
+                }
+            }
+        }
+    }
+
+    private void computeEstimates() {
+        if (cyclic) {
+            transposeFlowGraphs = Long.MAX_VALUE;
+            vertices = Long.MAX_VALUE;
+            return;
+        }
+        long[] counts = new long[nodes.size()];
+        long[] vertexCounts = new long[nodes.size()];
+        // Components of an acyclic diagram contain a single node and are found in reverse topological order
+        for (int i = components.size() - 1; i >= 0; i--) {
+            int node = nodeIndices.get(components.get(i)
+                    .get(0));
+            List<long[]> pinSums = new ArrayList<>();
+            for (List<Integer> sources : sourcesByPin.get(node)
+                    .values()) {
+                long count = 0;
+                long vertexCount = 0;
+                for (int source : sources) {
+                    count = add(count, counts[source]);
+                    vertexCount = add(vertexCount, vertexCounts[source]);
+                }
+                pinSums.add(new long[] {count, vertexCount});
+            }
+            long count = 1;
+            for (long[] pinSum : pinSums) {
+                count = multiply(count, pinSum[0]);
+            }
+            long vertexCount = count;
+            for (int pin = 0; pin < pinSums.size(); pin++) {
+                long pinVertices = pinSums.get(pin)[1];
+                for (int otherPin = 0; otherPin < pinSums.size(); otherPin++) {
+                    if (otherPin != pin) {
+                        pinVertices = multiply(pinVertices, pinSums.get(otherPin)[0]);
+                    }
+                }
+                vertexCount = add(vertexCount, pinVertices);
+            }
+            counts[node] = count;
+            vertexCounts[node] = vertexCount;
+        }
+        for (int node = 0; node < nodes.size(); node++) {
+            if (sinks[node]) {
+                transposeFlowGraphs = add(transposeFlowGraphs, counts[node]);
+                vertices = add(vertices, vertexCounts[node]);
+            }
+        }
+    }
+
+    private static long add(long first, long second) {
+        return first > Long.MAX_VALUE - second ? Long.MAX_VALUE : first + second;
+    }
+
+    private static long multiply(long first, long second) {
+        if (first == 0 || second == 0) {
+            return 0;
+        }
+        return first > Long.MAX_VALUE / second ? Long.MAX_VALUE : first * second;
+    }
+}
@@ -0,0 +1,143 @@
+package org.dataflowanalysis.converter.dfd2web;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.dataflowanalysis.dfd.datadictionary.DataDictionary;
+import org.dataflowanalysis.dfd.datadictionary.Label;
+import org.dataflowanalysis.dfd.datadictionary.LabelType;
+
+/**
+ * Maps the labels of a {@link DataDictionary} to dense integer ids, so sets of labels can be stored as bitsets.
+ * <p/>
+ * Labels of the data dictionary receive their ids in the order of the dictionary. Labels that are not contained in the
+ * dictionary receive a new id on their first lookup. Labels without a label type, like labels removed from the
+ * dictionary or created for unknown references, are interned by their identity and rendered by their name. The string
+ * representation of a label is only created when a bitset is rendered
+ */
+class LabelInterner {
+    private static final int BITS_PER_WORD = Long.SIZE;
+
+    private final Map<String, Map<String, Integer>> idsByName = new HashMap<>();
+    private final Map<Label, Integer> idsByLabel = new IdentityHashMap<>();
+    private final List<String> typeNames = new ArrayList<>();
+    private final List<String> valueNames = new ArrayList<>();
+    private final List<String> renderedLabels = new ArrayList<>();
+
+    /**
+     * Creates a new label interner containing all labels of the given data dictionary
+     * @param dataDictionary Data dictionary whose labels are interned
+     */
+    LabelInterner(DataDictionary dataDictionary) {
+        for (LabelType labelType : dataDictionary.getLabelTypes()) {
+            for (Label label : labelType.getLabel()) {
+                getId(label);
+            }
+        }
+    }
+
+    /**
+     * Returns the id of the label with the given type and value name
+     * @param typeName Name of the label type
+     * @param valueName Name of the label
+     * @return Returns the id of the label
+     */
+    int getId(String typeName, String valueName) {
+        Map<String, Integer> ids = idsByName.computeIfAbsent(typeName, it -> new HashMap<>());
+        Integer id = ids.get(valueName);
+        if (id == null) {
+            id = typeNames.size();
+            typeNames.add(typeName);
+            valueNames.add(valueName);
+            renderedLabels.add(null);
+            ids.put(valueName, id);
+        }
+        return id;
+    }
+
+    /**
+     * Returns the id of the given label
+     * @param label Label whose id is returned
+     * @return Returns the id of the label
+     */
+    int getId(Label label) {
+        Integer id = idsByLabel.get(label);
+        if (id == null) {
+            if (label.eContainer() instanceof LabelType labelType) {
+                id = getId(labelType.getEntityName(), label.getEntityName());
+            } else {
+                id = typeNames.size();
+                typeNames.add(null);
+                valueNames.add(label.getEntityName());
+                renderedLabels.add(String.valueOf(label.getEntityName()));
+            }
+            idsByLabel.put(label, id);
+        }
+        return id;
+    }
+
+    /**
+     * Creates an empty bitset that can hold all labels known to the interner
+     * @return Returns an empty bitset
+     */
+    long[] createBitSet() {
+        return new long[Math.max(1, (typeNames.size() + BITS_PER_WORD - 1) / BITS_PER_WORD)];
+    }
+
+    /**
+     * Adds the label with the given id to the bitset
+     * @param bitSet Bitset the label is added to
+     * @param id Id of the added label
+     * @return Returns the bitset containing the label, which is a larger copy of the given bitset if the id exceeds its size
+     */
+    static long[] add(long[] bitSet, int id) {
+        int word = id / BITS_PER_WORD;
+        long[] result = word < bitSet.length ? bitSet : Arrays.copyOf(bitSet, word + 1);
+        result[word] |= 1L << (id % BITS_PER_WORD);
+        return result;
+    }
+
+    /**
+     * Returns whether the given bitset contains no labels
+     * @param bitSet Given bitset
+     * @return Returns true, if no bit is set
+     */
+    static boolean isEmpty(long[] bitSet) {
+        for (long word : bitSet) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Renders the labels of the given bitset in the form type.value, ordered by their id
+     * @param bitSet Bitset containing the labels
+     * @return Returns the string representations of the labels
+     */
+    List<String> render(long[] bitSet) {
+        List<String> labels = new ArrayList<>();
+        for (int word = 0; word < bitSet.length; word++) {
+            long bits = bitSet[word];
+            while (bits != 0) {
+                int id = word * BITS_PER_WORD + Long.numberOfTrailingZeros(bits);
+                labels.add(render(id));
+                bits &= bits - 1;
+            }
+        }
+        return labels;
+    }
+
+    private String render(int id) {
+        String renderedLabel = renderedLabels.get(id);
+        if (renderedLabel == null) {
+            renderedLabel = typeNames.get(id) + "." + valueNames.get(id);
+            renderedLabels.set(id, renderedLabel);
+        }
+        return renderedLabel;
+    }
+}
@@ -0,0 +1,18 @@
+package org.dataflowanalysis.converter.dfd2web;
+
+/**
+ * Determines how the {@link DFD2WebConverter} computes the propagated labels of each node
+ */
+public enum LabelPropagationMode {
+    /**
+     * Enumerates and evaluates all transpose flow graphs of the diagram. This is the reference mode
+     */
+    TRANSPOSE_FLOW_GRAPH,
+    /**
+     * Computes the propagated labels as a fixpoint over the diagram graph using a worklist. The cost is linear in the size
+     * of the diagram per iteration, independent of the number of paths. Labels arriving over different paths are merged,
+     * so the result only equals the reference mode for behaviors without negations, unset labels and AND terms over
+     * labels of different paths
+     */
+    WORKLIST
+}
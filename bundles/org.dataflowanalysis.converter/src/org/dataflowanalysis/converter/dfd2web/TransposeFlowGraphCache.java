@@ -0,0 +1,330 @@
+package org.dataflowanalysis.converter.dfd2web;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import org.apache.log4j.Logger;
+import org.dataflowanalysis.analysis.core.AbstractTransposeFlowGraph;
+import org.dataflowanalysis.analysis.core.TransposeFlowGraphFinder;
+import org.dataflowanalysis.dfd.datadictionary.AND;
+import org.dataflowanalysis.dfd.datadictionary.AbstractAssignment;
+import org.dataflowanalysis.dfd.datadictionary.Assignment;
+import org.dataflowanalysis.dfd.datadictionary.Behavior;
+import org.dataflowanalysis.dfd.datadictionary.ForwardingAssignment;
+import org.dataflowanalysis.dfd.datadictionary.Label;
+import org.dataflowanalysis.dfd.datadictionary.LabelReference;
+import org.dataflowanalysis.dfd.datadictionary.LabelType;
+import org.dataflowanalysis.dfd.datadictionary.NOT;
+import org.dataflowanalysis.dfd.datadictionary.OR;
+import org.dataflowanalysis.dfd.datadictionary.Pin;
+import org.dataflowanalysis.dfd.datadictionary.SetAssignment;
+import org.dataflowanalysis.dfd.datadictionary.Term;
+import org.dataflowanalysis.dfd.datadictionary.UnsetAssignment;
+import org.dataflowanalysis.dfd.dataflowdiagram.Flow;
+import org.dataflowanalysis.dfd.dataflowdiagram.Node;
+
+/**
+ * Caches evaluated transpose flow graphs of data flow diagrams, so diagrams that are converted repeatedly by the
+ * {@link DFD2WebConverter} are only analyzed once.
+ * <p/>
+ * Entries are keyed by a structural fingerprint of the data flow diagram and dictionary together with the transpose
+ * flow graph finder. The size of an entry is the number of vertices of its transpose flow graphs. When the total size
+ * exceeds the maximum size, the least recently used entries are evicted. The cache can be shared between converters and
+ * is thread-safe
+ */
+public class TransposeFlowGraphCache {
+    private final Logger logger = Logger.getLogger(TransposeFlowGraphCache.class);
+
+    private final int maximumSize;
+    private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private int currentSize;
+    private int hits;
+    private int misses;
+
+    /**
+     * Creates a new transpose flow graph cache
+     * @param maximumSize Maximum number of vertices of all cached transpose flow graphs
+     */
+    public TransposeFlowGraphCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            logger.error("Maximum size of the transpose flow graph cache must be positive, but was: " + maximumSize);
+            throw new IllegalArgumentException("Invalid maximum size of the transpose flow graph cache");
+        }
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Computes the key of the given data flow diagram and dictionary analyzed by the given finder
+     * @param dataFlowDiagramAndDictionary Data flow diagram and dictionary that is analyzed
+     * @param finderClass Transpose flow graph finder class that is used to analyze the diagram
+     * @return Returns the cache key
+     */
+    public static String computeKey(DataFlowDiagramAndDictionary dataFlowDiagramAndDictionary,
+            Class<? extends TransposeFlowGraphFinder> finderClass) {
+        return finderClass.getName() + ":" + computeFingerprint(dataFlowDiagramAndDictionary);
+    }
+
+    /**
+     * Computes a structural fingerprint of the given data flow diagram and dictionary. It covers the identifiers and names
+     * of all nodes, pins, flows and labels as well as the properties and assignments of the nodes
+     * @param dataFlowDiagramAndDictionary Data flow diagram and dictionary whose fingerprint is computed
+     * @return Returns the hexadecimal fingerprint
+     */
+    public static String computeFingerprint(DataFlowDiagramAndDictionary dataFlowDiagramAndDictionary) {
+        StringBuilder builder = new StringBuilder();
+        for (LabelType labelType : dataFlowDiagramAndDictionary.dataDictionary()
+                .getLabelTypes()) {
+            builder.append("T:")
+                    .append(labelType.getId())
+                    .append(':')
+                    .append(labelType.getEntityName())
+                    .append('\n');
+            for (Label label : labelType.getLabel()) {
+                builder.append("L:")
+                        .append(label.getId())
+                        .append(':')
+                        .append(label.getEntityName())
+                        .append('\n');
+            }
+        }
+        for (Node node : dataFlowDiagramAndDictionary.dataFlowDiagram()
+                .getNodes()) {
+            builder.append("N:")
+                    .append(node.eClass()
+                            .getName())
+                    .append(':')
+                    .append(node.getId())
+                    .append(':')
+                    .append(node.getEntityName())
+                    .append(':');
+            node.getProperties()
+                    .forEach(it -> builder.append(it.getId())
+                            .append(','));
+            builder.append('\n');
+            appendBehavior(builder, node.getBehavior());
+        }
+        for (Flow flow : dataFlowDiagramAndDictionary.dataFlowDiagram()
+                .getFlows()) {
+            builder.append("F:")
+                    .append(flow.getEntityName())
+                    .append(':')
+                    .append(flow.getSourceNode()
+                            .getId())
+                    .append(':')
+                    .append(flow.getSourcePin()
+                            .getId())
+                    .append(':')
+                    .append(flow.getDestinationNode()
+                            .getId())
+                    .append(':')
+                    .append(flow.getDestinationPin()
+                            .getId())
+                    .append('\n');
+        }
+        MessageDigest digest = createDigest();
+        return HexFormat.of()
+                .formatHex(digest.digest(builder.toString()
+                        .getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Returns the transpose flow graphs stored with the given key and marks the entry as recently used
+     * @param key Key of the cache entry
+     * @return Returns an optional containing the evaluated transpose flow graphs, if the entry exists
+     */
+    public synchronized Optional<List<? extends AbstractTransposeFlowGraph>> get(String key) {
+        CacheEntry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return Optional.empty();
+        }
+        hits++;
+        return Optional.of(entry.transposeFlowGraphs());
+    }
+
+    /**
+     * Stores the given evaluated transpose flow graphs with the given key and evicts the least recently used entries, if
+     * the maximum size is exceeded. Collections that are larger than the maximum size are not stored
+     * @param key Key of the cache entry
+     * @param transposeFlowGraphs Evaluated transpose flow graphs
+     */
+    public synchronized void put(String key, List<? extends AbstractTransposeFlowGraph> transposeFlowGraphs) {
+        int size = transposeFlowGraphs.stream()
+                .mapToInt(it -> it.getVertices()
+                        .size())
+                .sum();
+        if (size > maximumSize) {
+            logger.debug("Transpose flow graphs with " + size + " vertices exceed the cache size of " + maximumSize);
+            return;
+        }
+        CacheEntry previousEntry = entries.put(key, new CacheEntry(List.copyOf(transposeFlowGraphs), size));
+        if (previousEntry != null) {
+            currentSize -= previousEntry.size();
+        }
+        currentSize += size;
+        Iterator<CacheEntry> iterator = entries.values()
+                .iterator();
+        while (currentSize > maximumSize) {
+            currentSize -= iterator.next()
+                    .size();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Removes all entries from the cache and resets its statistics
+     */
+    public synchronized void clear() {
+        entries.clear();
+        currentSize = 0;
+        hits = 0;
+        misses = 0;
+    }
+
+    /**
+     * Returns the number of cached transpose flow graph collections
+     * @return Returns the number of cache entries
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of vertices of all cached transpose flow graphs
+     * @return Returns the current size of the cache
+     */
+    public synchronized int getCurrentSize() {
+        return currentSize;
+    }
+
+    /**
+     * Returns the number of lookups that were answered from the cache
+     * @return Returns the number of cache hits
+     */
+    public synchronized int getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that required analyzing the diagram
+     * @return Returns the number of cache misses
+     */
+    public synchronized int getMisses() {
+        return misses;
+    }
+
+    private static void appendBehavior(StringBuilder builder, Behavior behavior) {
+        if (behavior == null) {
+            return;
+        }
+        behavior.getInPin()
+                .forEach(it -> appendPin(builder, "I:", it));
+        behavior.getOutPin()
+                .forEach(it -> appendPin(builder, "O:", it));
+        for (AbstractAssignment abstractAssignment : behavior.getAssignment()) {
+            builder.append("A:")
+                    .append(abstractAssignment.eClass()
+                            .getName())
+                    .append(':')
+                    .append(abstractAssignment.getOutputPin() == null ? "" : abstractAssignment.getOutputPin()
+                            .getId())
+                    .append(':');
+            if (abstractAssignment instanceof ForwardingAssignment forwardingAssignment) {
+                forwardingAssignment.getInputPins()
+                        .forEach(it -> builder.append(it.getId())
+                                .append(','));
+            } else if (abstractAssignment instanceof SetAssignment setAssignment) {
+                setAssignment.getOutputLabels()
+                        .forEach(it -> builder.append(it.getId())
+                                .append(','));
+            } else if (abstractAssignment instanceof UnsetAssignment unsetAssignment) {
+                unsetAssignment.getOutputLabels()
+                        .forEach(it -> builder.append(it.getId())
+                                .append(','));
+            } else if (abstractAssignment instanceof Assignment assignment) {
+                assignment.getInputPins()
+                        .forEach(it -> builder.append(it.getId())
+                                .append(','));
+                builder.append(':');
+                assignment.getOutputLabels()
+                        .forEach(it -> builder.append(it.getId())
+                                .append(','));
+                builder.append(':');
+                appendTerm(builder, assignment.getTerm());
+            }
+            builder.append('\n');
+        }
+    }
+
+    private static void appendPin(StringBuilder builder, String prefix, Pin pin) {
+        builder.append(prefix)
+                .append(pin.getId())
+                .append(':')
+                .append(pin.getEntityName())
+                .append('\n');
+    }
+
+    /**
+     * Appends the structure of the term to the fingerprint. Operands are not appended directly, but pushed onto a work
+     * stack together with the separators between them, so deeply nested terms do not overflow the call stack
+     * @param builder Builder the fingerprint is appended to
+     * @param term Term that is appended
+     */
+    private static void appendTerm(StringBuilder builder, Term term) {
+        Deque<Object> work = new ArrayDeque<>();
+        if (term != null) {
+            work.push(term);
+        }
+        while (!work.isEmpty()) {
+            Object next = work.pop();
+            if (next instanceof String separator) {
+                builder.append(separator);
+            } else if (next instanceof LabelReference labelReference) {
+                builder.append(labelReference.getLabel() == null ? "?" : labelReference.getLabel()
+                        .getId());
+            } else if (next instanceof NOT not) {
+                builder.append('!');
+                if (not.getNegatedTerm() != null) {
+                    work.push(not.getNegatedTerm());
+                }
+            } else if (next instanceof AND and) {
+                pushOperands(builder, work, '&', and.getTerms());
+            } else if (next instanceof OR or) {
+                pushOperands(builder, work, '|', or.getTerms());
+            } else {
+                builder.append(((Term) next).eClass()
+                        .getName());
+            }
+        }
+    }
+
+    private static void pushOperands(StringBuilder builder, Deque<Object> work, char operator, List<Term> operands) {
+        builder.append(operator)
+                .append('(');
+        work.push(")");
+        for (int i = operands.size() - 1; i >= 0; i--) {
+            work.push(",");
+            if (operands.get(i) != null) {
+                work.push(operands.get(i));
+            }
+        }
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    private record CacheEntry(List<? extends AbstractTransposeFlowGraph> transposeFlowGraphs, int size) {
+    }
+}
@@ -0,0 +1,215 @@
+package org.dataflowanalysis.converter.dfd2web;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.dataflowanalysis.dfd.datadictionary.AND;
+import org.dataflowanalysis.dfd.datadictionary.AbstractAssignment;
+import org.dataflowanalysis.dfd.datadictionary.Assignment;
+import org.dataflowanalysis.dfd.datadictionary.Behavior;
+import org.dataflowanalysis.dfd.datadictionary.ForwardingAssignment;
+import org.dataflowanalysis.dfd.datadictionary.Label;
+import org.dataflowanalysis.dfd.datadictionary.LabelReference;
+import org.dataflowanalysis.dfd.datadictionary.NOT;
+import org.dataflowanalysis.dfd.datadictionary.OR;
+import org.dataflowanalysis.dfd.datadictionary.Pin;
+import org.dataflowanalysis.dfd.datadictionary.SetAssignment;
+import org.dataflowanalysis.dfd.datadictionary.TRUE;
+import org.dataflowanalysis.dfd.datadictionary.Term;
+import org.dataflowanalysis.dfd.datadictionary.UnsetAssignment;
+import org.dataflowanalysis.dfd.dataflowdiagram.DataFlowDiagram;
+import org.dataflowanalysis.dfd.dataflowdiagram.Flow;
+import org.dataflowanalysis.dfd.dataflowdiagram.Node;
+
+/**
+ * Computes the labels that are propagated by each node of a data flow diagram as a fixpoint over the diagram graph.
+ * <p/>
+ * Instead of enumerating transpose flow graphs, the labels at every out-pin are computed from the labels at the
+ * connected source pins and recomputed with a worklist until no out-pin changes. Nodes are visited in topological order
+ * first, so on acyclic diagrams every node is evaluated with the final labels of its predecessors. On cyclic diagrams,
+ * out-pins that keep changing only grow after a bounded number of updates, so the computation terminates.
+ * <p/>
+ * The labels at an in-pin are the union of the labels of all flows ending at the pin, and labels arriving over different
+ * paths are merged. Transpose flow graphs instead evaluate each path separately. The result therefore only equals the
+ * result of the transpose flow graphs, if the terms of all assignments are distributive over the merged labels, i.e. they
+ * contain no negation and no AND over labels that may arrive over different paths, and no labels are unset. Otherwise,
+ * AND terms over merged labels may assign labels that no transpose flow graph assigns, while negated terms and unset
+ * labels may remove labels that some transpose flow graph keeps
+ */
+class WorklistLabelPropagation {
+    private final DataFlowDiagram dataFlowDiagram;
+    private final Map<Pin, List<Pin>> sourcePinsByDestinationPin = new HashMap<>();
+    private final Map<Pin, List<Node>> destinationNodesBySourcePin = new HashMap<>();
+    private final Map<Node, List<Node>> successorNodes = new HashMap<>();
+    private final Map<Pin, Set<Label>> outPinLabels = new HashMap<>();
+
+    /**
+     * Creates a new label propagation for the given data flow diagram
+     * @param dataFlowDiagram Data flow diagram whose labels are propagated
+     */
+    WorklistLabelPropagation(DataFlowDiagram dataFlowDiagram) {
+        this.dataFlowDiagram = dataFlowDiagram;
+        for (Flow flow : dataFlowDiagram.getFlows()) {
+            sourcePinsByDestinationPin.computeIfAbsent(flow.getDestinationPin(), it -> new ArrayList<>())
+                    .add(flow.getSourcePin());
+            destinationNodesBySourcePin.computeIfAbsent(flow.getSourcePin(), it -> new ArrayList<>())
+                    .add(flow.getDestinationNode());
+            successorNodes.computeIfAbsent(flow.getSourceNode(), it -> new ArrayList<>())
+                    .add(flow.getDestinationNode());
+        }
+    }
+
+    /**
+     * Propagates the labels through the data flow diagram
+     * @return Returns the labels at the out-pins of each node, for all nodes that propagate at least one label
+     */
+    Map<Node, Set<Label>> propagate() {
+        outPinLabels.clear();
+        Map<Pin, Integer> outPinUpdates = new HashMap<>();
+        int maximumUpdates = dataFlowDiagram.getNodes()
+                .size() + 1;
+        Deque<Node> worklist = new ArrayDeque<>(orderTopologically());
+        Set<Node> queuedNodes = new HashSet<>(worklist);
+        while (!worklist.isEmpty()) {
+            Node node = worklist.poll();
+            queuedNodes.remove(node);
+            Behavior behavior = node.getBehavior();
+            if (behavior == null) {
+                continue;
+            }
+            for (Pin outPin : behavior.getOutPin()) {
+                Set<Label> previousLabels = outPinLabels.getOrDefault(outPin, Set.of());
+                Set<Label> labels = evaluateOutPin(behavior, outPin);
+                if (labels.equals(previousLabels)) {
+                    continue;
+                }
+                if (outPinUpdates.merge(outPin, 1, Integer::sum) > maximumUpdates) {
+                    // Negations and unset labels in cycles may oscillate, so the labels only grow from now on
+                    labels.addAll(previousLabels);
+                    if (labels.equals(previousLabels)) {
+                        continue;
+                    }
+                }
+                outPinLabels.put(outPin, labels);
+                for (Node destinationNode : destinationNodesBySourcePin.getOrDefault(outPin, List.of())) {
+                    if (queuedNodes.add(destinationNode)) {
+                        worklist.add(destinationNode);
+                    }
+                }
+            }
+        }
+
+        Map<Node, Set<Label>> propagatedLabels = new LinkedHashMap<>();
+        for (Node node : dataFlowDiagram.getNodes()) {
+            if (node.getBehavior() == null) {
+                continue;
+            }
+            Set<Label> labels = new LinkedHashSet<>();
+            node.getBehavior()
+                    .getOutPin()
+                    .forEach(it -> labels.addAll(outPinLabels.getOrDefault(it, Set.of())));
+            if (!labels.isEmpty()) {
+                propagatedLabels.put(node, labels);
+            }
+        }
+        return propagatedLabels;
+    }
+
+    /**
+     * Orders the nodes of the diagram, such that every node is placed after its predecessors, unless they are part of a
+     * cycle
+     * @return Returns the nodes in reverse postorder of a depth-first search over the flows
+     */
+    private List<Node> orderTopologically() {
+        Deque<Node> order = new ArrayDeque<>();
+        Set<Node> visitedNodes = new HashSet<>();
+        Deque<Node> path = new ArrayDeque<>();
+        Deque<Iterator<Node>> pendingSuccessors = new ArrayDeque<>();
+        for (Node root : dataFlowDiagram.getNodes()) {
+            if (!visitedNodes.add(root)) {
+                continue;
+            }
+            path.push(root);
+            pendingSuccessors.push(successorNodes.getOrDefault(root, List.of())
+                    .iterator());
+            while (!path.isEmpty()) {
+                Iterator<Node> successors = pendingSuccessors.peek();
+                if (successors.hasNext()) {
+                    Node successor = successors.next();
+                    if (visitedNodes.add(successor)) {
+                        path.push(successor);
+                        pendingSuccessors.push(successorNodes.getOrDefault(successor, List.of())
+                                .iterator());
+                    }
+                } else {
+                    order.push(path.pop());
+                    pendingSuccessors.pop();
+                }
+            }
+        }
+        return new ArrayList<>(order);
+    }
+
+    /**
+     * Evaluates the assignments of the given out-pin in order using the current labels at the in-pins of the behavior
+     * @param behavior Behavior containing the out-pin
+     * @param outPin Out-pin whose labels are computed
+     * @return Returns the labels at the out-pin
+     */
+    private Set<Label> evaluateOutPin(Behavior behavior, Pin outPin) {
+        Set<Label> labels = new HashSet<>();
+        for (AbstractAssignment abstractAssignment : behavior.getAssignment()) {
+            if (abstractAssignment.getOutputPin() != outPin) {
+                continue;
+            }
+            if (abstractAssignment instanceof ForwardingAssignment forwardingAssignment) {
+                labels.addAll(getInPinLabels(forwardingAssignment.getInputPins()));
+            } else if (abstractAssignment instanceof SetAssignment setAssignment) {
+                labels.addAll(setAssignment.getOutputLabels());
+            } else if (abstractAssignment instanceof UnsetAssignment unsetAssignment) {
+                labels.removeAll(unsetAssignment.getOutputLabels());
+            } else if (abstractAssignment instanceof Assignment assignment
+                    && evaluateTerm(assignment.getTerm(), getInPinLabels(assignment.getInputPins()))) {
+                labels.addAll(assignment.getOutputLabels());
+            }
+        }
+        return labels;
+    }
+
+    private Set<Label> getInPinLabels(List<Pin> inPins) {
+        Set<Label> labels = new HashSet<>();
+        for (Pin inPin : inPins) {
+            for (Pin sourcePin : sourcePinsByDestinationPin.getOrDefault(inPin, List.of())) {
+                labels.addAll(outPinLabels.getOrDefault(sourcePin, Set.of()));
+            }
+        }
+        return labels;
+    }
+
+    private boolean evaluateTerm(Term term, Set<Label> inputLabels) {
+        if (term instanceof TRUE) {
+            return true;
+        } else if (term instanceof LabelReference labelReference) {
+            return inputLabels.contains(labelReference.getLabel());
+        } else if (term instanceof NOT not) {
+            return !evaluateTerm(not.getNegatedTerm(), inputLabels);
+        } else if (term instanceof AND and) {
+            return and.getTerms()
+                    .stream()
+                    .allMatch(it -> evaluateTerm(it, inputLabels));
+        } else if (term instanceof OR or) {
+            return or.getTerms()
+                    .stream()
+                    .anyMatch(it -> evaluateTerm(it, inputLabels));
+        }
+        return false;
+    }
+}
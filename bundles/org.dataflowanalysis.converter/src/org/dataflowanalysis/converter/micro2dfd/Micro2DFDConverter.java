@@ -13,6 +13,7 @@ import org.dataflowanalysis.converter.micro2dfd.model.InformationFlow;
 import org.dataflowanalysis.converter.micro2dfd.model.MicroSecEnd;
 import org.dataflowanalysis.converter.micro2dfd.model.MicroSecEndProcess;
 import org.dataflowanalysis.converter.micro2dfd.model.Service;
+import org.dataflowanalysis.converter.util.LabelRegistry;
 import org.dataflowanalysis.dfd.datadictionary.*;
 import org.dataflowanalysis.dfd.dataflowdiagram.*;
 
@@ -26,8 +27,7 @@ public class Micro2DFDConverter extends Converter {
     private Map<String, Node> nodesMap;
     private Map<Node, List<String>> nodeToLabelNamesMap;
     private Map<Node, Map<String, List<String>>> nodeToLabelTypeNamesMap;
-    private Map<String, Map<String, Label>> labelMap;
-    private Map<String, LabelType> labelTypeMap;
+    private LabelRegistry labelRegistry;
     private Map<Pin, List<Label>> outpinToFlowLabelMap;
 
     private int idCounter;
@@ -53,8 +53,6 @@ public class Micro2DFDConverter extends Converter {
     private DataFlowDiagramAndDictionary processMicro(MicroSecEnd micro) {
         nodesMap = new HashMap<>();
         nodeToLabelNamesMap = new HashMap<>();
-        labelMap = new HashMap<>();
-        labelTypeMap = new HashMap<>();
         nodeToLabelTypeNamesMap = new HashMap<>();
         outpinToFlowLabelMap = new HashMap<>();
 
@@ -64,26 +62,22 @@ public class Micro2DFDConverter extends Converter {
         DataDictionary dd = ddFactory.createDataDictionary();
         dfd.setId(Integer.toString(idCounter++));
         dd.setId(Integer.toString(idCounter++));
+        labelRegistry = new LabelRegistry(dd, () -> Integer.toString(idCounter++));
 
         createExternalEntities(micro, dfd);
 
         createProcesses(micro, dfd);
 
-        LabelType stereotype = ddFactory.createLabelType();
-        stereotype.setEntityName("Stereotype");
-        stereotype.setId(Integer.toString(idCounter++));
-        dd.getLabelTypes()
-                .add(stereotype);
-        labelTypeMap.put(stereotype.getEntityName(), stereotype);
-        labelMap.put(stereotype.getEntityName(), new HashMap<>());
+        LabelType stereotype = labelRegistry.getOrCreateLabelType("Stereotype");
 
         createBehavior(dd, stereotype);
 
-        createFlows(micro, dfd, dd, stereotype);
+        createFlows(micro, dfd, stereotype);
 
         createNodeAssignments();
 
         createForwardingAssignments();
+        labelRegistry.close();
 
         return new DataFlowDiagramAndDictionary(dfd, dd);
     }
@@ -123,7 +117,7 @@ public class Micro2DFDConverter extends Converter {
             assignment.setId(Integer.toString(idCounter++));
 
             assignment.getOutputLabels()
-                    .addAll(createLabels(nodeToLabelNamesMap.get(node), dd, stereotype));
+                    .addAll(createLabels(nodeToLabelNamesMap.get(node), stereotype));
 
             behaviour.getAssignment()
                     .add(assignment);
@@ -132,14 +126,14 @@ public class Micro2DFDConverter extends Converter {
                     .addAll(assignment.getOutputLabels());
 
             node.getProperties()
-                    .addAll(createTaggedValueLabels(nodeToLabelTypeNamesMap.get(node), dd));
+                    .addAll(createTaggedValueLabels(nodeToLabelTypeNamesMap.get(node)));
 
             dd.getBehavior()
                     .add(behaviour);
         }
     }
 
-    private void createFlows(MicroSecEnd micro, DataFlowDiagram dfd, DataDictionary dd, LabelType stereotype) {
+    private void createFlows(MicroSecEnd micro, DataFlowDiagram dfd, LabelType stereotype) {
         for (InformationFlow iflow : micro.informationFlows()) {
             var source = nodesMap.get(iflow.sender());
             var dest = nodesMap.get(iflow.receiver());
@@ -168,8 +162,8 @@ public class Micro2DFDConverter extends Converter {
                     .add(flow);
 
             List<Label> flowLabels = new ArrayList<>();
-            flowLabels.addAll(createLabels(iflow.stereotypes(), dd, stereotype));
-            flowLabels.addAll(createTaggedValueLabels(iflow.taggedValues(), dd));
+            flowLabels.addAll(createLabels(iflow.stereotypes(), stereotype));
+            flowLabels.addAll(createTaggedValueLabels(iflow.taggedValues()));
             outpinToFlowLabelMap.put(outPin, flowLabels);
         }
     }
@@ -233,45 +227,20 @@ public class Micro2DFDConverter extends Converter {
         }
     }
 
-    private List<Label> createLabels(List<String> labelNames, DataDictionary dd, LabelType labelType) {
+    private List<Label> createLabels(List<String> labelNames, LabelType labelType) {
         List<Label> labels = new ArrayList<>();
-        var labelTypeName = labelType.getEntityName();
         for (String labelName : labelNames) {
-            if (labelMap.get(labelTypeName)
-                    .containsKey(labelName)) {
-                labels.add(labelMap.get(labelTypeName)
-                        .get(labelName));
-            } else {
-                Label label = ddFactory.createLabel();
-                label.setEntityName(labelName);
-                label.setId(Integer.toString(idCounter++));
-                labelType.getLabel()
-                        .add(label);
-                labels.add(label);
-                labelMap.get(labelTypeName)
-                        .put(labelName, label);
-            }
+            labels.add(labelRegistry.getOrCreateLabel(labelType, labelName));
         }
         return labels;
     }
 
-    private List<Label> createTaggedValueLabels(Map<String, List<String>> taggedValues, DataDictionary dd) {
+    private List<Label> createTaggedValueLabels(Map<String, List<String>> taggedValues) {
         List<Label> labels = new ArrayList<>();
         for (String labelTypeName : taggedValues.keySet()) {
             var labelNames = taggedValues.get(labelTypeName);
-            LabelType labelType;
-            if (labelTypeMap.containsKey(labelTypeName)) {
-                labelType = labelTypeMap.get(labelTypeName);
-            } else {
-                labelType = ddFactory.createLabelType();
-                labelType.setEntityName(labelTypeName);
-                labelType.setId(Integer.toString(idCounter++));
-                dd.getLabelTypes()
-                        .add(labelType);
-                labelTypeMap.put(labelTypeName, labelType);
-                labelMap.put(labelTypeName, new HashMap<>());
-            }
-            labels.addAll(createLabels(labelNames, dd, labelType));
+            LabelType labelType = labelRegistry.getOrCreateLabelType(labelTypeName);
+            labels.addAll(createLabels(labelNames, labelType));
         }
         return labels;
     }
@@ -2,14 +2,20 @@ package org.dataflowanalysis.converter.pcm2dfd;
 
 import de.uka.ipd.sdq.stoex.AbstractNamedReference;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.dataflowanalysis.analysis.core.AbstractTransposeFlowGraph;
 import org.dataflowanalysis.analysis.core.CharacteristicValue;
 import org.dataflowanalysis.analysis.core.DataCharacteristic;
@@ -23,6 +29,8 @@ import org.dataflowanalysis.analysis.pcm.utils.PCMQueryUtils;
 import org.dataflowanalysis.converter.Converter;
 import org.dataflowanalysis.converter.ConverterModel;
 import org.dataflowanalysis.converter.dfd2web.DataFlowDiagramAndDictionary;
+import org.dataflowanalysis.converter.util.LabelRegistry;
+import org.dataflowanalysis.converter.util.TermTemplateCache;
 import org.dataflowanalysis.dfd.datadictionary.AND;
 import org.dataflowanalysis.dfd.datadictionary.AbstractAssignment;
 import org.dataflowanalysis.dfd.datadictionary.Assignment;
@@ -37,6 +45,7 @@ import org.dataflowanalysis.dfd.datadictionary.OR;
 import org.dataflowanalysis.dfd.datadictionary.Pin;
 import org.dataflowanalysis.dfd.datadictionary.datadictionaryFactory;
 import org.dataflowanalysis.dfd.dataflowdiagram.DataFlowDiagram;
+import org.dataflowanalysis.dfd.dataflowdiagram.Flow;
 import org.dataflowanalysis.dfd.dataflowdiagram.Node;
 import org.dataflowanalysis.dfd.dataflowdiagram.dataflowdiagramFactory;
 import org.dataflowanalysis.pcm.extension.dictionary.characterized.DataDictionaryCharacterized.EnumCharacteristicType;
@@ -68,9 +77,42 @@ import org.palladiosimulator.pcm.usagemodel.Stop;
  */
 public class PCM2DFDConverter extends Converter {
     private final Map<AbstractPCMVertex<?>, Node> dfdNodeMap = new HashMap<>();
+    private final Map<Node, Map<String, Pin>> inPinIndex = new HashMap<>();
+    private final Map<Node, Map<String, Pin>> outPinIndex = new HashMap<>();
     private DataDictionary dataDictionary;
+    private LabelRegistry labelRegistry;
     private DataFlowDiagram dataFlowDiagram;
     private final Set<String> takenIds = new HashSet<>();
+    private final Map<NameKey, String> completeNameCache = new ConcurrentHashMap<>();
+    private final Map<List<VariableUsage>, List<ConfidentialityVariableCharacterisation>> variableCharacterisationCache = Collections
+            .synchronizedMap(new IdentityHashMap<>());
+    private PCMConversionStatistics statistics = new PCMConversionStatistics();
+    private boolean parallel;
+    private boolean compactBehavior;
+    private boolean incremental;
+    private PCMConversionTrace trace;
+    private TermTemplateCache<TermKey> termTemplates;
+
+
+    /**
+     * Key of the complete name cache, as the complete name of a vertex only depends on its referenced element and whether
+     * it is branching
+     */
+    private record NameKey(Entity referencedElement, boolean branching) {
+    }
+
+    /**
+     * Key of the term template cache, as a converted term only depends on the PCM term and the label used for wildcard
+     * references. PCM terms are compared by identity, so the lookup does not traverse the term
+     */
+    private record TermKey(Term rightHandSide, Label wildcardLabel) {
+    }
+
+    /**
+     * Key of the flows between a source and destination node
+     */
+    private record FlowKey(Node sourceNode, Node destinationNode) {
+    }
 
     @Override
     public DataFlowDiagramAndDictionary convert(ConverterModel input) {
@@ -80,8 +122,43 @@ public class PCM2DFDConverter extends Converter {
                     .getSimpleName());
             throw new IllegalArgumentException("Invalid input for Model Conversion");
         }
-        return processPalladio(converterModel.get()
+        Optional<PCMSnapshotCache> snapshotCache = converterModel.get()
+                .getSnapshotCache();
+        if (snapshotCache.isEmpty()) {
+            return processPalladio(converterModel.get()
+                    .getFlowGraphCollection());
+        }
+        String snapshotKey = computeSnapshotKey(converterModel.get());
+        if (incremental) {
+            // A snapshot does not contain the trace that is required as baseline of later incremental conversions
+            logger.info("Snapshot cache is not read in incremental mode, as the conversion trace cannot be restored from a snapshot");
+        } else {
+            Optional<DataFlowDiagramAndDictionary> cachedResult = snapshotCache.get()
+                    .load(snapshotKey);
+            if (cachedResult.isPresent()) {
+                statistics = new PCMConversionStatistics();
+                statistics.setSnapshotCacheHit(true);
+                trace = null;
+                return cachedResult.get();
+            }
+        }
+        DataFlowDiagramAndDictionary result = processPalladio(converterModel.get()
                 .getFlowGraphCollection());
+        snapshotCache.get()
+                .store(snapshotKey, result);
+        return result;
+    }
+
+    /**
+     * Computes the key of the conversion result of the given model in the snapshot cache. Besides the content of the
+     * model, the key contains every option that changes the converted data flow diagram and dictionary. Parallel
+     * conversion, term caching and the incremental mode only change how the result is computed and are therefore not part
+     * of the key. Options that change the result must be added here, so that snapshots of other options are not served
+     * @param converterModel Converter model using a snapshot cache
+     * @return Returns the key of the conversion result
+     */
+    private String computeSnapshotKey(PCMConverterModel converterModel) {
+        return converterModel.getSnapshotKey() + "-behavior-" + (compactBehavior ? "compact" : "complete");
     }
 
     /**
@@ -136,45 +213,468 @@ public class PCM2DFDConverter extends Converter {
 
     private DataFlowDiagramAndDictionary processPalladio(FlowGraphCollection flowGraphCollection) {
         dataDictionary = datadictionaryFactory.eINSTANCE.createDataDictionary();
+        labelRegistry = new LabelRegistry(dataDictionary);
         dataFlowDiagram = dataflowdiagramFactory.eINSTANCE.createDataFlowDiagram();
-        for (AbstractTransposeFlowGraph transposeFlowGraph : flowGraphCollection.getTransposeFlowGraphs()) {
-            transposeFlowGraph.getVertices()
-                    .stream()
-                    .filter(it -> it instanceof AbstractPCMVertex<?>)
-                    .map(it -> (AbstractPCMVertex<?>) it)
-                    .forEach(this::processVertex);
+        inPinIndex.clear();
+        outPinIndex.clear();
+        statistics = new PCMConversionStatistics();
+        completeNameCache.clear();
+        variableCharacterisationCache.clear();
+        if (termTemplates != null) {
+            termTemplates.clear();
         }
-        for (AbstractTransposeFlowGraph transposeFlowGraph : flowGraphCollection.getTransposeFlowGraphs()) {
-            transposeFlowGraph.getVertices()
-                    .stream()
-                    .filter(it -> it instanceof AbstractPCMVertex<?>)
-                    .map(it -> (AbstractPCMVertex<?>) it)
-                    .forEach(this::createFlowsForVertex);
+        List<AbstractPCMVertex<?>> vertices = collectDistinctVertices(flowGraphCollection);
+        vertices.forEach(this::processVertex);
+        if (parallel) {
+            convertInParallel(vertices);
+        } else {
+            vertices.forEach(this::createFlowsForVertex);
+            vertices.forEach(this::createBehavior);
+        }
+
+        Set<AbstractPCMVertex<?>> sinks = collectSinks(flowGraphCollection);
+        sinks.forEach(sink -> clearSinkBehavior(dfdNodeMap.get(sink)));
+
+        trace = null;
+        if (incremental) {
+            Map<String, String> fingerprints = new HashMap<>();
+            Map<AbstractPCMVertex<?>, List<AbstractPCMVertex<?>>> successors = collectSuccessors(vertices);
+            vertices.forEach(vertex -> fingerprints.put(dfdNodeMap.get(vertex)
+                    .getId(), computeFingerprint(vertex, it -> dfdNodeMap.get(it)
+                            .getId(), successors, sinks)));
+            Set<String> nodeIds = new LinkedHashSet<>(fingerprints.keySet());
+            trace = new PCMConversionTrace(dataFlowDiagram, collectNodes(vertices), fingerprints, nodeIds, Set.of(), nodeIds);
+        }
+        labelRegistry.close();
+        return new DataFlowDiagramAndDictionary(dataFlowDiagram, dataDictionary);
+    }
+
+    /**
+     * Converts a changed PCM model by updating the result of a previous conversion. Only nodes whose conversion inputs
+     * changed are rebuilt together with their incident flows, while all other nodes, pins, flows and assignments are kept.
+     * The previous result is modified and must not be used afterwards. The trace of the update is available via
+     * {@link #getTrace()}
+     * <p/>
+     * Nodes are matched by their id, which is derived from the referenced PCM element. Labels that are no longer used are
+     * kept in the data dictionary
+     * @param converterModel Converter model of the changed PCM model
+     * @param previousResult Result of the previous conversion
+     * @param previousTrace Trace of the previous conversion, created by a converter in incremental mode
+     * @return Returns the updated data flow diagram and dictionary
+     */
+    public DataFlowDiagramAndDictionary convertIncrementally(PCMConverterModel converterModel, DataFlowDiagramAndDictionary previousResult,
+            PCMConversionTrace previousTrace) {
+        if (previousResult == null || previousTrace == null) {
+            logger.error("Incremental conversion requires the previous result and its trace");
+            throw new IllegalArgumentException("Missing previous result or trace for incremental conversion");
+        }
+        FlowGraphCollection flowGraphCollection = converterModel.getFlowGraphCollection();
+        dataDictionary = previousResult.dataDictionary();
+        labelRegistry = new LabelRegistry(dataDictionary);
+        dataFlowDiagram = previousResult.dataFlowDiagram();
+        dfdNodeMap.clear();
+        takenIds.clear();
+        inPinIndex.clear();
+        outPinIndex.clear();
+        statistics = new PCMConversionStatistics();
+        completeNameCache.clear();
+        variableCharacterisationCache.clear();
+        if (termTemplates != null) {
+            termTemplates.clear();
         }
+
+        List<AbstractPCMVertex<?>> vertices = collectDistinctVertices(flowGraphCollection);
+        Set<AbstractPCMVertex<?>> sinks = collectSinks(flowGraphCollection);
+        Map<AbstractPCMVertex<?>, List<AbstractPCMVertex<?>>> successors = collectSuccessors(vertices);
+        Map<AbstractPCMVertex<?>, String> nodeIds = new IdentityHashMap<>();
+        Set<String> computedIds = new HashSet<>();
+        vertices.forEach(vertex -> nodeIds.put(vertex, nextNodeId(vertex, computedIds)));
+        Map<String, String> fingerprints = new HashMap<>();
+        vertices.forEach(vertex -> fingerprints.put(nodeIds.get(vertex), computeFingerprint(vertex, nodeIds::get, successors, sinks)));
+
+        Map<String, Node> previousNodes = new HashMap<>();
+        dataFlowDiagram.getNodes()
+                .forEach(node -> previousNodes.put(node.getId(), node));
+        Map<FlowKey, List<Flow>> previousFlows = new HashMap<>();
+        dataFlowDiagram.getFlows()
+                .forEach(flow -> previousFlows.computeIfAbsent(new FlowKey(flow.getSourceNode(), flow.getDestinationNode()), it -> new ArrayList<>())
+                        .add(flow));
+
+        // Reuse unchanged nodes and rebuild all others in the order of the complete conversion to obtain the same ids
+        Set<Node> removedNodes = new LinkedHashSet<>(dataFlowDiagram.getNodes());
+        Set<AbstractPCMVertex<?>> rebuiltVertices = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (AbstractPCMVertex<?> vertex : vertices) {
+            String nodeId = nodeIds.get(vertex);
+            Node previousNode = previousNodes.get(nodeId);
+            if (previousNode != null && fingerprints.get(nodeId)
+                    .equals(previousTrace.getFingerprint(nodeId))) {
+                dfdNodeMap.put(vertex, previousNode);
+                takenIds.add(nodeId);
+                removedNodes.remove(previousNode);
+                previousNode.getBehavior()
+                        .getInPin()
+                        .forEach(pin -> inPinIndex.computeIfAbsent(previousNode, it -> new HashMap<>())
+                                .putIfAbsent(pin.getEntityName(), pin));
+                previousNode.getBehavior()
+                        .getOutPin()
+                        .forEach(pin -> outPinIndex.computeIfAbsent(previousNode, it -> new HashMap<>())
+                                .putIfAbsent(pin.getEntityName(), pin));
+            } else {
+                rebuiltVertices.add(vertex);
+                processVertex(vertex);
+            }
+        }
+
+        List<Flow> removedFlows = dataFlowDiagram.getFlows()
+                .stream()
+                .filter(flow -> removedNodes.contains(flow.getSourceNode()) || removedNodes.contains(flow.getDestinationNode()))
+                .toList();
+        dataFlowDiagram.getFlows()
+                .removeAll(removedFlows);
+
+        Set<Node> touchedNodes = new LinkedHashSet<>();
+        for (AbstractPCMVertex<?> vertex : vertices) {
+            for (AbstractPCMVertex<?> previousElement : vertex.getPreviousElements()) {
+                boolean sourceRebuilt = rebuiltVertices.contains(previousElement);
+                boolean destinationRebuilt = rebuiltVertices.contains(vertex);
+                if (!sourceRebuilt && !destinationRebuilt) {
+                    continue;
+                }
+                List<Flow> flows = createFlows(previousElement, vertex);
+                // Control flow pins of unchanged nodes are already referenced by their assignments and must be reused
+                List<Flow> replacedFlows = previousFlows.getOrDefault(new FlowKey(previousNodes.get(nodeIds.get(previousElement)),
+                        previousNodes.get(nodeIds.get(vertex))), new ArrayList<>());
+                for (Flow flow : flows) {
+                    if (!"~".equals(flow.getEntityName())) {
+                        continue;
+                    }
+                    replacedFlows.stream()
+                            .filter(it -> "~".equals(it.getEntityName()))
+                            .findFirst()
+                            .ifPresent(replacedFlow -> {
+                                replacedFlows.remove(replacedFlow);
+                                if (!sourceRebuilt) {
+                                    flow.setSourcePin(replacedFlow.getSourcePin());
+                                }
+                                if (!destinationRebuilt) {
+                                    flow.setDestinationPin(replacedFlow.getDestinationPin());
+                                }
+                            });
+                }
+                attachFlows(flows);
+                touchedNodes.add(dfdNodeMap.get(previousElement));
+                touchedNodes.add(dfdNodeMap.get(vertex));
+            }
+        }
+
+        vertices.stream()
+                .filter(rebuiltVertices::contains)
+                .forEach(this::createBehavior);
+        vertices.stream()
+                .filter(rebuiltVertices::contains)
+                .filter(sinks::contains)
+                .forEach(sink -> clearSinkBehavior(dfdNodeMap.get(sink)));
+
+        dataFlowDiagram.getNodes()
+                .removeAll(removedNodes);
+        dataDictionary.getBehavior()
+                .removeAll(removedNodes.stream()
+                        .map(Node::getBehavior)
+                        .toList());
+
+        Set<String> rebuiltNodeIds = new LinkedHashSet<>();
+        vertices.stream()
+                .filter(rebuiltVertices::contains)
+                .forEach(vertex -> rebuiltNodeIds.add(nodeIds.get(vertex)));
+        Set<String> removedNodeIds = new LinkedHashSet<>();
+        removedNodes.stream()
+                .map(Node::getId)
+                .filter(it -> !rebuiltNodeIds.contains(it))
+                .forEach(removedNodeIds::add);
+        Set<String> touchedNodeIds = new LinkedHashSet<>(rebuiltNodeIds);
+        touchedNodes.forEach(node -> touchedNodeIds.add(node.getId()));
+        logger.debug("Incremental conversion rebuilt " + rebuiltNodeIds.size() + " of " + vertices.size() + " nodes and removed "
+                + removedNodeIds.size() + " nodes");
+        trace = new PCMConversionTrace(dataFlowDiagram, collectNodes(vertices), fingerprints, rebuiltNodeIds, removedNodeIds, touchedNodeIds);
+        labelRegistry.close();
+        return new DataFlowDiagramAndDictionary(dataFlowDiagram, dataDictionary);
+    }
+
+    /**
+     * Sets whether flows and behaviors of the vertices are computed in parallel. The created data flow diagram and data
+     * dictionary are identical to the sequential conversion
+     * @param parallel Determines whether flows and behaviors are computed in parallel
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Sets whether the fallback assignment that forwards all in-pins is only created for out-pins that are not targeted by
+     * any other assignment. Otherwise, every out-pin receives a fallback assignment
+     * @param compactBehavior Determines whether fallback assignments are only created where required
+     */
+    public void setCompactBehavior(boolean compactBehavior) {
+        this.compactBehavior = compactBehavior;
+    }
+
+    /**
+     * Sets whether the converter records a {@link PCMConversionTrace} for each conversion, which is required to update the
+     * result with {@link #convertIncrementally(PCMConverterModel, DataFlowDiagramAndDictionary, PCMConversionTrace)}. In
+     * incremental mode, results are not loaded from a snapshot cache, as the trace cannot be restored from a snapshot
+     * @param incremental Determines whether conversion traces are recorded
+     */
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    /**
+     * Sets whether terms of assignments are built from cached templates. If enabled, each PCM term is only parsed once per
+     * conversion and wildcard label, and further assignments receive copies of the parsed term
+     * @param cacheTerms Determines whether converted terms are cached
+     */
+    public void setCacheTerms(boolean cacheTerms) {
+        this.termTemplates = cacheTerms ? new TermTemplateCache<>() : null;
+    }
+
+    /**
+     * Returns the term template cache of the last conversion run
+     * @return Returns an optional containing the term template cache, if terms are cached
+     */
+    public Optional<TermTemplateCache<?>> getTermTemplateCache() {
+        return Optional.ofNullable(termTemplates);
+    }
+
+    /**
+     * Returns the trace of the last conversion run
+     * @return Returns an optional containing the trace of the last conversion, if it was run in incremental mode
+     */
+    public Optional<PCMConversionTrace> getTrace() {
+        return Optional.ofNullable(trace);
+    }
+
+    /**
+     * Returns the statistics of the last conversion run
+     * @return Returns the statistics of the last conversion
+     */
+    public PCMConversionStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Collects the PCM vertices of all transpose flow graphs in the given collection. Vertices that are contained in
+     * multiple transpose flow graphs are only returned once, keeping the order of their first occurrence
+     * @param flowGraphCollection Flow graph collection containing the transpose flow graphs
+     * @return Returns the distinct PCM vertices of the collection
+     */
+    private List<AbstractPCMVertex<?>> collectDistinctVertices(FlowGraphCollection flowGraphCollection) {
+        Set<AbstractPCMVertex<?>> visitedVertices = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<AbstractPCMVertex<?>> distinctVertices = new ArrayList<>();
+        int totalVertices = 0;
         for (AbstractTransposeFlowGraph transposeFlowGraph : flowGraphCollection.getTransposeFlowGraphs()) {
-            transposeFlowGraph.getVertices()
-                    .stream()
-                    .filter(it -> it instanceof AbstractPCMVertex<?>)
-                    .map(it -> (AbstractPCMVertex<?>) it)
-                    .forEach(this::createBehavior);
+            for (var vertex : transposeFlowGraph.getVertices()) {
+                if (!(vertex instanceof AbstractPCMVertex<?> pcmVertex)) {
+                    continue;
+                }
+                totalVertices++;
+                if (visitedVertices.add(pcmVertex)) {
+                    distinctVertices.add(pcmVertex);
+                }
+            }
         }
+        statistics.setVertexCounts(totalVertices, distinctVertices.size());
+        return distinctVertices;
+    }
 
+    /**
+     * Collects the PCM vertices that are the sink of a transpose flow graph in the given collection
+     * @param flowGraphCollection Flow graph collection containing the transpose flow graphs
+     * @return Returns the sink vertices of the collection
+     */
+    private Set<AbstractPCMVertex<?>> collectSinks(FlowGraphCollection flowGraphCollection) {
+        Set<AbstractPCMVertex<?>> sinks = Collections.newSetFromMap(new IdentityHashMap<>());
         flowGraphCollection.getTransposeFlowGraphs()
                 .stream()
                 .map(AbstractTransposeFlowGraph::getSink)
                 .filter(it -> it instanceof AbstractPCMVertex<?>)
                 .map(it -> (AbstractPCMVertex<?>) it)
-                .forEach(sink -> {
-                    var node = dfdNodeMap.get(sink);
-                    node.getBehavior()
-                            .getOutPin()
-                            .clear();
-                    node.getBehavior()
-                            .getAssignment()
-                            .clear();
+                .forEach(sinks::add);
+        return sinks;
+    }
+
+    /**
+     * Removes the out-pins and assignments of the DFD node of a sink vertex
+     * @param node DFD node of the sink vertex
+     */
+    private void clearSinkBehavior(Node node) {
+        node.getBehavior()
+                .getOutPin()
+                .clear();
+        node.getBehavior()
+                .getAssignment()
+                .clear();
+        outPinIndex.remove(node);
+    }
+
+    /**
+     * Determines the successors of the given vertices in the order in which their flows are created
+     * @param vertices Distinct PCM vertices that are converted
+     * @return Returns a mapping from each vertex to the vertices succeeding it
+     */
+    private Map<AbstractPCMVertex<?>, List<AbstractPCMVertex<?>>> collectSuccessors(List<AbstractPCMVertex<?>> vertices) {
+        Map<AbstractPCMVertex<?>, List<AbstractPCMVertex<?>>> successors = new IdentityHashMap<>();
+        for (AbstractPCMVertex<?> vertex : vertices) {
+            vertex.getPreviousElements()
+                    .forEach(previousElement -> successors.computeIfAbsent(previousElement, it -> new ArrayList<>())
+                            .add(vertex));
+        }
+        return successors;
+    }
+
+    /**
+     * Returns the DFD nodes of the given vertices
+     * @param vertices Converted PCM vertices
+     * @return Returns a mapping from each vertex to its DFD node
+     */
+    private Map<AbstractPCMVertex<?>, Node> collectNodes(List<AbstractPCMVertex<?>> vertices) {
+        Map<AbstractPCMVertex<?>, Node> nodes = new IdentityHashMap<>();
+        vertices.forEach(vertex -> nodes.put(vertex, dfdNodeMap.get(vertex)));
+        return nodes;
+    }
+
+    /**
+     * Computes a fingerprint of all inputs that determine the DFD node of the given vertex, its pins, assignments and
+     * incoming flows. Two vertices with equal fingerprints are converted to identical nodes
+     * @param vertex PCM vertex whose fingerprint is computed
+     * @param nodeIds Function returning the node id of a vertex
+     * @param successors Successors of each vertex
+     * @param sinks Sink vertices of the transpose flow graphs
+     * @return Returns the fingerprint of the vertex
+     */
+    private String computeFingerprint(AbstractPCMVertex<?> vertex, Function<AbstractPCMVertex<?>, String> nodeIds,
+            Map<AbstractPCMVertex<?>, List<AbstractPCMVertex<?>>> successors, Set<AbstractPCMVertex<?>> sinks) {
+        StringBuilder fingerprint = new StringBuilder();
+        fingerprint.append(vertex instanceof UserPCMVertex<?> ? "External" : "Process")
+                .append('|')
+                .append(nodeIds.apply(vertex))
+                .append('|')
+                .append(getCompleteName(vertex))
+                .append('|')
+                .append(sinks.contains(vertex))
+                .append('|')
+                .append(compactBehavior);
+        fingerprint.append("|properties");
+        vertex.getAllVertexCharacteristics()
+                .forEach(it -> fingerprint.append(',')
+                        .append(it.getTypeName())
+                        .append('.')
+                        .append(it.getValueName()));
+        fingerprint.append("|in");
+        vertex.getAllIncomingDataCharacteristics()
+                .forEach(it -> fingerprint.append(',')
+                        .append(it.getVariableName()));
+        fingerprint.append("|out");
+        vertex.getAllOutgoingDataCharacteristics()
+                .forEach(it -> fingerprint.append(',')
+                        .append(it.getVariableName()));
+        boolean userStart = vertex instanceof UserPCMVertex<?> && vertex.getReferencedElement() instanceof Start;
+        fingerprint.append('|')
+                .append(userStart);
+        if (!userStart && vertex.getAllIncomingDataCharacteristics()
+                .isEmpty()) {
+            fingerprint.append("|initial");
+            vertex.getAllOutgoingDataCharacteristics()
+                    .forEach(dataCharacteristic -> dataCharacteristic.getAllCharacteristics()
+                            .forEach(it -> fingerprint.append(',')
+                                    .append(dataCharacteristic.getVariableName())
+                                    .append(':')
+                                    .append(it.getTypeName())
+                                    .append('.')
+                                    .append(it.getValueName())));
+        }
+        if (vertex instanceof UserPCMVertex<?>) {
+            fingerprint.append('|')
+                    .append(((AbstractUserAction) vertex.getReferencedElement()).getScenarioBehaviour_AbstractUserAction()
+                            .getUsageScenario_SenarioBehaviour() != null);
+        }
+        fingerprint.append("|characterisations");
+        for (ConfidentialityVariableCharacterisation variableCharacterisation : getVariableCharacterizations(vertex)) {
+            var leftHandSide = (LhsEnumCharacteristicReference) variableCharacterisation.getLhs();
+            EnumCharacteristicType characteristicType = (EnumCharacteristicType) leftHandSide.getCharacteristicType();
+            fingerprint.append(',')
+                    .append(variableCharacterisation.getVariableUsage_VariableCharacterisation()
+                            .getNamedReference__VariableUsage()
+                            .getReferenceName())
+                    .append(':');
+            if (characteristicType != null) {
+                fingerprint.append(characteristicType.getName());
+                characteristicType.getType()
+                        .getLiterals()
+                        .forEach(it -> fingerprint.append('/')
+                                .append(it.getName()));
+            }
+            if (leftHandSide.getLiteral() != null) {
+                fingerprint.append('=')
+                        .append(leftHandSide.getLiteral()
+                                .getName());
+            }
+            fingerprint.append(":=");
+            appendTerm(fingerprint, variableCharacterisation.getRhs());
+        }
+        fingerprint.append("|previous");
+        vertex.getPreviousElements()
+                .forEach(previousElement -> {
+                    fingerprint.append(',')
+                            .append(nodeIds.apply(previousElement));
+                    previousElement.getAllOutgoingDataCharacteristics()
+                            .forEach(it -> fingerprint.append(':')
+                                    .append(it.getVariableName()));
+                });
+        fingerprint.append("|next");
+        successors.getOrDefault(vertex, List.of())
+                .forEach(successor -> {
+                    fingerprint.append(',')
+                            .append(nodeIds.apply(successor));
+                    successor.getAllIncomingDataCharacteristics()
+                            .forEach(it -> fingerprint.append(':')
+                                    .append(it.getVariableName()));
                 });
+        return fingerprint.toString();
+    }
 
-        return new DataFlowDiagramAndDictionary(dataFlowDiagram, dataDictionary);
+    /**
+     * Appends a textual representation of the given PCM term to the fingerprint
+     * @param fingerprint Fingerprint the term is appended to
+     * @param term PCM term that is appended
+     */
+    private void appendTerm(StringBuilder fingerprint, Term term) {
+        if (term instanceof Or or) {
+            fingerprint.append("or(");
+            appendTerm(fingerprint, or.getLeft());
+            fingerprint.append(',');
+            appendTerm(fingerprint, or.getRight());
+            fingerprint.append(')');
+        } else if (term instanceof And and) {
+            fingerprint.append("and(");
+            appendTerm(fingerprint, and.getLeft());
+            fingerprint.append(',');
+            appendTerm(fingerprint, and.getRight());
+            fingerprint.append(')');
+        } else if (term instanceof NamedEnumCharacteristicReference characteristicReference) {
+            fingerprint.append(characteristicReference.getNamedReference()
+                    .getReferenceName())
+                    .append('.')
+                    .append(characteristicReference.getCharacteristicType()
+                            .getName());
+            if (characteristicReference.getLiteral() != null) {
+                fingerprint.append('.')
+                        .append(characteristicReference.getLiteral()
+                                .getName());
+            }
+        } else if (term != null) {
+            fingerprint.append(term.eClass()
+                    .getName());
+        }
     }
 
     /**
@@ -191,8 +691,40 @@ public class PCM2DFDConverter extends Converter {
      * @param pcmVertex PCMVertex whichs corresponding note is the flow target
      */
     private void createFlowsForVertex(AbstractPCMVertex<? extends Entity> pcmVertex) {
+        attachFlows(computeFlowsForVertex(pcmVertex));
+    }
+
+    /**
+     * Computes the flows to the DFD Node of the given vertex according to previous elements. The flows are not added to
+     * the data flow diagram and newly required pins are not added to the nodes
+     * @param pcmVertex PCMVertex whichs corresponding note is the flow target
+     * @return Returns the flows to the DFD Node of the given vertex
+     */
+    private List<Flow> computeFlowsForVertex(AbstractPCMVertex<? extends Entity> pcmVertex) {
+        List<Flow> flows = new ArrayList<>();
         pcmVertex.getPreviousElements()
-                .forEach(previousElement -> createFlows(previousElement, pcmVertex));
+                .forEach(previousElement -> flows.addAll(createFlows(previousElement, pcmVertex)));
+        return flows;
+    }
+
+    /**
+     * Adds the given flows to the data flow diagram. Pins of the flows that are not contained in a behavior yet are added
+     * to the source or destination node respectively
+     * @param flows Flows that are added to the data flow diagram
+     */
+    private void attachFlows(List<Flow> flows) {
+        for (Flow flow : flows) {
+            dataFlowDiagram.getFlows()
+                    .add(flow);
+            if (flow.getSourcePin()
+                    .eContainer() == null) {
+                addOutPin(flow.getSourceNode(), flow.getSourcePin());
+            }
+            if (flow.getDestinationPin()
+                    .eContainer() == null) {
+                addInPin(flow.getDestinationNode(), flow.getDestinationPin());
+            }
+        }
     }
 
     /**
@@ -204,6 +736,77 @@ public class PCM2DFDConverter extends Converter {
         convertBehavior(pcmVertex, node, dataDictionary);
     }
 
+    /**
+     * Computes the flows and behaviors of the given vertices in parallel. Labels are created beforehand in the order of
+     * the sequential conversion, and the computed flows and assignments are attached in the order of the given vertices
+     * @param vertices Vertices whose flows and behaviors are converted
+     */
+    private void convertInParallel(List<AbstractPCMVertex<?>> vertices) {
+        List<List<Flow>> flows = vertices.parallelStream()
+                .map(this::computeFlowsForVertex)
+                .toList();
+        flows.forEach(this::attachFlows);
+
+        vertices.forEach(this::createLabelsForVertex);
+        List<List<AbstractAssignment>> assignments = vertices.parallelStream()
+                .map(vertex -> computeBehavior(vertex, dfdNodeMap.get(vertex)))
+                .toList();
+        for (int i = 0; i < vertices.size(); i++) {
+            attachBehavior(dfdNodeMap.get(vertices.get(i)), assignments.get(i));
+        }
+    }
+
+    /**
+     * Creates the labels required by the behavior of the given vertex in the same order as the behavior conversion
+     * @param vertex PCM vertex whose behavior is converted
+     */
+    private void createLabelsForVertex(AbstractPCMVertex<?> vertex) {
+        if (!(vertex instanceof UserPCMVertex<?> && vertex.getReferencedElement() instanceof Start) && vertex.getAllIncomingDataCharacteristics()
+                .isEmpty()) {
+            vertex.getAllOutgoingDataCharacteristics()
+                    .stream()
+                    .map(DataCharacteristic::getAllCharacteristics)
+                    .flatMap(List::stream)
+                    .forEach(characteristicValue -> this.getOrCreateDFDLabel(characteristicValue.getValueName(),
+                            this.getOrCreateLabelType(characteristicValue.getTypeName())));
+        }
+        for (ConfidentialityVariableCharacterisation variableCharacterisation : this.getVariableCharacterizations(vertex)) {
+            var leftHandSide = (LhsEnumCharacteristicReference) variableCharacterisation.getLhs();
+            EnumCharacteristicType characteristicType = (EnumCharacteristicType) leftHandSide.getCharacteristicType();
+            Literal characteristicValue = leftHandSide.getLiteral();
+            if (characteristicType == null) {
+                continue;
+            }
+            List<Literal> assignedValues = characteristicValue == null ? characteristicType.getType()
+                    .getLiterals() : List.of(characteristicValue);
+            for (Literal value : assignedValues) {
+                this.getOrCreateDFDLabel(value.getName(), this.getOrCreateLabelType(characteristicType.getName()));
+                this.createLabelsForTerm(variableCharacterisation.getRhs());
+            }
+        }
+    }
+
+    /**
+     * Creates the labels referenced in the given term in the same order as {@link #parseTerm(Term, DataDictionary, Label)}
+     * @param rightHandSide Term whose labels are created
+     */
+    private void createLabelsForTerm(Term rightHandSide) {
+        if (rightHandSide instanceof Or or) {
+            this.createLabelsForTerm(or.getLeft());
+            this.createLabelsForTerm(or.getRight());
+        } else if (rightHandSide instanceof And and) {
+            this.createLabelsForTerm(and.getLeft());
+            this.createLabelsForTerm(and.getRight());
+        } else if (rightHandSide instanceof NamedEnumCharacteristicReference characteristicReference) {
+            LabelType labelType = this.getOrCreateLabelType(characteristicReference.getCharacteristicType()
+                    .getName());
+            if (characteristicReference.getLiteral() != null) {
+                this.getOrCreateDFDLabel(characteristicReference.getLiteral()
+                        .getName(), labelType);
+            }
+        }
+    }
+
     /**
      * Creates and adds the pins to the node supplied according to the incoming and outgoing data characteristics of the
      * supplied vertex
@@ -211,42 +814,88 @@ public class PCM2DFDConverter extends Converter {
      * @param pcmVertex holding the data characteristics
      */
     private void createPinsFromVertex(Node node, AbstractPCMVertex<? extends Entity> pcmVertex) {
-        var behaviour = node.getBehavior();
         pcmVertex.getAllIncomingDataCharacteristics()
                 .forEach(idc -> {
                     var pin = datadictionaryFactory.eINSTANCE.createPin();
                     pin.setEntityName(idc.getVariableName());
-                    behaviour.getInPin()
-                            .add(pin);
+                    addInPin(node, pin);
                 });
         pcmVertex.getAllOutgoingDataCharacteristics()
                 .forEach(odc -> {
                     var pin = datadictionaryFactory.eINSTANCE.createPin();
                     pin.setEntityName(odc.getVariableName());
-                    behaviour.getOutPin()
-                            .add(pin);
+                    addOutPin(node, pin);
                 });
     }
 
+    /**
+     * Adds the given in-pin to the behavior of the node and registers it in the pin index of the node
+     * @param node Node that receives the in-pin
+     * @param pin In-pin that is added to the node
+     */
+    private void addInPin(Node node, Pin pin) {
+        node.getBehavior()
+                .getInPin()
+                .add(pin);
+        inPinIndex.computeIfAbsent(node, it -> new HashMap<>())
+                .putIfAbsent(pin.getEntityName(), pin);
+    }
+
+    /**
+     * Adds the given out-pin to the behavior of the node and registers it in the pin index of the node
+     * @param node Node that receives the out-pin
+     * @param pin Out-pin that is added to the node
+     */
+    private void addOutPin(Node node, Pin pin) {
+        node.getBehavior()
+                .getOutPin()
+                .add(pin);
+        outPinIndex.computeIfAbsent(node, it -> new HashMap<>())
+                .putIfAbsent(pin.getEntityName(), pin);
+    }
+
+    /**
+     * Finds the first in-pin of the given node with the given name
+     * @param node Node that should contain the in-pin
+     * @param name Name of the in-pin
+     * @return Returns an optional containing the first in-pin with the given name, if it exists
+     */
+    private Optional<Pin> findInPin(Node node, String name) {
+        return Optional.ofNullable(inPinIndex.getOrDefault(node, Map.of())
+                .get(name));
+    }
+
+    /**
+     * Finds the first out-pin of the given node with the given name
+     * @param node Node that should contain the out-pin
+     * @param name Name of the out-pin
+     * @return Returns an optional containing the first out-pin with the given name, if it exists
+     */
+    private Optional<Pin> findOutPin(Node node, String name) {
+        return Optional.ofNullable(outPinIndex.getOrDefault(node, Map.of())
+                .get(name));
+    }
+
     /**
      * Creates flows between the nodes corresponding to the source and destination vertex
      * @param sourceVertex Given source pcm vertex of the flow
      * @param destinationVertex Given destination of the flow
+     * @return Returns the created flows
      */
-    private void createFlows(AbstractPCMVertex<? extends Entity> sourceVertex, AbstractPCMVertex<? extends Entity> destinationVertex) {
+    private List<Flow> createFlows(AbstractPCMVertex<? extends Entity> sourceVertex, AbstractPCMVertex<? extends Entity> destinationVertex) {
+        Set<String> incomingVariableNames = destinationVertex.getAllIncomingDataCharacteristics()
+                .stream()
+                .map(DataCharacteristic::getVariableName)
+                .collect(Collectors.toSet());
         var intersectingDataCharacteristics = sourceVertex.getAllOutgoingDataCharacteristics()
                 .stream()
                 .map(DataCharacteristic::getVariableName)
-                .filter(odc -> destinationVertex.getAllIncomingDataCharacteristics()
-                        .stream()
-                        .map(DataCharacteristic::getVariableName)
-                        .toList()
-                        .contains(odc))
+                .filter(incomingVariableNames::contains)
                 .toList();
         if (intersectingDataCharacteristics.isEmpty()) {
-            createEmptyFlowForNoDataCharacteristics(sourceVertex, destinationVertex);
+            return List.of(createEmptyFlowForNoDataCharacteristics(sourceVertex, destinationVertex));
         } else {
-            createFlowForListOfCharacteristics(sourceVertex, destinationVertex, intersectingDataCharacteristics);
+            return createFlowForListOfCharacteristics(sourceVertex, destinationVertex, intersectingDataCharacteristics);
         }
     }
 
@@ -255,27 +904,19 @@ public class PCM2DFDConverter extends Converter {
      * @param sourceVertex Given pcm vertex of the flow origin
      * @param destinationVertex PCM vertex that represents the destination of the flow
      * @param intersectingDataCharacteristics Intersection of characteristics between the two nodes
+     * @return Returns the created flows
      */
-    private void createFlowForListOfCharacteristics(AbstractPCMVertex<? extends Entity> sourceVertex,
+    private List<Flow> createFlowForListOfCharacteristics(AbstractPCMVertex<? extends Entity> sourceVertex,
             AbstractPCMVertex<? extends Entity> destinationVertex, List<String> intersectingDataCharacteristics) {
         var sourceNode = dfdNodeMap.get(sourceVertex);
         var destinationNode = dfdNodeMap.get(destinationVertex);
+        List<Flow> flows = new ArrayList<>();
         for (var dataCharacteristic : intersectingDataCharacteristics) {
             var flow = dataflowdiagramFactory.eINSTANCE.createFlow();
-            var inPin = destinationNode.getBehavior()
-                    .getInPin()
-                    .stream()
-                    .filter(pin -> pin.getEntityName()
-                            .equals(dataCharacteristic))
-                    .toList()
-                    .get(0);
-            var outPin = sourceNode.getBehavior()
-                    .getOutPin()
-                    .stream()
-                    .filter(pin -> pin.getEntityName()
-                            .equals(dataCharacteristic))
-                    .toList()
-                    .get(0);
+            var inPin = findInPin(destinationNode, dataCharacteristic)
+                    .orElseThrow();
+            var outPin = findOutPin(sourceNode, dataCharacteristic)
+                    .orElseThrow();
 
             flow.setEntityName(dataCharacteristic);
             flow.setDestinationNode(destinationNode);
@@ -283,17 +924,19 @@ public class PCM2DFDConverter extends Converter {
             flow.setDestinationPin(inPin);
             flow.setSourcePin(outPin);
 
-            dataFlowDiagram.getFlows()
-                    .add(flow);
+            flows.add(flow);
         }
+        return flows;
     }
 
     /**
-     * Creates flow in case of no similar characteristics between source and destination node
+     * Creates flow in case of no similar characteristics between source and destination node. The pins of the created flow
+     * are not yet added to the nodes
      * @param sourceVertex Source vertex of the empty flow
      * @param destinationVertex Destination vertex of the destination flow
+     * @return Returns the created flow
      */
-    private void createEmptyFlowForNoDataCharacteristics(AbstractPCMVertex<? extends Entity> sourceVertex,
+    private Flow createEmptyFlowForNoDataCharacteristics(AbstractPCMVertex<? extends Entity> sourceVertex,
             AbstractPCMVertex<? extends Entity> destinationVertex) {
         var sourceNode = dfdNodeMap.get(sourceVertex);
         var destinationNode = dfdNodeMap.get(destinationVertex);
@@ -310,20 +953,7 @@ public class PCM2DFDConverter extends Converter {
         flow.setDestinationPin(inPin);
         flow.setSourcePin(outPin);
         flow.setEntityName("~");
-        dataFlowDiagram.getFlows()
-                .add(flow);
-
-        sourceNode.getBehavior()
-                .getOutPin()
-                .add(outPin);
-        destinationNode.getBehavior()
-                .getInPin()
-                .add(inPin);
-
-        var assignment = datadictionaryFactory.eINSTANCE.createAssignment();
-        assignment.setTerm(datadictionaryFactory.eINSTANCE.createTRUE());
-
-        assignment.setOutputPin(outPin);
+        return flow;
     }
 
     /**
@@ -362,8 +992,25 @@ public class PCM2DFDConverter extends Converter {
 
         Behavior behaviour = datadictionaryFactory.eINSTANCE.createBehavior();
 
-        node.setEntityName(computeCompleteName(pcmVertex));
+        node.setEntityName(getCompleteName(pcmVertex));
+
+        node.setId(nextNodeId(pcmVertex, takenIds));
+        node.setBehavior(behaviour);
+        dataDictionary.getBehavior()
+                .add(behaviour);
+        dataFlowDiagram.getNodes()
+                .add(node);
+        return node;
+    }
 
+    /**
+     * Determines the id of the DFD node of the given vertex, which is the id of the referenced element extended by a
+     * suffix, if the id is already taken
+     * @param pcmVertex Given PCM vertex
+     * @param takenIds Ids that are already taken. The determined id is added to the set
+     * @return Returns the id of the DFD node
+     */
+    private String nextNodeId(AbstractPCMVertex<? extends Entity> pcmVertex, Set<String> takenIds) {
         var id = pcmVertex.getReferencedElement()
                 .getId();
         int occurrences = 1;
@@ -372,15 +1019,8 @@ public class PCM2DFDConverter extends Converter {
                     .getId() + "_" + occurrences;
             occurrences++;
         }
-
-        node.setId(id);
         takenIds.add(id);
-        node.setBehavior(behaviour);
-        dataDictionary.getBehavior()
-                .add(behaviour);
-        dataFlowDiagram.getNodes()
-                .add(node);
-        return node;
+        return id;
     }
 
     /**
@@ -406,12 +1046,7 @@ public class PCM2DFDConverter extends Converter {
      * @return the LabelType
      */
     private LabelType getOrCreateLabelType(String name) {
-        return dataDictionary.getLabelTypes()
-                .stream()
-                .filter(f -> f.getEntityName()
-                        .equals(name))
-                .findFirst()
-                .orElseGet(() -> createLabelType(name));
+        return labelRegistry.getOrCreateLabelType(name);
     }
 
     /**
@@ -421,91 +1056,74 @@ public class PCM2DFDConverter extends Converter {
      * @return the Label
      */
     private Label getOrCreateDFDLabel(String labelName, LabelType type) {
-        return type.getLabel()
-                .stream()
-                .filter(f -> f.getEntityName()
-                        .equals(labelName))
-                .findFirst()
-                .orElseGet(() -> createLabel(labelName, type));
-    }
-
-    /**
-     * Creates a Label with the supplied name and adds it to the LabelType
-     * @param name the name of the Label
-     * @param type the LabelType
-     * @return the created Label
-     */
-    private Label createLabel(String name, LabelType type) {
-        Label label = datadictionaryFactory.eINSTANCE.createLabel();
-        label.setEntityName(name);
-        type.getLabel()
-                .add(label);
-        return label;
+        return labelRegistry.getOrCreateLabel(type, labelName);
     }
 
     /**
-     * Creates a LabelType with the supplied name
-     * @param name the name of the LabelType
-     * @return the created LabelType
+     * Returns the complete name of the given PCM vertex. The name is cached by the referenced element of the vertex for the
+     * current conversion
+     * @param vertex Given PCM vertex
+     * @return String containing the complete name
+     * @see #computeCompleteName(AbstractPCMVertex)
      */
-    private LabelType createLabelType(String name) {
-        LabelType type = datadictionaryFactory.eINSTANCE.createLabelType();
-        type.setEntityName(name);
-        this.dataDictionary.getLabelTypes()
-                .add(type);
-        return type;
+    private String getCompleteName(AbstractPCMVertex<?> vertex) {
+        boolean branching = vertex instanceof SEFFPCMVertex<?> seffVertex && seffVertex.isBranching();
+        NameKey key = new NameKey(vertex.getReferencedElement(), branching);
+        String completeName = completeNameCache.get(key);
+        statistics.recordNameLookup(completeName != null);
+        if (completeName == null) {
+            completeName = computeCompleteName(vertex);
+            completeNameCache.put(key, completeName);
+        }
+        return completeName;
     }
 
     /**
-     * Determines the variable characterizations for a given PCM vertex
+     * Determines the variable characterizations for a given PCM vertex. The characterizations are cached by the variable
+     * usages of the referenced element for the current conversion. Vertices without variable usages are not counted as
+     * cache lookups, as there is nothing to collect
      * @param vertex Given PCM vertex of which the variable characterizations should be found
      * @return Returns a list of variable characterizations of the given vertex
      */
     private List<ConfidentialityVariableCharacterisation> getVariableCharacterizations(AbstractPCMVertex<?> vertex) {
-        if (vertex.getReferencedElement() instanceof SetVariableAction setVariableAction) {
-            return setVariableAction.getLocalVariableUsages_SetVariableAction()
-                    .stream()
+        List<VariableUsage> variableUsages = getVariableUsages(vertex);
+        if (variableUsages.isEmpty()) {
+            return List.of();
+        }
+        List<ConfidentialityVariableCharacterisation> variableCharacterisations = variableCharacterisationCache.get(variableUsages);
+        statistics.recordCharacterisationLookup(variableCharacterisations != null);
+        if (variableCharacterisations == null) {
+            variableCharacterisations = variableUsages.stream()
                     .map(VariableUsage::getVariableCharacterisation_VariableUsage)
                     .flatMap(List::stream)
                     .filter(ConfidentialityVariableCharacterisation.class::isInstance)
                     .map(ConfidentialityVariableCharacterisation.class::cast)
                     .toList();
+            variableCharacterisationCache.put(variableUsages, variableCharacterisations);
+        }
+        return variableCharacterisations;
+    }
+
+    /**
+     * Determines the variable usages of the referenced element of a given PCM vertex
+     * @param vertex Given PCM vertex of which the variable usages should be found
+     * @return Returns the list of variable usages of the given vertex
+     */
+    private List<VariableUsage> getVariableUsages(AbstractPCMVertex<?> vertex) {
+        if (vertex.getReferencedElement() instanceof SetVariableAction setVariableAction) {
+            return setVariableAction.getLocalVariableUsages_SetVariableAction();
         } else if (vertex.getReferencedElement() instanceof ExternalCallAction externalCallAction
                 && vertex instanceof CallingSEFFPCMVertex callingSEFFPCMVertex && callingSEFFPCMVertex.isCalling()) {
-            return externalCallAction.getInputVariableUsages__CallAction()
-                    .stream()
-                    .map(VariableUsage::getVariableCharacterisation_VariableUsage)
-                    .flatMap(List::stream)
-                    .filter(ConfidentialityVariableCharacterisation.class::isInstance)
-                    .map(ConfidentialityVariableCharacterisation.class::cast)
-                    .toList();
+            return externalCallAction.getInputVariableUsages__CallAction();
         } else if (vertex.getReferencedElement() instanceof ExternalCallAction externalCallAction
                 && vertex instanceof CallingSEFFPCMVertex callingSEFFPCMVertex && callingSEFFPCMVertex.isReturning()) {
-            return externalCallAction.getReturnVariableUsage__CallReturnAction()
-                    .stream()
-                    .map(VariableUsage::getVariableCharacterisation_VariableUsage)
-                    .flatMap(List::stream)
-                    .filter(ConfidentialityVariableCharacterisation.class::isInstance)
-                    .map(ConfidentialityVariableCharacterisation.class::cast)
-                    .toList();
+            return externalCallAction.getReturnVariableUsage__CallReturnAction();
         } else if (vertex.getReferencedElement() instanceof EntryLevelSystemCall entryLevelSystemCall
                 && vertex instanceof CallingUserPCMVertex callingUserPCMVertex && callingUserPCMVertex.isCalling()) {
-            return entryLevelSystemCall.getInputParameterUsages_EntryLevelSystemCall()
-                    .stream()
-                    .map(VariableUsage::getVariableCharacterisation_VariableUsage)
-                    .flatMap(List::stream)
-                    .filter(ConfidentialityVariableCharacterisation.class::isInstance)
-                    .map(ConfidentialityVariableCharacterisation.class::cast)
-                    .toList();
+            return entryLevelSystemCall.getInputParameterUsages_EntryLevelSystemCall();
         } else if (vertex.getReferencedElement() instanceof EntryLevelSystemCall entryLevelSystemCall
                 && vertex instanceof CallingUserPCMVertex callingUserPCMVertex && callingUserPCMVertex.isReturning()) {
-            return entryLevelSystemCall.getOutputParameterUsages_EntryLevelSystemCall()
-                    .stream()
-                    .map(VariableUsage::getVariableCharacterisation_VariableUsage)
-                    .flatMap(List::stream)
-                    .filter(ConfidentialityVariableCharacterisation.class::isInstance)
-                    .map(ConfidentialityVariableCharacterisation.class::cast)
-                    .toList();
+            return entryLevelSystemCall.getOutputParameterUsages_EntryLevelSystemCall();
         } else {
             return List.of();
         }
@@ -527,12 +1145,7 @@ public class PCM2DFDConverter extends Converter {
                 .isEmpty()) {
             vertex.getAllOutgoingDataCharacteristics()
                     .forEach(it -> {
-                        Pin outPin = node.getBehavior()
-                                .getOutPin()
-                                .stream()
-                                .filter(pin -> pin.getEntityName()
-                                        .equals(it.getVariableName()))
-                                .findAny()
+                        Pin outPin = findOutPin(node, it.getVariableName())
                                 .orElseThrow();
                         Assignment assignment = datadictionaryFactory.eINSTANCE.createAssignment();
                         assignment.setTerm(datadictionaryFactory.eINSTANCE.createTRUE());
@@ -549,12 +1162,13 @@ public class PCM2DFDConverter extends Converter {
                     });
         }
 
+        Set<String> outgoingVariableNames = vertex.getAllOutgoingDataCharacteristics()
+                .stream()
+                .map(DataCharacteristic::getVariableName)
+                .collect(Collectors.toSet());
         List<DataCharacteristic> dataCharacteristicsForwarded = vertex.getAllIncomingDataCharacteristics()
                 .stream()
-                .filter(it -> vertex.getAllOutgoingDataCharacteristics()
-                        .stream()
-                        .anyMatch(ot -> it.getVariableName()
-                                .equals(ot.getVariableName())))
+                .filter(it -> outgoingVariableNames.contains(it.getVariableName()))
                 .toList();
         for (DataCharacteristic dataCharacteristic : dataCharacteristicsForwarded) {
             assignments.add(this.forwardCharacteristic(node, vertex, dataCharacteristic));
@@ -580,22 +1194,12 @@ public class PCM2DFDConverter extends Converter {
      */
     private AbstractAssignment forwardCharacteristic(Node node, AbstractPCMVertex<?> vertex, DataCharacteristic dataCharacteristic) {
         ForwardingAssignment assignment = datadictionaryFactory.eINSTANCE.createForwardingAssignment();
-        Pin inPin = node.getBehavior()
-                .getInPin()
-                .stream()
-                .filter(it -> it.getEntityName()
-                        .equals(dataCharacteristic.getVariableName()))
-                .findAny()
+        Pin inPin = findInPin(node, dataCharacteristic.getVariableName())
                 .orElseThrow(() -> {
                     logger.error("Cannot find required in-pin " + dataCharacteristic.getVariableName() + " at vertex with name " + vertex);
                     return new NoSuchElementException();
                 });
-        Pin outPin = node.getBehavior()
-                .getOutPin()
-                .stream()
-                .filter(it -> it.getEntityName()
-                        .equals(dataCharacteristic.getVariableName()))
-                .findAny()
+        Pin outPin = findOutPin(node, dataCharacteristic.getVariableName())
                 .orElseThrow(() -> {
                     logger.error("Cannot find required out-pin " + dataCharacteristic.getVariableName() + " at vertex with name " + vertex);
                     return new NoSuchElementException();
@@ -614,22 +1218,12 @@ public class PCM2DFDConverter extends Converter {
      */
     private AbstractAssignment preserveControlFlow(Node node, AbstractPCMVertex<?> vertex) {
         ForwardingAssignment assignment = datadictionaryFactory.eINSTANCE.createForwardingAssignment();
-        Pin inPin = node.getBehavior()
-                .getInPin()
-                .stream()
-                .filter(it -> it.getEntityName()
-                        .isEmpty())
-                .findAny()
+        Pin inPin = findInPin(node, "")
                 .orElseThrow(() -> {
                     logger.error("Cannot find required in-pin with empty name at vertex with name " + vertex);
                     return new NoSuchElementException();
                 });
-        Pin outPin = node.getBehavior()
-                .getOutPin()
-                .stream()
-                .filter(it -> it.getEntityName()
-                        .isEmpty())
-                .findAny()
+        Pin outPin = findOutPin(node, "")
                 .orElseThrow(() -> {
                     logger.error("Cannot find required out-pin with empty name at vertex with name " + vertex);
                     return new NoSuchElementException();
@@ -684,23 +1278,13 @@ public class PCM2DFDConverter extends Converter {
             return datadictionaryFactory.eINSTANCE.createForwardingAssignment();
         }
         ForwardingAssignment assignment = datadictionaryFactory.eINSTANCE.createForwardingAssignment();
-        Pin outPin = node.getBehavior()
-                .getOutPin()
-                .stream()
-                .filter(it -> it.getEntityName()
-                        .equals(reference.getReferenceName()))
-                .findAny()
+        Pin outPin = findOutPin(node, reference.getReferenceName())
                 .orElseThrow();
         assignment.setOutputPin(outPin);
-        Pin inPin = node.getBehavior()
-                .getInPin()
-                .stream()
-                .filter(it -> it.getEntityName()
-                        .equals(namedEnumCharacteristicReference.getNamedReference()
-                                .getReferenceName())
-                        || it.getEntityName()
-                                .isEmpty())
-                .findAny()
+        // Named in-pins are always created before the control flow pins with an empty name
+        Pin inPin = findInPin(node, namedEnumCharacteristicReference.getNamedReference()
+                .getReferenceName())
+                .or(() -> findInPin(node, ""))
                 .orElseThrow();
         assignment.getInputPins()
                 .add(inPin);
@@ -730,15 +1314,10 @@ public class PCM2DFDConverter extends Converter {
             assignment.getOutputLabels()
                     .add(label);
 
-            Pin outPin = node.getBehavior()
-                    .getOutPin()
-                    .stream()
-                    .filter(it -> it.getEntityName()
-                            .equals(reference.getReferenceName()))
-                    .findAny()
+            Pin outPin = findOutPin(node, reference.getReferenceName())
                     .orElseThrow();
             assignment.setOutputPin(outPin);
-            org.dataflowanalysis.dfd.datadictionary.Term term = parseTerm(rightHandSide, dataDictionary, label);
+            org.dataflowanalysis.dfd.datadictionary.Term term = buildTerm(rightHandSide, label);
 
             setPins(assignment, term, rightHandSide, node, behavior);
             assignments.add(assignment);
@@ -749,13 +1328,8 @@ public class PCM2DFDConverter extends Converter {
     private void setPins(Assignment assignment, org.dataflowanalysis.dfd.datadictionary.Term term, Term rightHandSide, Node node, Behavior behavior) {
         assignment.setTerm(term);
         if (rightHandSide instanceof NamedEnumCharacteristicReference namedEnumCharacteristicReference) {
-            Pin inPin = node.getBehavior()
-                    .getInPin()
-                    .stream()
-                    .filter(it -> it.getEntityName()
-                            .equals(namedEnumCharacteristicReference.getNamedReference()
-                                    .getReferenceName()))
-                    .findAny()
+            Pin inPin = findInPin(node, namedEnumCharacteristicReference.getNamedReference()
+                    .getReferenceName())
                     .orElseThrow();
             assignment.getInputPins()
                     .add(inPin);
@@ -784,15 +1358,10 @@ public class PCM2DFDConverter extends Converter {
         assignment.getOutputLabels()
                 .add(label);
 
-        Pin outPin = node.getBehavior()
-                .getOutPin()
-                .stream()
-                .filter(it -> it.getEntityName()
-                        .equals(reference.getReferenceName()))
-                .findAny()
+        Pin outPin = findOutPin(node, reference.getReferenceName())
                 .orElseThrow();
         assignment.setOutputPin(outPin);
-        org.dataflowanalysis.dfd.datadictionary.Term term = parseTerm(rightHandSide, dataDictionary);
+        org.dataflowanalysis.dfd.datadictionary.Term term = buildTerm(rightHandSide, null);
         setPins(assignment, term, rightHandSide, node, behaviour);
         return assignment;
     }
@@ -804,19 +1373,31 @@ public class PCM2DFDConverter extends Converter {
      * @param dataDictionary the Data Dictionary
      */
     public void convertBehavior(AbstractPCMVertex<?> pcmVertex, Node node, DataDictionary dataDictionary) {
+        attachBehavior(node, computeBehavior(pcmVertex, node));
+    }
+
+    /**
+     * Computes the assignments of the given DFD node from the behavior of the PCM vertex without modifying the node
+     * @param pcmVertex the PCM Vertex
+     * @param node the DFD Node
+     * @return Returns the assignments of the DFD node
+     */
+    private List<AbstractAssignment> computeBehavior(AbstractPCMVertex<?> pcmVertex, Node node) {
         List<ConfidentialityVariableCharacterisation> variableCharacterisations = this.getVariableCharacterizations(pcmVertex);
 
         Behavior behaviour = node.getBehavior();
-        List<AbstractAssignment> assignments = this.getAssignments(pcmVertex, node);
+        List<AbstractAssignment> assignments = new ArrayList<>(this.getAssignments(pcmVertex, node));
         for (ConfidentialityVariableCharacterisation variableCharacterization : variableCharacterisations) {
             assignments.addAll(this.processCharacterization(variableCharacterization, behaviour, node, pcmVertex));
         }
-        behaviour.getAssignment()
-                .clear();
-        behaviour.getAssignment()
-                .addAll(assignments);
 
+        Set<Pin> assignedOutPins = compactBehavior ? assignments.stream()
+                .map(AbstractAssignment::getOutputPin)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()) : Set.of();
         behaviour.getOutPin()
+                .stream()
+                .filter(pin -> !assignedOutPins.contains(pin))
                 .forEach(pin -> {
                     Assignment assignment = datadictionaryFactory.eINSTANCE.createAssignment();
                     assignment.setEntityName("Dummy Assignment");
@@ -824,9 +1405,36 @@ public class PCM2DFDConverter extends Converter {
                             .addAll(behaviour.getInPin());
                     assignment.setOutputPin(pin);
                     assignment.setTerm(datadictionaryFactory.eINSTANCE.createTRUE());
-                    behaviour.getAssignment()
-                            .add(assignment);
+                    assignments.add(assignment);
                 });
+        return assignments;
+    }
+
+    /**
+     * Replaces the assignments of the given DFD node with the given assignments
+     * @param node the DFD Node
+     * @param assignments Assignments of the DFD node
+     */
+    private void attachBehavior(Node node, List<AbstractAssignment> assignments) {
+        Behavior behaviour = node.getBehavior();
+        behaviour.getAssignment()
+                .clear();
+        behaviour.getAssignment()
+                .addAll(assignments);
+    }
+
+    /**
+     * Builds the Data Dictionary Term of the given Term object. If terms are cached, the term is copied from the template of
+     * the same PCM term, which avoids parsing the term and looking up its labels again
+     * @param rightHandSide the Term object to convert
+     * @param wildcardLabel Label that is referenced by references without a literal
+     * @return the converted Term
+     */
+    private org.dataflowanalysis.dfd.datadictionary.Term buildTerm(Term rightHandSide, Label wildcardLabel) {
+        if (termTemplates == null) {
+            return parseTerm(rightHandSide, dataDictionary, wildcardLabel);
+        }
+        return termTemplates.get(new TermKey(rightHandSide, wildcardLabel), () -> parseTerm(rightHandSide, dataDictionary, wildcardLabel));
     }
 
     /**
@@ -0,0 +1,306 @@
+package org.dataflowanalysis.converter.pcm2dfd;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.log4j.Logger;
+import org.dataflowanalysis.analysis.pcm.resource.PCMURIResourceProvider;
+import org.dataflowanalysis.converter.dfd2web.DataFlowDiagramAndDictionary;
+import org.dataflowanalysis.converter.util.PathUtils;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * Converts many variants of the same PCM system, each consisting of a usage, allocation and node characteristics model.
+ * <p/>
+ * The session keeps the results of all converted variants for its lifetime. Variants are identified by the contents of
+ * their model files and all model files they reference, so a variant whose models did not change is not analyzed and
+ * converted again, even if it is stored at a different location. Identical variants share the same result instance. The
+ * standalone initialization of the analysis is performed once by the first converted variant, before further variants
+ * are converted in parallel.
+ * <p/>
+ * All models referenced by the variants, like the repository, system and resource environment, are loaded once into a
+ * resource set owned by the session and shared by the analyses of all variants. Only the usage, allocation and node
+ * characteristics model of a variant are loaded for each variant. Shared models must therefore not be changed during the
+ * lifetime of the session
+ */
+public class PCMConversionSession implements AutoCloseable {
+    private static final Logger logger = Logger.getLogger(PCMConversionSession.class);
+    private static final String FILE_EXTENSION_USAGE = ".usagemodel";
+    private static final String FILE_EXTENSION_ALLOCATION = ".allocation";
+    private static final String FILE_EXTENSION_NODE = ".nodecharacteristics";
+
+    private final Map<String, DataFlowDiagramAndDictionary> results = new ConcurrentHashMap<>();
+    private final AtomicInteger convertedVariants = new AtomicInteger();
+    private final AtomicInteger reusedVariants = new AtomicInteger();
+    private final ResourceSet sharedResources = new ResourceSetImpl();
+    private final AtomicInteger sharedResourceLoads = new AtomicInteger();
+    private ExecutorService executorService;
+    private boolean parallel;
+    private boolean compactBehavior;
+    private boolean initialized;
+
+    /**
+     * Describes a single variant of a PCM system
+     * @param usageModelPath Path to the usage model of the variant
+     * @param allocationPath Path to the allocation model of the variant
+     * @param nodeCharPath Path to the node characteristics model of the variant
+     */
+    public record PCMVariant(String usageModelPath, String allocationPath, String nodeCharPath) {
+    }
+
+    /**
+     * Sets whether multiple variants passed to {@link #convertAll(List)} are converted in parallel
+     * @param parallel Determines whether variants are converted in parallel
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Sets whether the variants are converted with compact behavior, see {@link PCM2DFDConverter#setCompactBehavior(boolean)}.
+     * Results that were converted before changing this option are discarded
+     * @param compactBehavior Determines whether the variants are converted with compact behavior
+     */
+    public synchronized void setCompactBehavior(boolean compactBehavior) {
+        if (this.compactBehavior != compactBehavior) {
+            results.clear();
+        }
+        this.compactBehavior = compactBehavior;
+    }
+
+    /**
+     * Converts a single variant of the PCM system
+     * @param usageModelPath Path to the usage model of the variant
+     * @param allocationPath Path to the allocation model of the variant
+     * @param nodeCharPath Path to the node characteristics model of the variant
+     * @return Returns the data flow diagram and dictionary of the variant
+     */
+    public DataFlowDiagramAndDictionary convert(String usageModelPath, String allocationPath, String nodeCharPath) {
+        return convertAll(List.of(new PCMVariant(usageModelPath, allocationPath, nodeCharPath))).get(0);
+    }
+
+    /**
+     * Converts the given variants of the PCM system. Variants that were already converted in this session are not
+     * converted again
+     * @param variants Variants that are converted
+     * @return Returns the data flow diagrams and dictionaries of the variants in the order of the given variants
+     */
+    public synchronized List<DataFlowDiagramAndDictionary> convertAll(List<PCMVariant> variants) {
+        Map<String, PCMVariant> pendingVariants = new LinkedHashMap<>();
+        List<String> keys = new ArrayList<>();
+        for (PCMVariant variant : variants) {
+            PCMVariant normalizedVariant = normalize(variant);
+            String key = PCMSnapshotCache.computeContentHash(normalizedVariant.usageModelPath(), normalizedVariant.allocationPath(),
+                    normalizedVariant.nodeCharPath());
+            keys.add(key);
+            if (results.containsKey(key) || pendingVariants.putIfAbsent(key, normalizedVariant) != null) {
+                reusedVariants.incrementAndGet();
+                logger.debug("Reusing conversion result for usage model " + normalizedVariant.usageModelPath());
+            }
+        }
+
+        List<Map.Entry<String, PCMVariant>> entries = new ArrayList<>(pendingVariants.entrySet());
+        if (!initialized && !entries.isEmpty()) {
+            Map.Entry<String, PCMVariant> firstEntry = entries.remove(0);
+            results.put(firstEntry.getKey(), convertVariant(firstEntry.getValue()));
+            initialized = true;
+        }
+        if (parallel && entries.size() > 1) {
+            convertInParallel(entries);
+        } else {
+            entries.forEach(it -> results.put(it.getKey(), convertVariant(it.getValue())));
+        }
+        return keys.stream()
+                .map(results::get)
+                .toList();
+    }
+
+    /**
+     * Returns the number of variants that were analyzed and converted in this session
+     * @return Returns the number of converted variants
+     */
+    public int getConvertedVariants() {
+        return convertedVariants.get();
+    }
+
+    /**
+     * Returns the number of requested variants that were answered with the result of an identical variant
+     * @return Returns the number of reused variants
+     */
+    public int getReusedVariants() {
+        return reusedVariants.get();
+    }
+
+    /**
+     * Returns the number of models that were loaded into the resource set shared by all variants. Each shared model is
+     * only loaded once per session
+     * @return Returns the number of loaded shared models
+     */
+    public int getSharedResourceLoads() {
+        return sharedResourceLoads.get();
+    }
+
+    /**
+     * Discards all conversion results, unloads the shared models and stops the threads used for parallel conversions
+     */
+    @Override
+    public synchronized void close() {
+        results.clear();
+        synchronized (sharedResources) {
+            sharedResources.getResources()
+                    .forEach(Resource::unload);
+            sharedResources.getResources()
+                    .clear();
+        }
+        if (executorService != null) {
+            executorService.shutdown();
+            executorService = null;
+        }
+    }
+
+    private void convertInParallel(List<Map.Entry<String, PCMVariant>> entries) {
+        if (executorService == null) {
+            executorService = Executors.newFixedThreadPool(Runtime.getRuntime()
+                    .availableProcessors());
+        }
+        Map<String, Future<DataFlowDiagramAndDictionary>> futures = new LinkedHashMap<>();
+        entries.forEach(it -> futures.put(it.getKey(), executorService.submit(() -> convertVariant(it.getValue()))));
+        for (Map.Entry<String, Future<DataFlowDiagramAndDictionary>> future : futures.entrySet()) {
+            try {
+                results.put(future.getKey(), future.getValue()
+                        .get());
+            } catch (InterruptedException e) {
+                Thread.currentThread()
+                        .interrupt();
+                logger.error("Conversion of PCM variants was interrupted");
+                throw new IllegalStateException("Conversion of PCM variants was interrupted", e);
+            } catch (ExecutionException e) {
+                logger.error("Could not convert PCM variant", e.getCause());
+                throw new IllegalArgumentException("Could not convert PCM variant", e.getCause());
+            }
+        }
+    }
+
+    private DataFlowDiagramAndDictionary convertVariant(PCMVariant variant) {
+        logger.info("Converting PCM variant with usage model " + variant.usageModelPath());
+        PCMConverterModel converterModel = new PCMConverterModel(new SharedResourceProvider(variant));
+        PCM2DFDConverter converter = new PCM2DFDConverter();
+        converter.setCompactBehavior(compactBehavior);
+        DataFlowDiagramAndDictionary result = converter.convert(converterModel);
+        convertedVariants.incrementAndGet();
+        return result;
+    }
+
+    /**
+     * Returns the shared model with the given URI and loads it into the shared resource set, if it was not loaded before.
+     * References between shared models are resolved directly, so analyses running in parallel only read shared models
+     * @param uri URI of the shared model
+     * @return Returns the loaded shared model
+     */
+    private Resource getSharedResource(URI uri) {
+        synchronized (sharedResources) {
+            Resource resource = sharedResources.getResource(uri, false);
+            if (resource != null && resource.isLoaded()) {
+                return resource;
+            }
+            int loadedResources = sharedResources.getResources()
+                    .size();
+            resource = sharedResources.getResource(uri, true);
+            EcoreUtil.resolveAll(sharedResources);
+            int newResources = sharedResources.getResources()
+                    .size() - loadedResources;
+            sharedResourceLoads.addAndGet(newResources);
+            logger.debug("Loaded shared model " + uri);
+            return resource;
+        }
+    }
+
+    private PCMVariant normalize(PCMVariant variant) {
+        return new PCMVariant(PathUtils.normalizePathString(variant.usageModelPath(), FILE_EXTENSION_USAGE),
+                PathUtils.normalizePathString(variant.allocationPath(), FILE_EXTENSION_ALLOCATION),
+                PathUtils.normalizePathString(variant.nodeCharPath(), FILE_EXTENSION_NODE));
+    }
+
+    private static URI createFileURI(String path) {
+        return URI.createFileURI(Path.of(path)
+                .toAbsolutePath()
+                .normalize()
+                .toString());
+    }
+
+    /**
+     * Loads the usage, allocation and node characteristics model of a variant into its own resource set, while all other
+     * models are taken from the resource set shared by the session
+     */
+    private class SharedResourceProvider extends PCMURIResourceProvider {
+        private final Set<URI> variantURIs;
+
+        SharedResourceProvider(PCMVariant variant) {
+            this(createFileURI(variant.usageModelPath()), createFileURI(variant.allocationPath()), createFileURI(variant.nodeCharPath()));
+        }
+
+        private SharedResourceProvider(URI usageModelURI, URI allocationURI, URI nodeCharURI) {
+            super(usageModelURI, allocationURI, nodeCharURI);
+            this.variantURIs = Set.of(usageModelURI, allocationURI, nodeCharURI);
+        }
+
+        @Override
+        public void loadRequiredResources() {
+            synchronized (sharedResources) {
+                // The shared resource set needs the factories and URI mappings registered for the analysis
+                sharedResources.getResourceFactoryRegistry()
+                        .getExtensionToFactoryMap()
+                        .putAll(resources.getResourceFactoryRegistry()
+                                .getExtensionToFactoryMap());
+                sharedResources.getResourceFactoryRegistry()
+                        .getProtocolToFactoryMap()
+                        .putAll(resources.getResourceFactoryRegistry()
+                                .getProtocolToFactoryMap());
+                sharedResources.getPackageRegistry()
+                        .putAll(resources.getPackageRegistry());
+                sharedResources.getURIConverter()
+                        .getURIMap()
+                        .putAll(resources.getURIConverter()
+                                .getURIMap());
+            }
+            ((ResourceSetImpl) resources).setURIResourceMap(new SharedResourceMap(variantURIs));
+            super.loadRequiredResources();
+        }
+    }
+
+    /**
+     * Maps the URIs of all models except the models of a variant to the models in the shared resource set
+     */
+    private class SharedResourceMap extends HashMap<URI, Resource> {
+        private static final long serialVersionUID = 1L;
+
+        private final Set<URI> variantURIs;
+
+        SharedResourceMap(Set<URI> variantURIs) {
+            this.variantURIs = variantURIs;
+        }
+
+        @Override
+        public Resource get(Object key) {
+            Resource resource = super.get(key);
+            if (resource == null && key instanceof URI uri && !variantURIs.contains(uri)) {
+                resource = getSharedResource(uri);
+            }
+            return resource;
+        }
+    }
+}
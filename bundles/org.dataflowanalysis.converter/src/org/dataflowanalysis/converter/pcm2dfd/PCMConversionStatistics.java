@@ -0,0 +1,133 @@
+package org.dataflowanalysis.converter.pcm2dfd;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects statistics about a single conversion run of the {@link PCM2DFDConverter}
+ */
+public class PCMConversionStatistics {
+    private int totalVertices;
+    private int distinctVertices;
+    private boolean snapshotCacheHit;
+    private final AtomicInteger nameCacheHits = new AtomicInteger();
+    private final AtomicInteger nameCacheMisses = new AtomicInteger();
+    private final AtomicInteger characterisationCacheHits = new AtomicInteger();
+    private final AtomicInteger characterisationCacheMisses = new AtomicInteger();
+
+    /**
+     * Sets the number of vertex occurrences and distinct vertices that were found in the transpose flow graphs
+     * @param totalVertices Number of vertex occurrences over all transpose flow graphs
+     * @param distinctVertices Number of distinct vertices over all transpose flow graphs
+     */
+    void setVertexCounts(int totalVertices, int distinctVertices) {
+        this.totalVertices = totalVertices;
+        this.distinctVertices = distinctVertices;
+    }
+
+    /**
+     * Sets whether the conversion result was loaded from a snapshot cache
+     * @param snapshotCacheHit Determines whether the result was loaded from a snapshot cache
+     */
+    void setSnapshotCacheHit(boolean snapshotCacheHit) {
+        this.snapshotCacheHit = snapshotCacheHit;
+    }
+
+    /**
+     * Records a lookup of the complete name of a vertex
+     * @param hit Determines whether the name was found in the cache
+     */
+    void recordNameLookup(boolean hit) {
+        (hit ? nameCacheHits : nameCacheMisses).incrementAndGet();
+    }
+
+    /**
+     * Records a lookup of the variable characterisations of a vertex
+     * @param hit Determines whether the variable characterisations were found in the cache
+     */
+    void recordCharacterisationLookup(boolean hit) {
+        (hit ? characterisationCacheHits : characterisationCacheMisses).incrementAndGet();
+    }
+
+    /**
+     * Returns the number of vertex occurrences over all transpose flow graphs
+     * @return Returns the total number of vertex occurrences
+     */
+    public int getTotalVertices() {
+        return totalVertices;
+    }
+
+    /**
+     * Returns the number of distinct vertices that were converted
+     * @return Returns the number of distinct vertices
+     */
+    public int getDistinctVertices() {
+        return distinctVertices;
+    }
+
+    /**
+     * Returns the number of vertex occurrences that were collapsed, as the vertex was already contained in another
+     * transpose flow graph
+     * @return Returns the number of collapsed vertex occurrences
+     */
+    public int getCollapsedVertices() {
+        return totalVertices - distinctVertices;
+    }
+
+    /**
+     * Returns whether the conversion result was loaded from a snapshot cache, in which case no vertices were converted
+     * @return Returns true, if the result was loaded from a snapshot cache
+     */
+    public boolean isSnapshotCacheHit() {
+        return snapshotCacheHit;
+    }
+
+    /**
+     * Returns the number of complete name lookups that were answered by the cache
+     * @return Returns the number of name cache hits
+     */
+    public int getNameCacheHits() {
+        return nameCacheHits.get();
+    }
+
+    /**
+     * Returns the number of complete name lookups that required computing the name
+     * @return Returns the number of name cache misses
+     */
+    public int getNameCacheMisses() {
+        return nameCacheMisses.get();
+    }
+
+    /**
+     * Returns the number of variable characterisation lookups that were answered by the cache
+     * @return Returns the number of characterisation cache hits
+     */
+    public int getCharacterisationCacheHits() {
+        return characterisationCacheHits.get();
+    }
+
+    /**
+     * Returns the number of variable characterisation lookups that required collecting the characterisations
+     * @return Returns the number of characterisation cache misses
+     */
+    public int getCharacterisationCacheMisses() {
+        return characterisationCacheMisses.get();
+    }
+
+    /**
+     * Returns the ratio of name and characterisation lookups that were answered by the caches
+     * @return Returns the cache hit rate between 0 and 1, or 0 if no lookup was made
+     */
+    public double getCacheHitRate() {
+        int hits = getNameCacheHits() + getCharacterisationCacheHits();
+        int lookups = hits + getNameCacheMisses() + getCharacterisationCacheMisses();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return "PCMConversionStatistics [snapshotCacheHit=" + snapshotCacheHit + ", totalVertices=" + totalVertices + ", distinctVertices="
+                + distinctVertices + ", collapsedVertices=" + getCollapsedVertices() + ", nameCacheHits=" + getNameCacheHits() + ", nameCacheMisses="
+                + getNameCacheMisses() + ", characterisationCacheHits=" + getCharacterisationCacheHits() + ", characterisationCacheMisses="
+                + getCharacterisationCacheMisses() + "]";
+    }
+}
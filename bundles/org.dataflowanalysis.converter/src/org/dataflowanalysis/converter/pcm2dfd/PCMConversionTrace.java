@@ -0,0 +1,142 @@
+package org.dataflowanalysis.converter.pcm2dfd;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.dataflowanalysis.analysis.pcm.core.AbstractPCMVertex;
+import org.dataflowanalysis.dfd.datadictionary.AbstractAssignment;
+import org.dataflowanalysis.dfd.datadictionary.Pin;
+import org.dataflowanalysis.dfd.dataflowdiagram.DataFlowDiagram;
+import org.dataflowanalysis.dfd.dataflowdiagram.Flow;
+import org.dataflowanalysis.dfd.dataflowdiagram.Node;
+
+/**
+ * Trace of a conversion run of the {@link PCM2DFDConverter} in incremental mode. It links each converted PCM vertex to the
+ * DFD node created for it and stores the information required to decide whether a node must be rebuilt after the PCM
+ * model was changed
+ */
+public class PCMConversionTrace {
+    private final DataFlowDiagram dataFlowDiagram;
+    private final Map<AbstractPCMVertex<?>, Node> nodes;
+    private final Map<String, String> fingerprints;
+    private final Set<String> rebuiltNodeIds;
+    private final Set<String> removedNodeIds;
+    private final Set<String> touchedNodeIds;
+
+    /**
+     * Creates a new conversion trace
+     * @param dataFlowDiagram Data flow diagram created by the conversion
+     * @param nodes Mapping from converted PCM vertices to their DFD nodes
+     * @param fingerprints Fingerprints of the conversion inputs of each node by node id
+     * @param rebuiltNodeIds Ids of nodes that were created by the conversion
+     * @param removedNodeIds Ids of nodes of the previous result that were removed by the conversion
+     * @param touchedNodeIds Ids of nodes that were created or whose incident flows changed during the conversion
+     */
+    PCMConversionTrace(DataFlowDiagram dataFlowDiagram, Map<AbstractPCMVertex<?>, Node> nodes, Map<String, String> fingerprints,
+            Set<String> rebuiltNodeIds, Set<String> removedNodeIds, Set<String> touchedNodeIds) {
+        this.dataFlowDiagram = dataFlowDiagram;
+        this.nodes = Collections.unmodifiableMap(new IdentityHashMap<>(nodes));
+        this.fingerprints = Collections.unmodifiableMap(fingerprints);
+        this.rebuiltNodeIds = Collections.unmodifiableSet(rebuiltNodeIds);
+        this.removedNodeIds = Collections.unmodifiableSet(removedNodeIds);
+        this.touchedNodeIds = Collections.unmodifiableSet(touchedNodeIds);
+    }
+
+    /**
+     * Returns the DFD node that was created for the given PCM vertex
+     * @param vertex Converted PCM vertex
+     * @return Returns an optional containing the DFD node of the vertex, if the vertex was converted
+     */
+    public Optional<Node> getNode(AbstractPCMVertex<?> vertex) {
+        return Optional.ofNullable(nodes.get(vertex));
+    }
+
+    /**
+     * Returns the in-pins and out-pins of the DFD node that was created for the given PCM vertex
+     * @param vertex Converted PCM vertex
+     * @return Returns the pins of the DFD node of the vertex or an empty list, if the vertex was not converted
+     */
+    public List<Pin> getPins(AbstractPCMVertex<?> vertex) {
+        return getNode(vertex).map(node -> {
+            List<Pin> pins = new ArrayList<>(node.getBehavior()
+                    .getInPin());
+            pins.addAll(node.getBehavior()
+                    .getOutPin());
+            return pins;
+        })
+                .orElse(List.of());
+    }
+
+    /**
+     * Returns the flows that start or end at the DFD node that was created for the given PCM vertex
+     * @param vertex Converted PCM vertex
+     * @return Returns the incident flows of the DFD node of the vertex or an empty list, if the vertex was not converted
+     */
+    public List<Flow> getFlows(AbstractPCMVertex<?> vertex) {
+        Node node = nodes.get(vertex);
+        if (node == null) {
+            return List.of();
+        }
+        return dataFlowDiagram.getFlows()
+                .stream()
+                .filter(it -> it.getSourceNode() == node || it.getDestinationNode() == node)
+                .toList();
+    }
+
+    /**
+     * Returns the assignments of the DFD node that was created for the given PCM vertex
+     * @param vertex Converted PCM vertex
+     * @return Returns the assignments of the DFD node of the vertex or an empty list, if the vertex was not converted
+     */
+    public List<AbstractAssignment> getAssignments(AbstractPCMVertex<?> vertex) {
+        return getNode(vertex).map(node -> List.copyOf(node.getBehavior()
+                .getAssignment()))
+                .orElse(List.of());
+    }
+
+    /**
+     * Returns the PCM vertices contained in the trace
+     * @return Returns the converted PCM vertices
+     */
+    public Set<AbstractPCMVertex<?>> getVertices() {
+        return nodes.keySet();
+    }
+
+    /**
+     * Returns the ids of the nodes that were created by the conversion. For a complete conversion, these are all nodes
+     * @return Returns the ids of the rebuilt nodes
+     */
+    public Set<String> getRebuiltNodeIds() {
+        return rebuiltNodeIds;
+    }
+
+    /**
+     * Returns the ids of the nodes of the previous result that no longer exist after the conversion
+     * @return Returns the ids of the removed nodes
+     */
+    public Set<String> getRemovedNodeIds() {
+        return removedNodeIds;
+    }
+
+    /**
+     * Returns the ids of the nodes that were rebuilt or whose incident flows were replaced. Cached information about all
+     * other nodes remains valid
+     * @return Returns the ids of the touched nodes
+     */
+    public Set<String> getTouchedNodeIds() {
+        return touchedNodeIds;
+    }
+
+    /**
+     * Returns the fingerprint of the conversion inputs of the node with the given id
+     * @param nodeId Id of the node
+     * @return Returns the fingerprint of the node or null, if the trace does not contain the node
+     */
+    String getFingerprint(String nodeId) {
+        return fingerprints.get(nodeId);
+    }
+}
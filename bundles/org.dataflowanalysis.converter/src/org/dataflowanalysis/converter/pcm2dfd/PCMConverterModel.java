@@ -1,8 +1,12 @@
 package org.dataflowanalysis.converter.pcm2dfd;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.Scanner;
 import org.apache.log4j.Level;
 import org.dataflowanalysis.analysis.DataFlowConfidentialityAnalysis;
+import org.dataflowanalysis.analysis.core.AbstractTransposeFlowGraph;
+import org.dataflowanalysis.analysis.core.AbstractVertex;
 import org.dataflowanalysis.analysis.core.FlowGraphCollection;
 import org.dataflowanalysis.analysis.pcm.PCMDataFlowConfidentialityAnalysisBuilder;
 import org.dataflowanalysis.analysis.pcm.resource.PCMURIResourceProvider;
@@ -18,9 +22,33 @@ public class PCMConverterModel extends ConverterModel {
     private static final String FILE_EXTENSION_NODE = ".nodecharacteristics";
 
     private FlowGraphCollection flowGraphCollection;
+    private String usageModelPath;
+    private String allocationPath;
+    private String nodeCharPath;
+    private PCMSnapshotCache snapshotCache;
+    private String snapshotKey;
 
+    /**
+     * Creates a new PCM converter model from a flow graph collection that was already evaluated, for example by a previous
+     * confidentiality analysis. The PCM models are neither loaded nor analyzed again
+     * @param flowGraphCollection Evaluated flow graph collection of the PCM models
+     */
     public PCMConverterModel(FlowGraphCollection flowGraphCollection) {
         super(ModelType.PCM);
+        if (flowGraphCollection == null) {
+            logger.error("Flow graph collection must not be null");
+            throw new IllegalArgumentException("Flow graph collection must not be null");
+        }
+        boolean evaluated = flowGraphCollection.getTransposeFlowGraphs()
+                .stream()
+                .map(AbstractTransposeFlowGraph::getVertices)
+                .flatMap(List::stream)
+                .allMatch(AbstractVertex::isEvaluated);
+        if (!evaluated) {
+            logger.error("Flow graph collection must be evaluated before it is converted");
+            throw new IllegalArgumentException("Flow graph collection is not evaluated");
+        }
+        this.flowGraphCollection = flowGraphCollection;
     }
 
     public PCMConverterModel(String modelLocation, String usageModelPath, String allocationPath, String nodeCharPath,
@@ -36,11 +64,7 @@ public class PCMConverterModel extends ConverterModel {
                 .useAllocationModel(allocationPath)
                 .useNodeCharacteristicsModel(nodeCharPath)
                 .build();
-
-        analysis.setLoggerLevel(Level.TRACE);
-        analysis.initializeAnalysis();
-        this.flowGraphCollection = analysis.findFlowGraphs();
-        this.flowGraphCollection.evaluate();
+        this.flowGraphCollection = findEvaluatedFlowGraphs(analysis);
     }
 
     public PCMConverterModel(String usageModelPath, String allocationPath, String nodeCharPath) {
@@ -48,15 +72,33 @@ public class PCMConverterModel extends ConverterModel {
         usageModelPath = PathUtils.normalizePathString(usageModelPath, FILE_EXTENSION_USAGE);
         allocationPath = PathUtils.normalizePathString(allocationPath, FILE_EXTENSION_ALLOCATION);
         nodeCharPath = PathUtils.normalizePathString(nodeCharPath, FILE_EXTENSION_NODE);
-        DataFlowConfidentialityAnalysis analysis = new PCMDataFlowConfidentialityAnalysisBuilder().standalone()
-                .useCustomResourceProvider(new PCMURIResourceProvider(URI.createFileURI(usageModelPath), URI.createFileURI(allocationPath),
-                        URI.createFileURI(nodeCharPath)))
-                .build();
+        this.flowGraphCollection = findEvaluatedFlowGraphs(createAnalysis(usageModelPath, allocationPath, nodeCharPath));
+    }
 
-        analysis.setLoggerLevel(Level.TRACE);
-        analysis.initializeAnalysis();
-        this.flowGraphCollection = analysis.findFlowGraphs();
-        this.flowGraphCollection.evaluate();
+    /**
+     * Creates a new PCM converter model from the given model files that uses the given snapshot cache. The data flow
+     * analysis of the PCM models is only run, if the conversion result is not already contained in the cache
+     * @param usageModelPath Path to the usage model
+     * @param allocationPath Path to the allocation model
+     * @param nodeCharPath Path to the node characteristics model
+     * @param snapshotCache Snapshot cache that stores the conversion results
+     */
+    public PCMConverterModel(String usageModelPath, String allocationPath, String nodeCharPath, PCMSnapshotCache snapshotCache) {
+        super(ModelType.PCM);
+        this.usageModelPath = PathUtils.normalizePathString(usageModelPath, FILE_EXTENSION_USAGE);
+        this.allocationPath = PathUtils.normalizePathString(allocationPath, FILE_EXTENSION_ALLOCATION);
+        this.nodeCharPath = PathUtils.normalizePathString(nodeCharPath, FILE_EXTENSION_NODE);
+        this.snapshotCache = snapshotCache;
+        this.snapshotKey = snapshotCache.computeKey(this.usageModelPath, this.allocationPath, this.nodeCharPath);
+    }
+
+    /**
+     * Creates a new PCM converter model from the PCM models loaded by the given resource provider
+     * @param resourceProvider Resource provider that loads the usage, allocation and node characteristics model
+     */
+    PCMConverterModel(PCMURIResourceProvider resourceProvider) {
+        super(ModelType.PCM);
+        this.flowGraphCollection = findEvaluatedFlowGraphs(createAnalysis(resourceProvider));
     }
 
     public PCMConverterModel(Scanner scanner) {
@@ -66,18 +108,70 @@ public class PCMConverterModel extends ConverterModel {
         String allocationPath = this.getFilePath(scanner, FILE_EXTENSION_ALLOCATION);
         String nodeCharPath = this.getFilePath(scanner, FILE_EXTENSION_NODE);
 
-        DataFlowConfidentialityAnalysis analysis = new PCMDataFlowConfidentialityAnalysisBuilder().standalone()
-                .useCustomResourceProvider(new PCMURIResourceProvider(URI.createFileURI(usageModelPath), URI.createFileURI(allocationPath),
-                        URI.createFileURI(nodeCharPath)))
+        this.flowGraphCollection = findEvaluatedFlowGraphs(createAnalysis(usageModelPath, allocationPath, nodeCharPath));
+    }
+
+    /**
+     * Returns the evaluated flow graph collection of the PCM models. If the converter model uses a snapshot cache, the data
+     * flow analysis is run on the first call
+     * @return Returns the evaluated flow graph collection
+     */
+    public FlowGraphCollection getFlowGraphCollection() {
+        if (flowGraphCollection == null && snapshotCache != null) {
+            this.flowGraphCollection = findEvaluatedFlowGraphs(createAnalysis(usageModelPath, allocationPath, nodeCharPath));
+        }
+        return flowGraphCollection;
+    }
+
+    /**
+     * Returns the snapshot cache used by the converter model
+     * @return Returns an optional containing the snapshot cache, if the converter model uses one
+     */
+    public Optional<PCMSnapshotCache> getSnapshotCache() {
+        return Optional.ofNullable(snapshotCache);
+    }
+
+    /**
+     * Returns the key of the PCM models in the snapshot cache
+     * @return Returns the snapshot key or null, if the converter model does not use a snapshot cache
+     */
+    public String getSnapshotKey() {
+        return snapshotKey;
+    }
+
+    /**
+     * Creates a data flow analysis of the PCM models stored in the given files
+     * @param usageModelPath Path to the usage model
+     * @param allocationPath Path to the allocation model
+     * @param nodeCharPath Path to the node characteristics model
+     * @return Returns the created analysis, which is not yet initialized
+     */
+    private static DataFlowConfidentialityAnalysis createAnalysis(String usageModelPath, String allocationPath, String nodeCharPath) {
+        return createAnalysis(new PCMURIResourceProvider(URI.createFileURI(usageModelPath), URI.createFileURI(allocationPath),
+                URI.createFileURI(nodeCharPath)));
+    }
+
+    /**
+     * Creates a data flow analysis of the PCM models loaded by the given resource provider
+     * @param resourceProvider Resource provider that loads the PCM models
+     * @return Returns the created analysis, which is not yet initialized
+     */
+    private static DataFlowConfidentialityAnalysis createAnalysis(PCMURIResourceProvider resourceProvider) {
+        return new PCMDataFlowConfidentialityAnalysisBuilder().standalone()
+                .useCustomResourceProvider(resourceProvider)
                 .build();
+    }
 
+    /**
+     * Initializes the given analysis and finds and evaluates its flow graphs
+     * @param analysis Data flow analysis of the PCM models
+     * @return Returns the evaluated flow graph collection
+     */
+    private static FlowGraphCollection findEvaluatedFlowGraphs(DataFlowConfidentialityAnalysis analysis) {
         analysis.setLoggerLevel(Level.TRACE);
         analysis.initializeAnalysis();
-        this.flowGraphCollection = analysis.findFlowGraphs();
-        this.flowGraphCollection.evaluate();
-    }
-
-    public FlowGraphCollection getFlowGraphCollection() {
+        FlowGraphCollection flowGraphCollection = analysis.findFlowGraphs();
+        flowGraphCollection.evaluate();
         return flowGraphCollection;
     }
 }
@@ -0,0 +1,169 @@
+package org.dataflowanalysis.converter.pcm2dfd;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.log4j.Logger;
+import org.dataflowanalysis.converter.dfd2web.DataFlowDiagramAndDictionary;
+import org.eclipse.emf.common.util.URI;
+
+/**
+ * Persists the results of PCM conversions on disk, so that converting an unchanged PCM model again requires neither the
+ * data flow analysis nor the conversion.
+ * <p/>
+ * Results are keyed by a content hash of the usage, allocation and node characteristics models together with all model
+ * files they reference transitively. Changing any of these files results in a different key
+ */
+public class PCMSnapshotCache {
+    private static final Logger logger = Logger.getLogger(PCMSnapshotCache.class);
+    private static final String FORMAT_VERSION = "1";
+    private static final String FILE_EXTENSION_DFD = ".dataflowdiagram";
+    private static final String FILE_EXTENSION_DD = ".datadictionary";
+    private static final Pattern HREF_PATTERN = Pattern.compile("href=\"([^\"#]*)#");
+
+    private final Path cacheDirectory;
+
+    /**
+     * Creates a new snapshot cache that stores its entries in the given directory
+     * @param cacheDirectory Directory the cache entries are stored in. It is created, if it does not exist
+     */
+    public PCMSnapshotCache(Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory.toAbsolutePath()
+                .normalize();
+    }
+
+    /**
+     * Computes the cache key for the given PCM model files
+     * @param usageModelPath Path to the usage model
+     * @param allocationPath Path to the allocation model
+     * @param nodeCharPath Path to the node characteristics model
+     * @return Returns the cache key of the given model files
+     */
+    public String computeKey(String usageModelPath, String allocationPath, String nodeCharPath) {
+        return computeContentHash(usageModelPath, allocationPath, nodeCharPath);
+    }
+
+    /**
+     * Computes a hash over the contents of the given PCM model files and all model files they reference transitively
+     * @param usageModelPath Path to the usage model
+     * @param allocationPath Path to the allocation model
+     * @param nodeCharPath Path to the node characteristics model
+     * @return Returns the hexadecimal content hash of the given model files
+     * @throws IllegalArgumentException Thrown, if one of the model files or a referenced model file cannot be read
+     */
+    static String computeContentHash(String usageModelPath, String allocationPath, String nodeCharPath) {
+        MessageDigest digest = createDigest();
+        digest.update(FORMAT_VERSION.getBytes(StandardCharsets.UTF_8));
+
+        Set<Path> visitedFiles = new LinkedHashSet<>();
+        Deque<Path> pendingFiles = new ArrayDeque<>();
+        for (String path : List.of(usageModelPath, allocationPath, nodeCharPath)) {
+            pendingFiles.add(Path.of(path)
+                    .toAbsolutePath()
+                    .normalize());
+        }
+        while (!pendingFiles.isEmpty()) {
+            Path file = pendingFiles.poll();
+            if (!visitedFiles.add(file)) {
+                continue;
+            }
+            byte[] content = readFile(file);
+            digest.update(file.getFileName()
+                    .toString()
+                    .getBytes(StandardCharsets.UTF_8));
+            digest.update(content);
+
+            Matcher matcher = HREF_PATTERN.matcher(new String(content, StandardCharsets.UTF_8));
+            while (matcher.find()) {
+                String reference = matcher.group(1);
+                if (reference.isEmpty()) {
+                    continue;
+                }
+                if (reference.contains(":") && !reference.startsWith("file:")) {
+                    // Platform and pathmap references are not resolved against the file system
+                    digest.update(reference.getBytes(StandardCharsets.UTF_8));
+                    continue;
+                }
+                String decodedReference = URI.decode(reference);
+                Path referencedFile = decodedReference.startsWith("file:") ? Path.of(decodedReference.substring("file:".length()))
+                        : file.resolveSibling(decodedReference);
+                if (!Files.isRegularFile(referencedFile)) {
+                    // Leaving the file out of the key could serve a stale snapshot once the file exists again
+                    logger.error("Could not find model file " + referencedFile + " referenced by " + file);
+                    throw new IllegalArgumentException("Could not find referenced model file " + referencedFile);
+                }
+                pendingFiles.add(referencedFile.toAbsolutePath()
+                        .normalize());
+            }
+        }
+        return HexFormat.of()
+                .formatHex(digest.digest());
+    }
+
+    /**
+     * Loads the conversion result stored with the given key
+     * @param key Key of the cache entry
+     * @return Returns an optional containing the stored data flow diagram and dictionary, if the entry exists
+     */
+    public Optional<DataFlowDiagramAndDictionary> load(String key) {
+        Path dataFlowDiagramPath = cacheDirectory.resolve(key + FILE_EXTENSION_DFD);
+        Path dataDictionaryPath = cacheDirectory.resolve(key + FILE_EXTENSION_DD);
+        if (!Files.isRegularFile(dataFlowDiagramPath) || !Files.isRegularFile(dataDictionaryPath)) {
+            return Optional.empty();
+        }
+        logger.debug("Loading cached conversion result " + key);
+        return Optional.of(new DataFlowDiagramAndDictionary(dataFlowDiagramPath.toString(), dataDictionaryPath.toString()));
+    }
+
+    /**
+     * Stores the given conversion result with the given key. Failing to write the cache entry is logged, but does not
+     * interrupt the conversion
+     * @param key Key of the cache entry
+     * @param dataFlowDiagramAndDictionary Conversion result that is stored
+     */
+    public void store(String key, DataFlowDiagramAndDictionary dataFlowDiagramAndDictionary) {
+        try {
+            Files.createDirectories(cacheDirectory);
+            dataFlowDiagramAndDictionary.save(cacheDirectory.toString(), key);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Could not store conversion result in cache directory " + cacheDirectory, e);
+        }
+    }
+
+    /**
+     * Returns the directory the cache entries are stored in
+     * @return Returns the cache directory
+     */
+    public Path getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    private static byte[] readFile(Path file) {
+        try {
+            return Files.readAllBytes(file);
+        } catch (IOException e) {
+            logger.error("Could not read model file " + file);
+            throw new IllegalArgumentException("Could not read model file " + file, e);
+        }
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+}
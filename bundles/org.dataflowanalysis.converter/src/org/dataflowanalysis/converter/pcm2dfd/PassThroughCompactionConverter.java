@@ -0,0 +1,206 @@
+package org.dataflowanalysis.converter.pcm2dfd;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.dataflowanalysis.converter.Converter;
+import org.dataflowanalysis.converter.ConverterModel;
+import org.dataflowanalysis.converter.dfd2web.DataFlowDiagramAndDictionary;
+import org.dataflowanalysis.dfd.datadictionary.AbstractAssignment;
+import org.dataflowanalysis.dfd.datadictionary.Assignment;
+import org.dataflowanalysis.dfd.datadictionary.Behavior;
+import org.dataflowanalysis.dfd.datadictionary.DataDictionary;
+import org.dataflowanalysis.dfd.datadictionary.ForwardingAssignment;
+import org.dataflowanalysis.dfd.datadictionary.Pin;
+import org.dataflowanalysis.dfd.datadictionary.TRUE;
+import org.dataflowanalysis.dfd.dataflowdiagram.DataFlowDiagram;
+import org.dataflowanalysis.dfd.dataflowdiagram.Flow;
+import org.dataflowanalysis.dfd.dataflowdiagram.Node;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * Removes pure forwarding nodes from a {@link DataFlowDiagramAndDictionary}, as they are created for example by start
+ * and stop actions of PCM SEFFs.
+ * <p/>
+ * A node is a pure forwarding node, if it has no properties, all its in-pins receive data from a single predecessor node
+ * and every out-pin with outgoing flows forwards exactly one in-pin without assigning labels. Such a node is merged into
+ * its predecessor by letting its outgoing flows start at the pins that fed the forwarded in-pins. The labels arriving at
+ * all remaining nodes are therefore unchanged. The input model is not modified
+ */
+public class PassThroughCompactionConverter extends Converter {
+    private final Map<String, List<String>> traceMap = new LinkedHashMap<>();
+
+    private Map<Node, List<Flow>> incomingFlows;
+    private Map<Node, List<Flow>> outgoingFlows;
+
+    @Override
+    public DataFlowDiagramAndDictionary convert(ConverterModel input) {
+        Optional<DataFlowDiagramAndDictionary> dataFlowDiagramAndDictionary = input.toType(DataFlowDiagramAndDictionary.class);
+        if (dataFlowDiagramAndDictionary.isEmpty()) {
+            logger.error("Expected DataFlowDiagramAndDictionary, but got: " + input.getClass()
+                    .getSimpleName());
+            throw new IllegalArgumentException("Invalid input for Model Conversion");
+        }
+        return compact(dataFlowDiagramAndDictionary.get());
+    }
+
+    /**
+     * Returns the trace of the last compaction. It maps the id of every node in the compacted data flow diagram to the ids
+     * of the original nodes it represents, starting with its own id
+     * @return Returns the trace map of the last compaction
+     */
+    public Map<String, List<String>> getTraceMap() {
+        return Collections.unmodifiableMap(traceMap);
+    }
+
+    private DataFlowDiagramAndDictionary compact(DataFlowDiagramAndDictionary input) {
+        EcoreUtil.Copier copier = new EcoreUtil.Copier();
+        DataFlowDiagram dataFlowDiagram = (DataFlowDiagram) copier.copy(input.dataFlowDiagram());
+        DataDictionary dataDictionary = (DataDictionary) copier.copy(input.dataDictionary());
+        copier.copyReferences();
+
+        traceMap.clear();
+        incomingFlows = new HashMap<>();
+        outgoingFlows = new HashMap<>();
+        for (Node node : dataFlowDiagram.getNodes()) {
+            incomingFlows.put(node, new ArrayList<>());
+            outgoingFlows.put(node, new ArrayList<>());
+            traceMap.put(node.getId(), new ArrayList<>(List.of(node.getId())));
+        }
+        for (Flow flow : dataFlowDiagram.getFlows()) {
+            outgoingFlows.get(flow.getSourceNode())
+                    .add(flow);
+            incomingFlows.get(flow.getDestinationNode())
+                    .add(flow);
+        }
+
+        Set<Node> removedNodes = new HashSet<>();
+        Set<Flow> removedFlows = new HashSet<>();
+        Deque<Node> worklist = new ArrayDeque<>(dataFlowDiagram.getNodes());
+        Set<Node> queuedNodes = new HashSet<>(worklist);
+        while (!worklist.isEmpty()) {
+            Node node = worklist.poll();
+            queuedNodes.remove(node);
+            if (removedNodes.contains(node)) {
+                continue;
+            }
+            Optional<Map<Pin, Pin>> sourcePins = findForwardedSourcePins(node);
+            if (sourcePins.isEmpty()) {
+                continue;
+            }
+            Node predecessor = incomingFlows.get(node)
+                    .get(0)
+                    .getSourceNode();
+            for (Flow flow : outgoingFlows.get(node)) {
+                flow.setSourcePin(sourcePins.get()
+                        .get(flow.getSourcePin()));
+                flow.setSourceNode(predecessor);
+                outgoingFlows.get(predecessor)
+                        .add(flow);
+                if (queuedNodes.add(flow.getDestinationNode())) {
+                    worklist.add(flow.getDestinationNode());
+                }
+            }
+            outgoingFlows.get(predecessor)
+                    .removeAll(incomingFlows.get(node));
+            removedFlows.addAll(incomingFlows.get(node));
+            removedNodes.add(node);
+
+            List<String> mergedIds = traceMap.remove(node.getId());
+            traceMap.get(predecessor.getId())
+                    .addAll(mergedIds);
+            logger.debug("Merged pure forwarding node " + node.getEntityName() + " into " + predecessor.getEntityName());
+        }
+
+        Set<Behavior> removedBehaviors = new HashSet<>();
+        removedNodes.forEach(it -> removedBehaviors.add(it.getBehavior()));
+        dataFlowDiagram.getFlows()
+                .removeAll(removedFlows);
+        dataFlowDiagram.getNodes()
+                .removeAll(removedNodes);
+        dataDictionary.getBehavior()
+                .removeAll(removedBehaviors);
+        return new DataFlowDiagramAndDictionary(dataFlowDiagram, dataDictionary);
+    }
+
+    /**
+     * Determines whether the given node is a pure forwarding node and maps each of its out-pins with outgoing flows to the
+     * pin of the predecessor node that provides the forwarded data
+     * @param node Node that is checked
+     * @return Returns an optional containing the mapping from out-pins to source pins, if the node is a pure forwarding
+     * node
+     */
+    private Optional<Map<Pin, Pin>> findForwardedSourcePins(Node node) {
+        List<Flow> incoming = incomingFlows.get(node);
+        List<Flow> outgoing = outgoingFlows.get(node);
+        if (!node.getProperties()
+                .isEmpty() || incoming.isEmpty() || outgoing.isEmpty()) {
+            return Optional.empty();
+        }
+        Node predecessor = incoming.get(0)
+                .getSourceNode();
+        if (predecessor == node) {
+            return Optional.empty();
+        }
+        Map<Pin, Pin> inPinSources = new HashMap<>();
+        for (Flow flow : incoming) {
+            if (flow.getSourceNode() != predecessor) {
+                return Optional.empty();
+            }
+            Pin previousSource = inPinSources.putIfAbsent(flow.getDestinationPin(), flow.getSourcePin());
+            if (previousSource != null && previousSource != flow.getSourcePin()) {
+                return Optional.empty();
+            }
+        }
+
+        Set<Pin> usedOutPins = new LinkedHashSet<>();
+        outgoing.forEach(it -> usedOutPins.add(it.getSourcePin()));
+        Map<Pin, Pin> outPinSources = new HashMap<>();
+        for (Pin outPin : usedOutPins) {
+            Optional<Pin> forwardedInPin = findForwardedInPin(node.getBehavior(), outPin);
+            if (forwardedInPin.isEmpty() || !inPinSources.containsKey(forwardedInPin.get())) {
+                return Optional.empty();
+            }
+            outPinSources.put(outPin, inPinSources.get(forwardedInPin.get()));
+        }
+        return Optional.of(outPinSources);
+    }
+
+    /**
+     * Finds the single in-pin that is forwarded to the given out-pin. Assignments that do not assign any labels are
+     * ignored, as they do not influence the labels at the out-pin
+     * @param behavior Behavior of the node containing the out-pin
+     * @param outPin Out-pin whose assignments are checked
+     * @return Returns an optional containing the forwarded in-pin, if the out-pin only forwards a single in-pin
+     */
+    private Optional<Pin> findForwardedInPin(Behavior behavior, Pin outPin) {
+        Pin forwardedInPin = null;
+        for (AbstractAssignment abstractAssignment : behavior.getAssignment()) {
+            if (abstractAssignment.getOutputPin() != outPin) {
+                continue;
+            }
+            if (abstractAssignment instanceof ForwardingAssignment forwardingAssignment && forwardingAssignment.getInputPins()
+                    .size() == 1) {
+                Pin inPin = forwardingAssignment.getInputPins()
+                        .get(0);
+                if (forwardedInPin != null && forwardedInPin != inPin) {
+                    return Optional.empty();
+                }
+                forwardedInPin = inPin;
+            } else if (!(abstractAssignment instanceof Assignment assignment && assignment.getOutputLabels()
+                    .isEmpty() && assignment.getTerm() instanceof TRUE)) {
+                return Optional.empty();
+            }
+        }
+        return Optional.ofNullable(forwardedInPin);
+    }
+}
@@ -0,0 +1,111 @@
+package org.dataflowanalysis.converter.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.dataflowanalysis.dfd.datadictionary.Pin;
+import org.dataflowanalysis.dfd.dataflowdiagram.DataFlowDiagram;
+import org.dataflowanalysis.dfd.dataflowdiagram.Flow;
+import org.dataflowanalysis.dfd.dataflowdiagram.Node;
+
+/**
+ * Indexes the flows of a {@link DataFlowDiagram} by their destination node and destination pin, so the incoming flows of
+ * a node or pin can be found without iterating over all flows of the diagram.
+ * <p/>
+ * Flow names are determined by a name function that is evaluated lazily on the first access to the names of a pin. The
+ * index reflects the flows of the diagram at the time of its creation and is not thread-safe
+ */
+public class IncomingFlowIndex {
+    private final Function<Flow, String> flowNameFunction;
+    private final Map<Node, List<Flow>> flowsByDestinationNode = new HashMap<>();
+    private final Map<Node, Map<Pin, List<Flow>>> flowsByDestinationPin = new HashMap<>();
+    private final Map<Pin, List<Flow>> flowsByPin = new HashMap<>();
+    private final Map<Pin, List<String>> flowNames = new HashMap<>();
+    private final Map<Pin, List<String>> sortedFlowNames = new HashMap<>();
+    private final Map<Pin, Set<String>> flowNameSets = new HashMap<>();
+
+    /**
+     * Creates a new index of the incoming flows of the given data flow diagram, which are named by their entity name
+     * @param dataFlowDiagram Data flow diagram whose flows are indexed
+     */
+    public IncomingFlowIndex(DataFlowDiagram dataFlowDiagram) {
+        this(dataFlowDiagram, Flow::getEntityName);
+    }
+
+    /**
+     * Creates a new index of the incoming flows of the given data flow diagram
+     * @param dataFlowDiagram Data flow diagram whose flows are indexed
+     * @param flowNameFunction Function that determines the name of a flow
+     */
+    public IncomingFlowIndex(DataFlowDiagram dataFlowDiagram, Function<Flow, String> flowNameFunction) {
+        this.flowNameFunction = flowNameFunction;
+        for (Flow flow : dataFlowDiagram.getFlows()) {
+            flowsByDestinationNode.computeIfAbsent(flow.getDestinationNode(), it -> new ArrayList<>())
+                    .add(flow);
+            List<Flow> pinFlows = flowsByPin.computeIfAbsent(flow.getDestinationPin(), it -> new ArrayList<>());
+            pinFlows.add(flow);
+            flowsByDestinationPin.computeIfAbsent(flow.getDestinationNode(), it -> new LinkedHashMap<>())
+                    .putIfAbsent(flow.getDestinationPin(), pinFlows);
+        }
+    }
+
+    /**
+     * Returns the flows ending at the given node in the order of the data flow diagram
+     * @param node Destination node of the flows
+     * @return Returns the incoming flows of the node
+     */
+    public List<Flow> getIncomingFlows(Node node) {
+        return flowsByDestinationNode.getOrDefault(node, List.of());
+    }
+
+    /**
+     * Returns the pins of the given node that are the destination of at least one flow, in the order of their first
+     * incoming flow
+     * @param node Destination node of the flows
+     * @return Returns the connected in-pins of the node
+     */
+    public Set<Pin> getConnectedInPins(Node node) {
+        return flowsByDestinationPin.getOrDefault(node, Map.of())
+                .keySet();
+    }
+
+    /**
+     * Returns the names of the flows ending at the given pin in the order of the data flow diagram
+     * @param pin Destination pin of the flows
+     * @return Returns the names of the incoming flows of the pin
+     */
+    public List<String> getFlowNames(Pin pin) {
+        return flowNames.computeIfAbsent(pin, it -> getFlowsAtPin(it).stream()
+                .map(flowNameFunction)
+                .toList());
+    }
+
+    /**
+     * Returns the sorted names of the flows ending at the given pin
+     * @param pin Destination pin of the flows
+     * @return Returns the sorted names of the incoming flows of the pin
+     */
+    public List<String> getSortedFlowNames(Pin pin) {
+        return sortedFlowNames.computeIfAbsent(pin, it -> getFlowNames(it).stream()
+                .sorted()
+                .toList());
+    }
+
+    /**
+     * Returns the set of names of the flows ending at the given pin
+     * @param pin Destination pin of the flows
+     * @return Returns the set of names of the incoming flows of the pin
+     */
+    public Set<String> getFlowNameSet(Pin pin) {
+        return flowNameSets.computeIfAbsent(pin, it -> new HashSet<>(getFlowNames(it)));
+    }
+
+    private List<Flow> getFlowsAtPin(Pin pin) {
+        return flowsByPin.getOrDefault(pin, List.of());
+    }
+}
@@ -0,0 +1,338 @@
+package org.dataflowanalysis.converter.util;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.dataflowanalysis.dfd.datadictionary.DataDictionary;
+import org.dataflowanalysis.dfd.datadictionary.Label;
+import org.dataflowanalysis.dfd.datadictionary.LabelType;
+import org.dataflowanalysis.dfd.datadictionary.datadictionaryFactory;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+
+/**
+ * Provides constant time lookup and creation of labels and label types of a {@link DataDictionary}.
+ * <p/>
+ * Labels are indexed by the name of their label type and their own name as well as by their id. On the first lookup, the
+ * registry starts observing the bound data dictionary, so label types and labels that are added to the dictionary
+ * directly are found as well. The observers are removed with {@link #close()}, which should be called once the
+ * registry is no longer needed. Lookup and creation through the registry are thread-safe. Lookups read concurrent maps
+ * without locking, while creation and changes of the index are synchronized
+ */
+public class LabelRegistry implements AutoCloseable {
+    private final datadictionaryFactory ddFactory = datadictionaryFactory.eINSTANCE;
+    private final DataDictionary dataDictionary;
+    private final Supplier<String> idSupplier;
+    private final DictionaryObserver observer = new DictionaryObserver();
+
+    private volatile Index index;
+    private boolean closed = false;
+
+    /**
+     * Creates a new label registry bound to the given data dictionary. Created elements keep the identifiers generated by
+     * the metamodel
+     * @param dataDictionary Data dictionary that contains the label types and labels
+     */
+    public LabelRegistry(DataDictionary dataDictionary) {
+        this(dataDictionary, null);
+    }
+
+    /**
+     * Creates a new label registry bound to the given data dictionary
+     * @param dataDictionary Data dictionary that contains the label types and labels
+     * @param idSupplier Supplier for the identifiers of created label types and labels. If it is null, the identifiers
+     * generated by the metamodel are kept
+     */
+    public LabelRegistry(DataDictionary dataDictionary, Supplier<String> idSupplier) {
+        this.dataDictionary = dataDictionary;
+        this.idSupplier = idSupplier;
+    }
+
+    /**
+     * Returns the data dictionary the registry is bound to
+     * @return Returns the bound data dictionary
+     */
+    public DataDictionary getDataDictionary() {
+        return dataDictionary;
+    }
+
+    /**
+     * Finds the first label type with the given name
+     * @param typeName Name of the label type
+     * @return Returns an optional containing the label type, if it exists
+     */
+    public Optional<LabelType> getLabelType(String typeName) {
+        return Optional.ofNullable(typeName == null ? null : getIndex().labelTypesByName.get(typeName));
+    }
+
+    /**
+     * Finds the label type with the given id
+     * @param id Id of the label type
+     * @return Returns an optional containing the label type, if it exists
+     */
+    public Optional<LabelType> getLabelTypeById(String id) {
+        return Optional.ofNullable(id == null ? null : getIndex().labelTypesById.get(id));
+    }
+
+    /**
+     * Finds the first label with the given name that is contained in a label type with the given name
+     * @param typeName Name of the label type
+     * @param valueName Name of the label
+     * @return Returns an optional containing the label, if it exists
+     */
+    public Optional<Label> getLabel(String typeName, String valueName) {
+        if (typeName == null || valueName == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(getIndex().labelsByName.getOrDefault(typeName, Map.of())
+                .get(valueName));
+    }
+
+    /**
+     * Finds the label with the given id
+     * @param id Id of the label
+     * @return Returns an optional containing the label, if it exists
+     */
+    public Optional<Label> getLabelById(String id) {
+        return Optional.ofNullable(id == null ? null : getIndex().labelsById.get(id));
+    }
+
+    /**
+     * Returns the label type with the given name or creates it in the data dictionary, if it does not exist
+     * @param typeName Name of the label type
+     * @return Returns the existing or created label type
+     */
+    public synchronized LabelType getOrCreateLabelType(String typeName) {
+        return getLabelType(typeName).orElseGet(() -> {
+            LabelType labelType = ddFactory.createLabelType();
+            labelType.setEntityName(typeName);
+            if (idSupplier != null) {
+                labelType.setId(idSupplier.get());
+            }
+            dataDictionary.getLabelTypes()
+                    .add(labelType);
+            indexLabelType(getIndex(), labelType);
+            return labelType;
+        });
+    }
+
+    /**
+     * Returns the label with the given name in the given label type or creates it, if it does not exist
+     * @param labelType Label type that contains the label
+     * @param valueName Name of the label
+     * @return Returns the existing or created label
+     */
+    public synchronized Label getOrCreateLabel(LabelType labelType, String valueName) {
+        Label existing = valueName == null ? null
+                : getIndex().labelsByType.getOrDefault(labelType, Map.of())
+                        .get(valueName);
+        if (existing != null) {
+            return existing;
+        }
+        Label label = ddFactory.createLabel();
+        label.setEntityName(valueName);
+        if (idSupplier != null) {
+            label.setId(idSupplier.get());
+        }
+        labelType.getLabel()
+                .add(label);
+        indexLabel(getIndex(), labelType, label);
+        return label;
+    }
+
+    /**
+     * Returns the label with the given type and value name or creates the label type and label, if they do not exist
+     * @param typeName Name of the label type
+     * @param valueName Name of the label
+     * @return Returns the existing or created label
+     */
+    public synchronized Label getOrCreateLabel(String typeName, String valueName) {
+        return getLabel(typeName, valueName).orElseGet(() -> getOrCreateLabel(getOrCreateLabelType(typeName), valueName));
+    }
+
+    /**
+     * Removes the observers from the data dictionary and its label types and labels. Afterwards, changes of the data
+     * dictionary that are not made through the registry are no longer tracked
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (dataDictionary != null) {
+            dataDictionary.eAdapters()
+                    .remove(observer);
+            for (LabelType labelType : dataDictionary.getLabelTypes()) {
+                labelType.eAdapters()
+                        .remove(observer);
+                labelType.getLabel()
+                        .forEach(label -> label.eAdapters()
+                                .remove(observer));
+            }
+        }
+        // Label types and labels that were removed from the dictionary may still be observed
+        Index current = index;
+        if (current == null) {
+            return;
+        }
+        current.labelsByType.forEach((labelType, labels) -> {
+            labelType.eAdapters()
+                    .remove(observer);
+            labels.values()
+                    .forEach(label -> label.eAdapters()
+                            .remove(observer));
+        });
+        current.labelsById.values()
+                .forEach(label -> label.eAdapters()
+                        .remove(observer));
+    }
+
+    /**
+     * Returns the current index or indexes the contents of the data dictionary again, if the dictionary changed in a way
+     * that could not be tracked incrementally. A new index is only published once it is complete, so concurrent lookups
+     * never observe a partially built index
+     * @return Returns the current index
+     */
+    private Index getIndex() {
+        Index current = index;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (index == null) {
+                index = buildIndex();
+            }
+            return index;
+        }
+    }
+
+    private Index buildIndex() {
+        Index built = new Index();
+        if (dataDictionary == null) {
+            return built;
+        }
+        if (!closed && !dataDictionary.eAdapters()
+                .contains(observer)) {
+            dataDictionary.eAdapters()
+                    .add(observer);
+        }
+        dataDictionary.getLabelTypes()
+                .forEach(labelType -> indexLabelType(built, labelType));
+        return built;
+    }
+
+    private void indexLabelType(Index target, LabelType labelType) {
+        if (!closed && !labelType.eAdapters()
+                .contains(observer)) {
+            labelType.eAdapters()
+                    .add(observer);
+        }
+        if (labelType.getEntityName() != null) {
+            target.labelTypesByName.putIfAbsent(labelType.getEntityName(), labelType);
+        }
+        if (labelType.getId() != null) {
+            target.labelTypesById.putIfAbsent(labelType.getId(), labelType);
+        }
+        target.labelsByType.putIfAbsent(labelType, new ConcurrentHashMap<>());
+        labelType.getLabel()
+                .forEach(label -> indexLabel(target, labelType, label));
+    }
+
+    private void indexLabel(Index target, LabelType labelType, Label label) {
+        if (!closed && !label.eAdapters()
+                .contains(observer)) {
+            label.eAdapters()
+                    .add(observer);
+        }
+        if (label.getEntityName() != null) {
+            target.labelsByType.computeIfAbsent(labelType, it -> new ConcurrentHashMap<>())
+                    .putIfAbsent(label.getEntityName(), label);
+            if (labelType.getEntityName() != null) {
+                target.labelsByName.computeIfAbsent(labelType.getEntityName(), it -> new ConcurrentHashMap<>())
+                        .putIfAbsent(label.getEntityName(), label);
+            }
+        }
+        if (label.getId() != null) {
+            target.labelsById.putIfAbsent(label.getId(), label);
+        }
+    }
+
+    /**
+     * Index of the label types and labels. Concurrent maps allow lookups without holding the lock of the registry
+     */
+    private static final class Index {
+        private final Map<String, LabelType> labelTypesByName = new ConcurrentHashMap<>();
+        private final Map<String, LabelType> labelTypesById = new ConcurrentHashMap<>();
+        private final Map<String, Map<String, Label>> labelsByName = new ConcurrentHashMap<>();
+        private final Map<LabelType, Map<String, Label>> labelsByType = new ConcurrentHashMap<>();
+        private final Map<String, Label> labelsById = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Keeps the index in sync with the data dictionary. Additions are indexed directly, while removals and renaming cause
+     * the index to be rebuilt on the next lookup
+     */
+    private class DictionaryObserver extends AdapterImpl {
+        @Override
+        public void notifyChanged(Notification notification) {
+            synchronized (LabelRegistry.this) {
+                handleNotification(notification);
+            }
+        }
+
+        private void handleNotification(Notification notification) {
+            if (notification.isTouch()) {
+                return;
+            }
+            if (notification.getEventType() == Notification.REMOVE) {
+                detach(notification.getOldValue());
+            } else if (notification.getEventType() == Notification.REMOVE_MANY) {
+                ((List<?>) notification.getOldValue()).forEach(this::detach);
+            }
+            if (index == null) {
+                return;
+            }
+            switch (notification.getEventType()) {
+                case Notification.ADD -> index(notification.getNotifier(), notification.getNewValue());
+                case Notification.ADD_MANY -> ((List<?>) notification.getNewValue()).forEach(it -> index(notification.getNotifier(), it));
+                case Notification.SET, Notification.UNSET, Notification.REMOVE, Notification.REMOVE_MANY, Notification.MOVE -> {
+                    if (notification.getNotifier() instanceof LabelType || notification.getNotifier() instanceof Label
+                            || notification.getOldValue() instanceof LabelType || notification.getOldValue() instanceof Label
+                            || notification.getOldValue() instanceof List<?>) {
+                        index = null;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+
+        /**
+         * Stops observing removed label types and labels, as they are dropped with the index
+         * @param value Value that was removed
+         */
+        private void detach(Object value) {
+            if (value instanceof LabelType labelType) {
+                labelType.eAdapters()
+                        .remove(this);
+                labelType.getLabel()
+                        .forEach(label -> label.eAdapters()
+                                .remove(this));
+            } else if (value instanceof Label label) {
+                label.eAdapters()
+                        .remove(this);
+            }
+        }
+
+        private void index(Object notifier, Object value) {
+            if (value instanceof LabelType labelType) {
+                indexLabelType(index, labelType);
+            } else if (value instanceof Label label && notifier instanceof LabelType labelType) {
+                indexLabel(index, labelType, label);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.dataflowanalysis.converter.util;
+
+import java.util.Optional;
+import org.dataflowanalysis.converter.Converter;
+import org.dataflowanalysis.converter.ConverterModel;
+import org.dataflowanalysis.converter.dfd2web.DataFlowDiagramAndDictionary;
+import org.dataflowanalysis.dfd.datadictionary.AbstractAssignment;
+import org.dataflowanalysis.dfd.datadictionary.Assignment;
+import org.dataflowanalysis.dfd.datadictionary.Behavior;
+import org.dataflowanalysis.dfd.datadictionary.DataDictionary;
+import org.dataflowanalysis.dfd.dataflowdiagram.DataFlowDiagram;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * Simplifies the terms of all assignments in a {@link DataFlowDiagramAndDictionary} using the {@link TermSimplifier}. It
+ * can be appended to other converters in a {@link org.dataflowanalysis.converter.ConverterChain} as a post-pass. The input
+ * model is not modified
+ */
+public class TermSimplificationConverter extends Converter {
+    private final TermSimplifier termSimplifier = new TermSimplifier();
+    private int simplifiedTerms;
+
+    @Override
+    public DataFlowDiagramAndDictionary convert(ConverterModel input) {
+        Optional<DataFlowDiagramAndDictionary> dataFlowDiagramAndDictionary = input.toType(DataFlowDiagramAndDictionary.class);
+        if (dataFlowDiagramAndDictionary.isEmpty()) {
+            logger.error("Expected DataFlowDiagramAndDictionary, but got: " + input.getClass()
+                    .getSimpleName());
+            throw new IllegalArgumentException("Invalid input for Model Conversion");
+        }
+        EcoreUtil.Copier copier = new EcoreUtil.Copier();
+        DataFlowDiagram dataFlowDiagram = (DataFlowDiagram) copier.copy(dataFlowDiagramAndDictionary.get()
+                .dataFlowDiagram());
+        DataDictionary dataDictionary = (DataDictionary) copier.copy(dataFlowDiagramAndDictionary.get()
+                .dataDictionary());
+        copier.copyReferences();
+
+        simplifiedTerms = 0;
+        for (Behavior behavior : dataDictionary.getBehavior()) {
+            for (AbstractAssignment abstractAssignment : behavior.getAssignment()) {
+                if (abstractAssignment instanceof Assignment assignment && assignment.getTerm() != null) {
+                    assignment.setTerm(termSimplifier.simplify(assignment.getTerm()));
+                    simplifiedTerms++;
+                }
+            }
+        }
+        return new DataFlowDiagramAndDictionary(dataFlowDiagram, dataDictionary);
+    }
+
+    /**
+     * Returns the number of terms that were simplified by the last conversion
+     * @return Returns the number of simplified terms
+     */
+    public int getSimplifiedTerms() {
+        return simplifiedTerms;
+    }
+}
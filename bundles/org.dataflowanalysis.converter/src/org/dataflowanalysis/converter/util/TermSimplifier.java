@@ -0,0 +1,198 @@
+package org.dataflowanalysis.converter.util;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.dataflowanalysis.dfd.datadictionary.AND;
+import org.dataflowanalysis.dfd.datadictionary.Label;
+import org.dataflowanalysis.dfd.datadictionary.LabelReference;
+import org.dataflowanalysis.dfd.datadictionary.NOT;
+import org.dataflowanalysis.dfd.datadictionary.OR;
+import org.dataflowanalysis.dfd.datadictionary.TRUE;
+import org.dataflowanalysis.dfd.datadictionary.Term;
+import org.dataflowanalysis.dfd.datadictionary.datadictionaryFactory;
+
+/**
+ * Normalizes {@link Term} trees of the data dictionary into an equivalent, smaller form.
+ * <p/>
+ * The simplifier folds the constants TRUE and FALSE, which is represented by a negated TRUE, flattens nested AND and OR
+ * terms into a single n-ary term, removes duplicate operands, detects complementary operands and eliminates double
+ * negation. Nested AND and OR terms as well as chains of negations are unfolded iteratively, so long chains of operands
+ * do not exhaust the stack. The operands of the input term are moved into the simplified term, so the input term must not
+ * be used afterwards
+ */
+public class TermSimplifier {
+    private final datadictionaryFactory ddFactory = datadictionaryFactory.eINSTANCE;
+    private final Map<Label, Integer> labelNumbers = new IdentityHashMap<>();
+    private final Map<Term, String> keys = new IdentityHashMap<>();
+
+    /**
+     * Simplifies the given term
+     * @param term Term that is simplified
+     * @return Returns a term that is equivalent to the given term
+     */
+    public Term simplify(Term term) {
+        labelNumbers.clear();
+        keys.clear();
+        return simplifyTerm(term);
+    }
+
+    /**
+     * Returns whether the given term is the constant TRUE
+     * @param term Given term
+     * @return Returns true, if the term is TRUE
+     */
+    public static boolean isTrue(Term term) {
+        return term instanceof TRUE;
+    }
+
+    /**
+     * Returns whether the given term is the constant FALSE, which is represented by a negated TRUE
+     * @param term Given term
+     * @return Returns true, if the term is FALSE
+     */
+    public static boolean isFalse(Term term) {
+        return term instanceof NOT not && not.getNegatedTerm() instanceof TRUE;
+    }
+
+    private Term simplifyTerm(Term term) {
+        if (term instanceof NOT not) {
+            return simplifyNot(not);
+        } else if (term instanceof AND and) {
+            return simplifyJunction(and.getTerms(), true);
+        } else if (term instanceof OR or) {
+            return simplifyJunction(or.getTerms(), false);
+        }
+        return term;
+    }
+
+    private Term simplifyNot(NOT not) {
+        int negations = 0;
+        Term term = not;
+        while (term instanceof NOT nestedNot) {
+            negations++;
+            term = nestedNot.getNegatedTerm();
+        }
+        Term negatedTerm = simplifyTerm(term);
+        if (negations % 2 == 0) {
+            return negatedTerm;
+        }
+        if (negatedTerm instanceof NOT doubleNegation) {
+            return doubleNegation.getNegatedTerm();
+        }
+        NOT result = ddFactory.createNOT();
+        result.setNegatedTerm(negatedTerm);
+        return result;
+    }
+
+    /**
+     * Simplifies an AND or OR term with the given operands
+     * @param operands Operands of the term
+     * @param conjunction Determines whether the term is an AND term
+     * @return Returns the simplified term
+     */
+    private Term simplifyJunction(List<Term> operands, boolean conjunction) {
+        Map<String, Term> distinctOperands = new LinkedHashMap<>();
+        Deque<Term> pendingOperands = new ArrayDeque<>(operands);
+        while (!pendingOperands.isEmpty()) {
+            Term originalOperand = pendingOperands.poll();
+            if (conjunction ? originalOperand instanceof AND : originalOperand instanceof OR) {
+                // Nested terms of the same operator are flattened before simplification instead of recursing into them
+                List<Term> nestedOperands = conjunction ? ((AND) originalOperand).getTerms() : ((OR) originalOperand).getTerms();
+                for (int i = nestedOperands.size() - 1; i >= 0; i--) {
+                    pendingOperands.push(nestedOperands.get(i));
+                }
+                continue;
+            }
+            Term operand = simplifyTerm(originalOperand);
+            if ((conjunction && operand instanceof AND) || (!conjunction && operand instanceof OR)) {
+                // Operands of a flattened term are already simplified
+                List<Term> nestedOperands = conjunction ? ((AND) operand).getTerms() : ((OR) operand).getTerms();
+                nestedOperands.forEach(it -> distinctOperands.putIfAbsent(getKey(it), it));
+                continue;
+            }
+            if (conjunction ? isTrue(operand) : isFalse(operand)) {
+                continue;
+            }
+            if (conjunction ? isFalse(operand) : isTrue(operand)) {
+                return conjunction ? createFalse() : ddFactory.createTRUE();
+            }
+            distinctOperands.putIfAbsent(getKey(operand), operand);
+        }
+        for (Term operand : distinctOperands.values()) {
+            if (operand instanceof NOT not && distinctOperands.containsKey(getKey(not.getNegatedTerm()))) {
+                return conjunction ? createFalse() : ddFactory.createTRUE();
+            }
+        }
+
+        if (distinctOperands.isEmpty()) {
+            return conjunction ? ddFactory.createTRUE() : createFalse();
+        }
+        if (distinctOperands.size() == 1) {
+            return distinctOperands.values()
+                    .iterator()
+                    .next();
+        }
+        if (conjunction) {
+            AND result = ddFactory.createAND();
+            result.getTerms()
+                    .addAll(distinctOperands.values());
+            return result;
+        }
+        OR result = ddFactory.createOR();
+        result.getTerms()
+                .addAll(distinctOperands.values());
+        return result;
+    }
+
+    private Term createFalse() {
+        NOT result = ddFactory.createNOT();
+        result.setNegatedTerm(ddFactory.createTRUE());
+        return result;
+    }
+
+    /**
+     * Computes a key of the given simplified term that is equal for structurally equal terms. Simplified terms are not
+     * changed afterwards, so the key of each term is only computed once
+     * @param term Simplified term
+     * @return Returns the structural key of the term
+     */
+    private String getKey(Term term) {
+        String key = keys.get(term);
+        if (key == null) {
+            key = computeKey(term);
+            keys.put(term, key);
+        }
+        return key;
+    }
+
+    private String computeKey(Term term) {
+        if (term instanceof TRUE) {
+            return "T";
+        } else if (term instanceof LabelReference labelReference) {
+            return "L" + labelNumbers.computeIfAbsent(labelReference.getLabel(), it -> labelNumbers.size());
+        } else if (term instanceof NOT not) {
+            return "!" + getKey(not.getNegatedTerm());
+        } else if (term instanceof AND and) {
+            return computeOperandKeys('&', and.getTerms());
+        } else if (term instanceof OR or) {
+            return computeOperandKeys('|', or.getTerms());
+        }
+        return "?" + System.identityHashCode(term);
+    }
+
+    private String computeOperandKeys(char operator, List<Term> operands) {
+        StringBuilder key = new StringBuilder();
+        key.append(operator)
+                .append('(');
+        for (Term operand : operands) {
+            key.append(getKey(operand))
+                    .append(',');
+        }
+        key.append(')');
+        return key.toString();
+    }
+}
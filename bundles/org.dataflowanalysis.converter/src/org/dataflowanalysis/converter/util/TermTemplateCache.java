@@ -0,0 +1,74 @@
+package org.dataflowanalysis.converter.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.dataflowanalysis.dfd.datadictionary.Term;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * Caches parsed {@link Term} trees by the source they were parsed from, like the expression text or the source term.
+ * <p/>
+ * Terms are contained in their assignment or parent term, so neither a term nor one of its subterms can be shared
+ * between assignments. Instead, the cache keeps a detached template for each distinct source and hands out copies of it.
+ * A copy contains as many term objects as a parsed term, so the cache saves parsing and label lookups, but not term
+ * objects. Copies reference the same labels as the template. Lookups are thread-safe
+ * @param <K> Type of the key identifying the source of a term
+ */
+public class TermTemplateCache<K> {
+    private final Map<K, Term> templates = new ConcurrentHashMap<>();
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    /**
+     * Returns a copy of the term template with the given key. If no template exists, the term is built using the given
+     * parser and stored as template
+     * @param key Key identifying the source of the term
+     * @param parser Parser that builds the term, if no template exists for the key
+     * @return Returns a new term that is structurally equal to the template
+     */
+    public Term get(K key, Supplier<Term> parser) {
+        Term template = templates.get(key);
+        if (template == null) {
+            misses.incrementAndGet();
+            template = templates.computeIfAbsent(key, it -> parser.get());
+        } else {
+            hits.incrementAndGet();
+        }
+        return EcoreUtil.copy(template);
+    }
+
+    /**
+     * Removes all templates from the cache and resets its statistics
+     */
+    public void clear() {
+        templates.clear();
+        hits.set(0);
+        misses.set(0);
+    }
+
+    /**
+     * Returns the number of distinct terms stored in the cache
+     * @return Returns the number of templates
+     */
+    public int size() {
+        return templates.size();
+    }
+
+    /**
+     * Returns the number of lookups that were answered by copying an existing template
+     * @return Returns the number of cache hits
+     */
+    public int getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of lookups that required building a term
+     * @return Returns the number of cache misses
+     */
+    public int getMisses() {
+        return misses.get();
+    }
+}
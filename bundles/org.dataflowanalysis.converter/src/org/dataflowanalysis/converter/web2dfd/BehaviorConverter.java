@@ -1,10 +1,16 @@
 package org.dataflowanalysis.converter.web2dfd;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Stack;
 import org.apache.log4j.Logger;
+import org.dataflowanalysis.converter.util.LabelRegistry;
+import org.dataflowanalysis.converter.util.TermTemplateCache;
 import org.dataflowanalysis.dfd.datadictionary.AND;
 import org.dataflowanalysis.dfd.datadictionary.DataDictionary;
 import org.dataflowanalysis.dfd.datadictionary.Label;
@@ -18,11 +24,15 @@ import org.dataflowanalysis.dfd.datadictionary.datadictionaryFactory;
 
 /**
  * Converts string expressions to {@link Term} instances and vice versa, based on a given {@link DataDictionary}.
- * Supports logical operations AND, OR, and NOT.
+ * Supports logical operations AND, OR, and NOT. Converters that create their own label registry observe the data
+ * dictionary after the first lookup and should be closed once they are no longer needed.
  */
-public class BehaviorConverter {
+public class BehaviorConverter implements AutoCloseable {
     private final datadictionaryFactory ddFactory = datadictionaryFactory.eINSTANCE;
-    private final DataDictionary dataDictionary;
+    private final LabelRegistry labelRegistry;
+    private final boolean ownsLabelRegistry;
+    private final Map<String, Label> danglingLabels = new HashMap<>();
+    private TermTemplateCache<String> termTemplates;
 
     private final Logger logger = Logger.getLogger(BehaviorConverter.class);
 
@@ -30,8 +40,57 @@ public class BehaviorConverter {
     private final String LOGICAL_OR = "||";
     private final String LOGICAL_NOT = "!";
 
+    /**
+     * Creates a new behavior converter with its own label registry of the given data dictionary, which is closed with the
+     * converter
+     * @param dataDictionary Data dictionary that contains the referenced labels
+     */
     public BehaviorConverter(DataDictionary dataDictionary) {
-        this.dataDictionary = dataDictionary;
+        this(new LabelRegistry(dataDictionary), true);
+    }
+
+    /**
+     * Creates a new behavior converter that resolves labels using the given label registry. The registry is not closed
+     * with the converter
+     * @param labelRegistry Label registry of the data dictionary that contains the referenced labels
+     */
+    public BehaviorConverter(LabelRegistry labelRegistry) {
+        this(labelRegistry, false);
+    }
+
+    private BehaviorConverter(LabelRegistry labelRegistry, boolean ownsLabelRegistry) {
+        this.labelRegistry = labelRegistry;
+        this.ownsLabelRegistry = ownsLabelRegistry;
+    }
+
+    /**
+     * Closes the label registry of the converter, if it was created by the converter. Afterwards, the data dictionary is
+     * no longer observed
+     */
+    @Override
+    public void close() {
+        if (ownsLabelRegistry) {
+            labelRegistry.close();
+        }
+    }
+
+    /**
+     * Sets whether converted terms are cached. If enabled, each distinct expression is only parsed once and further
+     * conversions return copies of the parsed term. Labels that are not contained in the data dictionary are shared
+     * between all terms referencing them
+     * @param cacheTerms Determines whether converted terms are cached
+     */
+    public void setCacheTerms(boolean cacheTerms) {
+        this.termTemplates = cacheTerms ? new TermTemplateCache<>() : null;
+        danglingLabels.clear();
+    }
+
+    /**
+     * Returns the cache of converted terms
+     * @return Returns an optional containing the term cache, if terms are cached
+     */
+    public Optional<TermTemplateCache<String>> getTermTemplateCache() {
+        return Optional.ofNullable(termTemplates);
     }
 
     /**
@@ -41,6 +100,13 @@ public class BehaviorConverter {
      * @return the {@link Term} representation of the expression
      */
     public Term stringToTerm(String expression) {
+        if (termTemplates != null) {
+            return termTemplates.get(expression, () -> parseExpression(expression));
+        }
+        return parseExpression(expression);
+    }
+
+    private Term parseExpression(String expression) {
         List<String> tokens = tokenize(expression);
 
         Stack<Term> operands = new Stack<>();
@@ -79,7 +145,18 @@ public class BehaviorConverter {
      * @return the string representation of the term
      */
     public String termToString(Term term) {
-        return termToString(term, false);
+        StringBuilder builder = new StringBuilder();
+        Deque<Object> work = new ArrayDeque<>();
+        work.push(new RenderTask(term, false));
+        while (!work.isEmpty()) {
+            Object next = work.pop();
+            if (next instanceof RenderTask task) {
+                renderTerm(task.term(), task.isNested(), builder, work);
+            } else {
+                builder.append((String) next);
+            }
+        }
+        return builder.toString();
     }
 
     private boolean isOperator(String token) {
@@ -134,22 +211,9 @@ public class BehaviorConverter {
         String typeName = token.split("\\.")[0];
         String valueName = token.split("\\.")[1];
 
-        Optional<Label> optionalValue = Optional.ofNullable(dataDictionary)
-                .flatMap(dd -> dd.getLabelTypes()
-                        .stream()
-                        .filter(labelType -> labelType.getEntityName()
-                                .equals(typeName))
-                        .flatMap(labelType -> labelType.getLabel()
-                                .stream())
-                        .filter(label -> label.getEntityName()
-                                .equals(valueName))
-                        .findAny());
-
-        Label value = optionalValue.orElseGet(() -> {
-            Label label = ddFactory.createLabel();
-            label.setEntityName(token);
-            return label;
-        });
+        Label value = labelRegistry.getLabel(typeName, valueName)
+                .orElseGet(() -> termTemplates != null ? danglingLabels.computeIfAbsent(token, this::createDanglingLabel)
+                        : createDanglingLabel(token));
 
         var labelReference = ddFactory.createLabelReference();
         labelReference.setLabel(value);
@@ -157,33 +221,63 @@ public class BehaviorConverter {
 
     }
 
-    private String termToString(Term term, boolean isNested) {
+    private Label createDanglingLabel(String token) {
+        Label label = ddFactory.createLabel();
+        label.setEntityName(token);
+        return label;
+    }
+
+    /**
+     * Renders a single term into the given builder. Operands of the term are not rendered directly, but pushed onto the
+     * work stack together with the operators and parentheses between them, so deeply nested terms are rendered in linear
+     * time without recursion
+     * @param term Term that is rendered
+     * @param isNested Determines whether the term is an operand of another term and needs parentheses
+     * @param builder Builder the string representation is appended to
+     * @param work Work stack containing the pending terms and strings
+     */
+    private void renderTerm(Term term, boolean isNested, StringBuilder builder, Deque<Object> work) {
         if (term instanceof LabelReference labelReference) {
             Label label = labelReference.getLabel();
-            return ((LabelType) label.eContainer()).getEntityName() + "." + label.getEntityName();
+            // Labels created for unknown references have no label type and are named by their complete reference
+            if (label.eContainer() instanceof LabelType labelType) {
+                builder.append(labelType.getEntityName())
+                        .append('.');
+            }
+            builder.append(label.getEntityName());
         } else if (term instanceof TRUE) {
-            return "TRUE";
+            builder.append("TRUE");
         } else if (term instanceof AND and) {
-            List<Term> operands = and.getTerms();
-            String result = termToString(operands.get(0), true) + " " + LOGICAL_AND + " " + termToString(operands.get(1), true);
-            return isNested ? "(" + result + ")" : result;
+            pushOperands(and.getTerms(), LOGICAL_AND, isNested, builder, work);
         } else if (term instanceof OR or) {
-            List<Term> operands = or.getTerms();
-            String result = termToString(operands.get(0), true) + " " + LOGICAL_OR + " " + termToString(operands.get(1), true);
-            return isNested ? "(" + result + ")" : result;
+            pushOperands(or.getTerms(), LOGICAL_OR, isNested, builder, work);
         } else if (term instanceof NOT not) {
             if (not.getNegatedTerm() instanceof TRUE) {
-                return "FALSE";
-            }
-            if (not.getNegatedTerm() instanceof LabelReference) {
-                return LOGICAL_NOT + termToString(not.getNegatedTerm(), false);
+                builder.append("FALSE");
+                return;
             }
-            return LOGICAL_NOT + termToString(not.getNegatedTerm(), true);
+            builder.append(LOGICAL_NOT);
+            work.push(new RenderTask(not.getNegatedTerm(), !(not.getNegatedTerm() instanceof LabelReference)));
         } else {
             throw new IllegalArgumentException("Unknown term type");
         }
     }
 
+    private void pushOperands(List<Term> operands, String operator, boolean isNested, StringBuilder builder, Deque<Object> work) {
+        boolean parenthesize = isNested && operands.size() > 1;
+        if (parenthesize) {
+            builder.append('(');
+            work.push(")");
+        }
+        String separator = " " + operator + " ";
+        for (int i = operands.size() - 1; i >= 0; i--) {
+            work.push(new RenderTask(operands.get(i), true));
+            if (i > 0) {
+                work.push(separator);
+            }
+        }
+    }
+
     private List<String> tokenize(String expression) {
         List<String> tokens = new ArrayList<>();
         StringBuilder token = new StringBuilder();
@@ -231,4 +325,7 @@ public class BehaviorConverter {
 
         return tokens;
     }
-}
\ No newline at end of file
+
+    private record RenderTask(Term term, boolean isNested) {
+    }
+}
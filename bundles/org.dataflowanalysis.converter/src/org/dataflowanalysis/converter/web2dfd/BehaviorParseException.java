@@ -0,0 +1,39 @@
+package org.dataflowanalysis.converter.web2dfd;
+
+/**
+ * Describes an invalid assignment in the behavior of a web editor port, which was found by the {@link BehaviorParser}
+ */
+public class BehaviorParseException extends IllegalArgumentException {
+    private static final long serialVersionUID = 1L;
+
+    private final int line;
+    private final int column;
+
+    /**
+     * Creates a new exception describing an invalid assignment
+     * @param line Line of the behavior containing the invalid assignment, starting at one
+     * @param column Column of the line at which the error was found, starting at one
+     * @param reason Description of the error
+     */
+    public BehaviorParseException(int line, int column, String reason) {
+        super("Invalid behavior in line " + line + ", column " + column + ": " + reason);
+        this.line = line;
+        this.column = column;
+    }
+
+    /**
+     * Returns the line of the behavior containing the invalid assignment
+     * @return Returns the line starting at one
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * Returns the column of the line at which the error was found
+     * @return Returns the column starting at one
+     */
+    public int getColumn() {
+        return column;
+    }
+}
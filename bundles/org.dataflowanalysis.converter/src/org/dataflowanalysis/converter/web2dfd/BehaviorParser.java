@@ -0,0 +1,527 @@
+package org.dataflowanalysis.converter.web2dfd;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.dataflowanalysis.converter.util.IncomingFlowIndex;
+import org.dataflowanalysis.converter.util.LabelRegistry;
+import org.dataflowanalysis.dfd.datadictionary.AbstractAssignment;
+import org.dataflowanalysis.dfd.datadictionary.Assignment;
+import org.dataflowanalysis.dfd.datadictionary.ForwardingAssignment;
+import org.dataflowanalysis.dfd.datadictionary.Label;
+import org.dataflowanalysis.dfd.datadictionary.NOT;
+import org.dataflowanalysis.dfd.datadictionary.Pin;
+import org.dataflowanalysis.dfd.datadictionary.SetAssignment;
+import org.dataflowanalysis.dfd.datadictionary.Term;
+import org.dataflowanalysis.dfd.datadictionary.UnsetAssignment;
+import org.dataflowanalysis.dfd.datadictionary.datadictionaryFactory;
+import org.dataflowanalysis.dfd.dataflowdiagram.Node;
+
+/**
+ * Parses the behavior of web editor ports into assignments with a single scan over the behavior string.
+ * <p/>
+ * Each line contains one assignment of the form {@code forward <pins>}, {@code set <labels>}, {@code unset <labels>} or
+ * {@code assign <labels> if <term> from <pins>}, where the {@code from} part is optional. Pins are separated by commas
+ * and identified by the names of their incoming flows, which are separated by {@code |}. Labels are separated by commas
+ * and written as {@code Type.Value}. Conditions are parsed with the precedence of
+ * {@link BehaviorConverter#stringToTerm(String)}, so chained operators are nested to the left. Labels of terms that are
+ * not contained in the data dictionary are replaced by new labels named after the reference.
+ * <p/>
+ * Each distinct behavior string is only scanned once into a template containing the unresolved pin and label references
+ * and the condition in postfix order. Further ports with the same behavior only resolve the template against the
+ * incoming flows of their node and the data dictionary. The parser is not thread-safe
+ */
+public class BehaviorParser {
+    private static final char DELIMITER_PIN_NAME = Web2DFDConverter.DELIMITER_PIN_NAME.charAt(0);
+    private static final char DELIMITER_MULTI_PIN = Web2DFDConverter.DELIMITER_MULTI_PIN.charAt(0);
+    private static final char DELIMITER_MULTI_LABEL = ',';
+    private static final char INSTRUCTION_LABEL = 'L';
+    private static final char INSTRUCTION_TRUE = 'T';
+    private static final char INSTRUCTION_FALSE = 'F';
+
+    private final datadictionaryFactory ddFactory = datadictionaryFactory.eINSTANCE;
+    private final LabelRegistry labelRegistry;
+    private final IncomingFlowIndex incomingFlowIndex;
+
+    private final Map<String, BehaviorTemplate> templates = new HashMap<>();
+    private int hits;
+    private int misses;
+
+    private String behavior;
+    private int position;
+    private int lineStart;
+    private int lineNumber;
+
+    /**
+     * Creates a new behavior parser
+     * @param labelRegistry Label registry of the data dictionary that contains the referenced labels
+     * @param incomingFlowIndex Index of the incoming flows used to resolve the referenced pins
+     */
+    public BehaviorParser(LabelRegistry labelRegistry, IncomingFlowIndex incomingFlowIndex) {
+        this.labelRegistry = labelRegistry;
+        this.incomingFlowIndex = incomingFlowIndex;
+    }
+
+    /**
+     * Parses the assignments of the given behavior. Invalid lines are passed to the error handler and skipped, while
+     * empty lines are ignored
+     * @param behavior Behavior of a web editor port containing one assignment per line
+     * @param node Node whose incoming flows are used to resolve the referenced pins
+     * @param errorHandler Handler receiving an exception for each invalid line
+     * @return Returns the parsed assignments without output pin in the order of the behavior
+     */
+    public List<AbstractAssignment> parse(String behavior, Node node, Consumer<BehaviorParseException> errorHandler) {
+        BehaviorTemplate template = templates.get(behavior);
+        if (template == null) {
+            misses++;
+            template = parseTemplate(behavior);
+            templates.put(behavior, template);
+        } else {
+            hits++;
+        }
+        template.errors()
+                .forEach(errorHandler);
+        List<AbstractAssignment> assignments = new ArrayList<>();
+        for (AssignmentTemplate assignmentTemplate : template.assignments()) {
+            try {
+                assignments.add(resolveAssignment(assignmentTemplate, node));
+            } catch (BehaviorParseException e) {
+                errorHandler.accept(e);
+            }
+        }
+        return assignments;
+    }
+
+    /**
+     * Returns the number of parsed behaviors that were resolved from the template of an equal behavior
+     * @return Returns the number of cache hits
+     */
+    public int getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of parsed behaviors that had to be scanned
+     * @return Returns the number of cache misses
+     */
+    public int getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the ratio of parsed behaviors that were resolved from the template of an equal behavior
+     * @return Returns the hit ratio between zero and one or zero, if no behavior was parsed
+     */
+    public double getHitRatio() {
+        int lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    private BehaviorTemplate parseTemplate(String behavior) {
+        this.behavior = behavior;
+        position = 0;
+        lineStart = 0;
+        lineNumber = 1;
+        List<AssignmentTemplate> assignments = new ArrayList<>();
+        List<BehaviorParseException> errors = new ArrayList<>();
+        while (position <= behavior.length()) {
+            try {
+                skipWhitespace();
+                if (!isAtLineEnd()) {
+                    assignments.add(parseAssignment());
+                }
+            } catch (BehaviorParseException e) {
+                errors.add(e);
+            }
+            skipLine();
+        }
+        this.behavior = null;
+        return new BehaviorTemplate(List.copyOf(assignments), List.copyOf(errors));
+    }
+
+    private AssignmentTemplate parseAssignment() {
+        int column = getColumn();
+        String keyword = readWord();
+        switch (keyword) {
+            case "forward" -> {
+                return new AssignmentTemplate(keyword, List.of(), List.of(), parsePins());
+            }
+            case "set", "unset" -> {
+                return new AssignmentTemplate(keyword, parseLabels(false), List.of(), List.of());
+            }
+            case "assign" -> {
+                List<LabelTemplate> outputLabels = parseLabels(true);
+                expectWord("if");
+                List<TermInstruction> term = parseTerm();
+                List<List<String>> inputPins = List.of();
+                if (!isAtLineEnd()) {
+                    expectWord("from");
+                    inputPins = parsePins();
+                }
+                return new AssignmentTemplate(keyword, outputLabels, term, inputPins);
+            }
+            default -> throw createError(column, "Expected forward, set, unset or assign, but found '" + keyword + "'");
+        }
+    }
+
+    private List<List<String>> parsePins() {
+        List<List<String>> pins = new ArrayList<>();
+        while (true) {
+            skipWhitespace();
+            List<String> flowNames = new ArrayList<>();
+            int nameStart = position;
+            int nameEnd = position;
+            while (!isAtLineEnd() && behavior.charAt(position) != DELIMITER_MULTI_PIN) {
+                char current = behavior.charAt(position++);
+                if (current == DELIMITER_PIN_NAME) {
+                    addFlowName(flowNames, nameStart, nameEnd);
+                    skipWhitespace();
+                    nameStart = position;
+                    nameEnd = position;
+                } else if (!Character.isWhitespace(current)) {
+                    nameEnd = position;
+                }
+            }
+            addFlowName(flowNames, nameStart, nameEnd);
+            if (!flowNames.isEmpty()) {
+                pins.add(List.copyOf(flowNames));
+            }
+            if (isAtLineEnd()) {
+                return List.copyOf(pins);
+            }
+            position++;
+        }
+    }
+
+    private void addFlowName(List<String> flowNames, int start, int end) {
+        if (end > start) {
+            flowNames.add(behavior.substring(start, end));
+        }
+    }
+
+    private List<LabelTemplate> parseLabels(boolean untilCondition) {
+        List<LabelTemplate> labels = new ArrayList<>();
+        while (true) {
+            skipWhitespace();
+            int start = position;
+            int end = position;
+            int typeEnd = -1;
+            int valueEnd = -1;
+            if (untilCondition && isAtWord("if")) {
+                return List.copyOf(labels);
+            }
+            while (!isAtLineEnd() && behavior.charAt(position) != DELIMITER_MULTI_LABEL && !(untilCondition && isAtSeparatedWord("if"))) {
+                char current = behavior.charAt(position++);
+                if (current == '.' && typeEnd < 0) {
+                    typeEnd = position - 1;
+                } else if (current == '.' && valueEnd < 0) {
+                    valueEnd = position - 1;
+                }
+                if (!Character.isWhitespace(current)) {
+                    end = position;
+                }
+            }
+            if (end > start) {
+                labels.add(createLabelTemplate(start, end, typeEnd, valueEnd));
+            }
+            if (isAtLineEnd() || behavior.charAt(position) != DELIMITER_MULTI_LABEL) {
+                return List.copyOf(labels);
+            }
+            position++;
+        }
+    }
+
+    private LabelTemplate createLabelTemplate(int start, int end, int typeEnd, int valueEnd) {
+        int column = start - lineStart + 1;
+        if (typeEnd < 0 || typeEnd >= end) {
+            throw createError(column, "Expected label of the form Type.Value, but found '" + behavior.substring(start, end) + "'");
+        }
+        return new LabelTemplate(behavior.substring(start, typeEnd), behavior.substring(typeEnd + 1, valueEnd < 0 || valueEnd > end ? end : valueEnd),
+                behavior.substring(start, end), lineNumber, column);
+    }
+
+    /**
+     * Parses a condition into postfix order. Operands are emitted when they are scanned and operators when they are
+     * reduced, so the order of the instructions matches the construction of the term
+     * @return Returns the instructions of the condition in postfix order
+     */
+    private List<TermInstruction> parseTerm() {
+        List<TermInstruction> instructions = new ArrayList<>();
+        Deque<Operator> operators = new ArrayDeque<>();
+        boolean expectOperand = true;
+        while (true) {
+            skipWhitespace();
+            if (isAtLineEnd()) {
+                break;
+            }
+            int column = getColumn();
+            char current = behavior.charAt(position);
+            if (expectOperand) {
+                if (current == '(' || current == '!') {
+                    operators.push(new Operator(current, column));
+                    position++;
+                } else if (isOperandCharacter(current)) {
+                    instructions.add(parseOperand());
+                    expectOperand = false;
+                } else {
+                    throw createError(column, "Expected label, TRUE, FALSE, '!' or '(', but found '" + current + "'");
+                }
+            } else if (current == ')') {
+                while (!operators.isEmpty() && operators.peek()
+                        .symbol() != '(') {
+                    instructions.add(new TermInstruction(operators.pop()
+                            .symbol(), null));
+                }
+                if (operators.isEmpty()) {
+                    throw createError(column, "Unbalanced ')'");
+                }
+                operators.pop();
+                position++;
+            } else if ((current == '&' || current == '|') && position + 1 < behavior.length() && behavior.charAt(position + 1) == current) {
+                while (!operators.isEmpty() && precedence(operators.peek()
+                        .symbol()) >= precedence(current)) {
+                    instructions.add(new TermInstruction(operators.pop()
+                            .symbol(), null));
+                }
+                operators.push(new Operator(current, column));
+                position += 2;
+                expectOperand = true;
+            } else if (isAtWord("from")) {
+                break;
+            } else {
+                throw createError(column, "Expected '&&', '||' or ')', but found '" + current + "'");
+            }
+        }
+        if (expectOperand) {
+            throw createError(getColumn(), "Expected label, TRUE or FALSE");
+        }
+        while (!operators.isEmpty()) {
+            Operator operator = operators.pop();
+            if (operator.symbol() == '(') {
+                throw createError(operator.column(), "Unbalanced '('");
+            }
+            instructions.add(new TermInstruction(operator.symbol(), null));
+        }
+        return List.copyOf(instructions);
+    }
+
+    private TermInstruction parseOperand() {
+        int start = position;
+        int typeEnd = -1;
+        int valueEnd = -1;
+        while (!isAtLineEnd() && isOperandCharacter(behavior.charAt(position))) {
+            if (behavior.charAt(position) == '.') {
+                if (typeEnd < 0) {
+                    typeEnd = position;
+                } else if (valueEnd < 0) {
+                    valueEnd = position;
+                }
+            }
+            position++;
+        }
+        int end = position;
+        if (end - start == 4 && behavior.startsWith("TRUE", start)) {
+            return new TermInstruction(INSTRUCTION_TRUE, null);
+        }
+        if (end - start == 5 && behavior.startsWith("FALSE", start)) {
+            return new TermInstruction(INSTRUCTION_FALSE, null);
+        }
+        if (typeEnd < 0) {
+            throw createError(start - lineStart + 1, "Expected label of the form Type.Value, but found '" + behavior.substring(start, end) + "'");
+        }
+        return new TermInstruction(INSTRUCTION_LABEL, createLabelTemplate(start, end, typeEnd, valueEnd));
+    }
+
+    private AbstractAssignment resolveAssignment(AssignmentTemplate template, Node node) {
+        switch (template.type()) {
+            case "forward" -> {
+                ForwardingAssignment assignment = ddFactory.createForwardingAssignment();
+                assignment.getInputPins()
+                        .addAll(resolvePins(template.inputPins(), node));
+                return assignment;
+            }
+            case "set" -> {
+                SetAssignment assignment = ddFactory.createSetAssignment();
+                assignment.getOutputLabels()
+                        .addAll(resolveLabels(template.outputLabels()));
+                return assignment;
+            }
+            case "unset" -> {
+                UnsetAssignment assignment = ddFactory.createUnsetAssignment();
+                assignment.getOutputLabels()
+                        .addAll(resolveLabels(template.outputLabels()));
+                return assignment;
+            }
+            default -> {
+                Assignment assignment = ddFactory.createAssignment();
+                assignment.getOutputLabels()
+                        .addAll(resolveLabels(template.outputLabels()));
+                assignment.setTerm(resolveTerm(template.term()));
+                assignment.getInputPins()
+                        .addAll(resolvePins(template.inputPins(), node));
+                return assignment;
+            }
+        }
+    }
+
+    private List<Pin> resolvePins(List<List<String>> pinReferences, Node node) {
+        List<Pin> pins = new ArrayList<>();
+        for (List<String> flowNames : pinReferences) {
+            incomingFlowIndex.getConnectedInPins(node)
+                    .stream()
+                    .filter(it -> incomingFlowIndex.getFlowNameSet(it)
+                            .containsAll(flowNames))
+                    .forEach(pins::add);
+        }
+        return pins;
+    }
+
+    private List<Label> resolveLabels(List<LabelTemplate> labelReferences) {
+        List<Label> labels = new ArrayList<>();
+        for (LabelTemplate labelReference : labelReferences) {
+            labels.add(labelRegistry.getLabel(labelReference.typeName(), labelReference.valueName())
+                    .orElseThrow(() -> new BehaviorParseException(labelReference.line(), labelReference.column(),
+                            "Unknown label '" + labelReference.text() + "'")));
+        }
+        return labels;
+    }
+
+    private Term resolveTerm(List<TermInstruction> instructions) {
+        Deque<Term> operands = new ArrayDeque<>();
+        for (TermInstruction instruction : instructions) {
+            switch (instruction.operation()) {
+                case INSTRUCTION_LABEL -> {
+                    LabelTemplate labelReference = instruction.label();
+                    Label label = labelRegistry.getLabel(labelReference.typeName(), labelReference.valueName())
+                            .orElseGet(() -> {
+                                Label danglingLabel = ddFactory.createLabel();
+                                danglingLabel.setEntityName(labelReference.text());
+                                return danglingLabel;
+                            });
+                    var term = ddFactory.createLabelReference();
+                    term.setLabel(label);
+                    operands.push(term);
+                }
+                case INSTRUCTION_TRUE -> operands.push(ddFactory.createTRUE());
+                case INSTRUCTION_FALSE -> {
+                    NOT ddFalse = ddFactory.createNOT();
+                    ddFalse.setNegatedTerm(ddFactory.createTRUE());
+                    operands.push(ddFalse);
+                }
+                case '!' -> {
+                    NOT not = ddFactory.createNOT();
+                    not.setNegatedTerm(operands.pop());
+                    operands.push(not);
+                }
+                default -> {
+                    Term right = operands.pop();
+                    Term left = operands.pop();
+                    var operation = instruction.operation() == '&' ? ddFactory.createAND() : ddFactory.createOR();
+                    operation.getTerms()
+                            .add(left);
+                    operation.getTerms()
+                            .add(right);
+                    operands.push(operation);
+                }
+            }
+        }
+        return operands.pop();
+    }
+
+    private int precedence(char operator) {
+        return switch (operator) {
+            case '|' -> 1;
+            case '&' -> 2;
+            case '!' -> 3;
+            default -> 0;
+        };
+    }
+
+    private boolean isOperandCharacter(char character) {
+        return !Character.isWhitespace(character) && character != '(' && character != ')' && character != '&' && character != '|'
+                && character != '!';
+    }
+
+    private String readWord() {
+        int start = position;
+        while (!isAtLineEnd() && !Character.isWhitespace(behavior.charAt(position))) {
+            position++;
+        }
+        return behavior.substring(start, position);
+    }
+
+    private void expectWord(String word) {
+        skipWhitespace();
+        int column = getColumn();
+        if (!isAtWord(word)) {
+            throw createError(column, "Expected '" + word + "'");
+        }
+        position += word.length();
+    }
+
+    private boolean isAtWord(String word) {
+        int end = position + word.length();
+        return behavior.startsWith(word, position) && (end == behavior.length() || Character.isWhitespace(behavior.charAt(end)));
+    }
+
+    private boolean isAtSeparatedWord(String word) {
+        if (!Character.isWhitespace(behavior.charAt(position))) {
+            return false;
+        }
+        int start = position;
+        while (start < behavior.length() && behavior.charAt(start) != '\n' && Character.isWhitespace(behavior.charAt(start))) {
+            start++;
+        }
+        int end = start + word.length();
+        return behavior.startsWith(word, start) && (end == behavior.length() || Character.isWhitespace(behavior.charAt(end)));
+    }
+
+    private void skipWhitespace() {
+        while (position < behavior.length() && behavior.charAt(position) != '\n' && Character.isWhitespace(behavior.charAt(position))) {
+            position++;
+        }
+    }
+
+    private void skipLine() {
+        while (position < behavior.length() && behavior.charAt(position) != '\n') {
+            position++;
+        }
+        position++;
+        lineStart = position;
+        lineNumber++;
+    }
+
+    private boolean isAtLineEnd() {
+        return position >= behavior.length() || behavior.charAt(position) == '\n';
+    }
+
+    private int getColumn() {
+        return position - lineStart + 1;
+    }
+
+    private BehaviorParseException createError(int column, String reason) {
+        return new BehaviorParseException(lineNumber, column, reason);
+    }
+
+    private record Operator(char symbol, int column) {
+    }
+
+    private record BehaviorTemplate(List<AssignmentTemplate> assignments, List<BehaviorParseException> errors) {
+    }
+
+    private record AssignmentTemplate(String type, List<LabelTemplate> outputLabels, List<TermInstruction> term, List<List<String>> inputPins) {
+    }
+
+    private record LabelTemplate(String typeName, String valueName, String text, int line, int column) {
+    }
+
+    /**
+     * Instruction of a condition in postfix order. Operations are labels, TRUE, FALSE or the operator symbols
+     */
+    private record TermInstruction(char operation, LabelTemplate label) {
+    }
+}
@@ -1,17 +1,15 @@
 package org.dataflowanalysis.converter.web2dfd;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Pattern;
 import org.apache.log4j.Logger;
 import org.dataflowanalysis.converter.Converter;
 import org.dataflowanalysis.converter.ConverterModel;
 import org.dataflowanalysis.converter.dfd2web.DataFlowDiagramAndDictionary;
+import org.dataflowanalysis.converter.util.IncomingFlowIndex;
+import org.dataflowanalysis.converter.util.LabelRegistry;
 import org.dataflowanalysis.converter.web2dfd.model.Child;
 import org.dataflowanalysis.converter.web2dfd.model.Port;
 import org.dataflowanalysis.converter.web2dfd.model.Value;
@@ -24,7 +22,6 @@ import org.dataflowanalysis.dfd.datadictionary.LabelType;
 import org.dataflowanalysis.dfd.datadictionary.Pin;
 import org.dataflowanalysis.dfd.datadictionary.datadictionaryFactory;
 import org.dataflowanalysis.dfd.dataflowdiagram.DataFlowDiagram;
-import org.dataflowanalysis.dfd.dataflowdiagram.Flow;
 import org.dataflowanalysis.dfd.dataflowdiagram.Node;
 import org.dataflowanalysis.dfd.dataflowdiagram.dataflowdiagramFactory;
 
@@ -37,7 +34,8 @@ public class Web2DFDConverter extends Converter {
     private final dataflowdiagramFactory dfdFactory;
     private final datadictionaryFactory ddFactory;
     private Map<String, Node> idToNodeMap;
-    private BehaviorConverter behaviorConverter;
+    private BehaviorParser behaviorParser;
+    private LabelRegistry labelRegistry;
 
     public Web2DFDConverter() {
         dfdFactory = dataflowdiagramFactory.eINSTANCE;
@@ -56,23 +54,32 @@ public class Web2DFDConverter extends Converter {
                 .getModel());
     }
 
+    /**
+     * Returns the ratio of port behaviors of the last conversion that were resolved from an already parsed port behavior
+     * with the same text
+     * @return Returns the hit ratio of the behavior parse cache between zero and one
+     */
+    public double getBehaviorCacheHitRatio() {
+        return behaviorParser == null ? 0 : behaviorParser.getHitRatio();
+    }
+
     private DataFlowDiagramAndDictionary processWeb(WebEditorDfd webdfd) {
         idToNodeMap = new HashMap<>();
         Map<String, Node> pinToNodeMap = new HashMap<>();
         Map<String, Pin> idToPinMap = new HashMap<>();
-        Map<String, Label> idToLabelMap = new HashMap<>();
         Map<Node, Map<Pin, String>> nodeOutpinBehaviorMap = new HashMap<>();
 
         DataFlowDiagram dataFlowDiagram = dfdFactory.createDataFlowDiagram();
         DataDictionary dataDictionary = ddFactory.createDataDictionary();
 
-        behaviorConverter = new BehaviorConverter(dataDictionary);
+        labelRegistry = new LabelRegistry(dataDictionary);
 
-        createLabelTypes(webdfd, idToLabelMap, dataDictionary);
+        createLabelTypes(webdfd, dataDictionary);
 
-        createNodes(webdfd, pinToNodeMap, idToPinMap, idToLabelMap, nodeOutpinBehaviorMap, dataFlowDiagram, dataDictionary);
+        createNodes(webdfd, pinToNodeMap, idToPinMap, nodeOutpinBehaviorMap, dataFlowDiagram, dataDictionary);
 
         createFlows(webdfd, pinToNodeMap, idToPinMap, dataFlowDiagram);
+        behaviorParser = new BehaviorParser(labelRegistry, new IncomingFlowIndex(dataFlowDiagram));
 
         List<Node> nodesInBehavior = nodeOutpinBehaviorMap.keySet()
                 .stream()
@@ -80,13 +87,14 @@ public class Web2DFDConverter extends Converter {
 
         nodesInBehavior.forEach(node -> {
             Map<Pin, String> outpinBehaviors = nodeOutpinBehaviorMap.get(node);
-            outpinBehaviors.forEach((outpin, behavior) -> parseBehavior(node, outpin, behavior, dataFlowDiagram, dataDictionary));
+            outpinBehaviors.forEach((outpin, behavior) -> parseBehavior(node, outpin, behavior));
         });
+        labelRegistry.close();
 
         return new DataFlowDiagramAndDictionary(dataFlowDiagram, dataDictionary);
     }
 
-    private void createNodes(WebEditorDfd webdfd, Map<String, Node> pinToNodeMap, Map<String, Pin> pinMap, Map<String, Label> idToLabelMap,
+    private void createNodes(WebEditorDfd webdfd, Map<String, Node> pinToNodeMap, Map<String, Pin> pinMap,
             Map<Node, Map<Pin, String>> nodeOutpinBehavior, DataFlowDiagram dataFlowDiagram, DataDictionary dataDictionary) {
         for (Child child : webdfd.model()
                 .children()) {
@@ -123,7 +131,8 @@ public class Web2DFDConverter extends Converter {
 
                 List<Label> labelsAtNode = child.labels()
                         .stream()
-                        .map(it -> idToLabelMap.get(it.labelTypeValueId()))
+                        .map(it -> labelRegistry.getLabelById(it.labelTypeValueId())
+                                .orElse(null))
                         .toList();
                 node.getProperties()
                         .addAll(labelsAtNode);
@@ -201,109 +210,33 @@ public class Web2DFDConverter extends Converter {
         return inPin;
     }
 
-    private void createLabelTypes(WebEditorDfd webdfd, Map<String, Label> idToLabelMap, DataDictionary dataDictionary) {
+    private void createLabelTypes(WebEditorDfd webdfd, DataDictionary dataDictionary) {
         for (WebEditorLabelType webLabelType : webdfd.labelTypes()) {
             LabelType labelType = ddFactory.createLabelType();
             labelType.setEntityName(webLabelType.name());
             labelType.setId(webLabelType.id());
             for (Value value : webLabelType.values()) {
-                createLabel(idToLabelMap, labelType, value);
+                createLabel(labelType, value);
             }
             dataDictionary.getLabelTypes()
                     .add(labelType);
         }
     }
 
-    private void createLabel(Map<String, Label> idToLabelMap, LabelType labelType, Value value) {
+    private void createLabel(LabelType labelType, Value value) {
         Label label = ddFactory.createLabel();
         label.setEntityName(value.text());
         label.setId(value.id());
         labelType.getLabel()
                 .add(label);
-        idToLabelMap.put(label.getId(), label);
     }
 
-    private void parseBehavior(Node node, Pin outpin, String lines, DataFlowDiagram dfd, DataDictionary dd) {
-        String[] behaviorStrings = lines.split("\n");
-        var behavior = node.getBehavior();
-        for (String behaviorString : behaviorStrings) {
-            AbstractAssignment abstractAssignment;
-            try {
-                if (behaviorString.startsWith("forward")) {
-                    var assignment = ddFactory.createForwardingAssignment();
-                    var inPins = getInPinsFromString(behaviorString.replaceFirst("forward ", "")
-                            .trim(), node, dfd);
-                    assignment.getInputPins()
-                            .addAll(inPins);
-                    abstractAssignment = assignment;
-                } else if (behaviorString.startsWith("set")) {
-                    var assignment = ddFactory.createSetAssignment();
-                    var outLabels = getLabelFromString(behaviorString.replaceFirst("set ", "")
-                            .trim(), dd);
-                    assignment.getOutputLabels()
-                            .addAll(outLabels);
-                    abstractAssignment = assignment;
-                } else if (behaviorString.startsWith("unset")) {
-                    var assignment = ddFactory.createUnsetAssignment();
-                    var outLabels = getLabelFromString(behaviorString.replaceFirst("unset ", "")
-                            .trim(), dd);
-                    assignment.getOutputLabels()
-                            .addAll(outLabels);
-                    abstractAssignment = assignment;
-                } else if (behaviorString.contains("assign")) {
-                    var assignment = ddFactory.createAssignment();
-                    var outLabels = getLabelFromString(behaviorString.replaceFirst("assign", "")
-                            .split(" if ")[0].trim(), dd);
-                    var remainder = behaviorString.replaceFirst("assign", "")
-                            .split(" if ")[1].trim();
-                    if (remainder.contains(" from ")) {
-                        var inputPins = getInPinsFromString(remainder.split(" from ")[1].trim(), node, dfd);
-                        assignment.getInputPins()
-                                .addAll(inputPins);
-                        remainder = remainder.split(" from ")[0].trim();
-                    }
-                    var term = behaviorConverter.stringToTerm(remainder);
-                    assignment.setTerm(term);
-                    assignment.getOutputLabels()
-                            .addAll(outLabels);
-                    abstractAssignment = assignment;
-                } else {
-                    logger.error("Unrecognized assignment: " + behaviorString);
-                    continue;
-                }
-                abstractAssignment.setOutputPin(outpin);
-                behavior.getAssignment()
-                        .add(abstractAssignment);
-            } catch (ArrayIndexOutOfBoundsException e) {
-                logger.error("Assignment string is invalid: " + behaviorString);
-            }
-        }
-
-    }
-
-    private List<Label> getLabelFromString(String string, DataDictionary dd) {
-        var labels = new ArrayList<Label>();
-        Arrays.asList(string.split(","))
-                .forEach(typeValuePair -> {
-                    if (typeValuePair.trim()
-                            .isEmpty())
-                        return;
-                    String typeName = typeValuePair.split("\\.")[0];
-                    String valueName = typeValuePair.split("\\.")[1];
-
-                    Label value = dd.getLabelTypes()
-                            .stream()
-                            .filter(labelType -> labelType.getEntityName()
-                                    .equals(typeName))
-                            .flatMap(labelType -> labelType.getLabel()
-                                    .stream())
-                            .filter(label -> label.getEntityName()
-                                    .equals(valueName))
-                            .findAny()
-                            .orElse(null);
-                    labels.add(value);
-                });
-        return labels;
+    private void parseBehavior(Node node, Pin outpin, String lines) {
+        List<AbstractAssignment> assignments = behaviorParser.parse(lines, node, e -> logger.error(e.getMessage()));
+        assignments.forEach(it -> it.setOutputPin(outpin));
+        node.getBehavior()
+                .getAssignment()
+                .addAll(assignments);
     }
 
     private void putValue(Map<Node, Map<Pin, String>> nestedHashMap, Node node, Pin pin, String value) {
@@ -311,41 +244,4 @@ public class Web2DFDConverter extends Converter {
                 .put(pin, value);
     }
 
-    private List<Pin> getInPinsFromString(String pinString, Node node, DataFlowDiagram dfd) {
-        List<Pin> inPins = new ArrayList<>();
-        List<String> pinNames = Arrays.asList(pinString.split(DELIMITER_MULTI_PIN + "\\s*"));
-
-        List<Flow> flowsToNode = dfd.getFlows()
-                .stream()
-                .filter(flow -> flow.getDestinationNode() == node)
-                .toList();
-
-        Map<Pin, List<String>> pinToFlowNames = new HashMap<>();
-        for (var flow : flowsToNode) {
-            fillPinToFlowNamesMap(pinToFlowNames, flow);
-        }
-
-        pinNames.forEach(pinName -> {
-            List<String> incomingFlowNames = Arrays.asList(pinName.split(Pattern.quote(DELIMITER_PIN_NAME)));
-            pinToFlowNames.keySet()
-                    .forEach(key -> {
-                        if (new HashSet<>(pinToFlowNames.get(key)).containsAll(incomingFlowNames))
-                            inPins.add(key);
-                    });
-        });
-
-        return inPins;
-    }
-
-    private void fillPinToFlowNamesMap(Map<Pin, List<String>> map, Flow flow) {
-        if (map.containsKey(flow.getDestinationPin())) {
-            map.get(flow.getDestinationPin())
-                    .add(flow.getEntityName());
-        } else {
-            List<String> flowNames = new ArrayList<>();
-            flowNames.add(flow.getEntityName());
-            map.put(flow.getDestinationPin(), flowNames);
-        }
-    }
-
 }
@@ -1,31 +1,50 @@
 package org.dataflowanalysis.converter.tests;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import org.dataflowanalysis.analysis.core.AbstractVertex;
 import org.dataflowanalysis.analysis.core.CharacteristicValue;
+import org.dataflowanalysis.analysis.dfd.core.DFDTransposeFlowGraphFinder;
+import org.dataflowanalysis.analysis.dfd.simple.DFDSimpleTransposeFlowGraphFinder;
+import org.dataflowanalysis.converter.dfd2web.AnalysisBudget;
+import org.dataflowanalysis.converter.dfd2web.ConditionStatistics;
 import org.dataflowanalysis.converter.dfd2web.DFD2WebConverter;
 import org.dataflowanalysis.converter.dfd2web.DataFlowDiagramAndDictionary;
+import org.dataflowanalysis.converter.dfd2web.LabelPropagationMode;
+import org.dataflowanalysis.converter.dfd2web.TransposeFlowGraphCache;
 import org.dataflowanalysis.converter.web2dfd.model.Annotation;
+import org.dataflowanalysis.converter.web2dfd.model.Child;
+import org.dataflowanalysis.dfd.datadictionary.AND;
 import org.dataflowanalysis.dfd.datadictionary.Assignment;
 import org.dataflowanalysis.dfd.datadictionary.Behavior;
 import org.dataflowanalysis.dfd.datadictionary.DataDictionary;
 import org.dataflowanalysis.dfd.datadictionary.ForwardingAssignment;
 import org.dataflowanalysis.dfd.datadictionary.Label;
+import org.dataflowanalysis.dfd.datadictionary.LabelReference;
 import org.dataflowanalysis.dfd.datadictionary.LabelType;
+import org.dataflowanalysis.dfd.datadictionary.NOT;
+import org.dataflowanalysis.dfd.datadictionary.OR;
 import org.dataflowanalysis.dfd.datadictionary.Pin;
+import org.dataflowanalysis.dfd.datadictionary.SetAssignment;
+import org.dataflowanalysis.dfd.datadictionary.Term;
 import org.dataflowanalysis.dfd.datadictionary.datadictionaryFactory;
 import org.dataflowanalysis.dfd.dataflowdiagram.DataFlowDiagram;
 import org.dataflowanalysis.dfd.dataflowdiagram.Flow;
 import org.dataflowanalysis.dfd.dataflowdiagram.Node;
 import org.dataflowanalysis.dfd.dataflowdiagram.dataflowdiagramFactory;
+import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -149,6 +168,392 @@ public class AnnotationsTest {
         assertNull(nodeNameToAnnotationMap.get("c"));
     }
 
+    @Test
+    public void testParallelViolationsAnnotation() {
+        Label label = ddFactory.createLabel();
+        label.setEntityName("violation");
+        type.getLabel()
+                .add(label);
+        b.getProperties()
+                .add(label);
+        List<Predicate<? super AbstractVertex<?>>> conditions = new ArrayList<>();
+        conditions.add(this::condition);
+        conditions.add(null);
+        conditions.add(vertex -> false);
+        dfd2WebConverter.setConditions(conditions);
+
+        var sequentialDfd = dfd2WebConverter.convert(new DataFlowDiagramAndDictionary(dataFlowDiagram, dataDictionary));
+        dfd2WebConverter.setParallel(true);
+        var parallelDfd = dfd2WebConverter.convert(new DataFlowDiagramAndDictionary(dataFlowDiagram, dataDictionary));
+
+        assertEquals(sequentialDfd.getModel()
+                .model()
+                .children(),
+                parallelDfd.getModel()
+                        .model()
+                        .children());
+        List<ConditionStatistics> statistics = dfd2WebConverter.getConditionStatistics();
+        assertEquals(2, statistics.size());
+        assertEquals(0, statistics.get(0)
+                .condition());
+        assertEquals(1, statistics.get(0)
+                .violations());
+        assertEquals(2, statistics.get(1)
+                .condition());
+        assertEquals(0, statistics.get(1)
+                .violations());
+    }
+
+    @Test
+    public void testTransposeFlowGraphCache() {
+        TransposeFlowGraphCache cache = new TransposeFlowGraphCache(100);
+        dfd2WebConverter.setTransposeFlowGraphCache(cache);
+        var uncachedDfd = dfd2WebConverter.convert(new DataFlowDiagramAndDictionary(dataFlowDiagram, dataDictionary));
+        dfd2WebConverter.setReadOnly(true);
+        var cachedDfd = dfd2WebConverter.convert(new DataFlowDiagramAndDictionary(dataFlowDiagram, dataDictionary));
+
+        EcoreUtil.Copier copier = new EcoreUtil.Copier();
+        DataFlowDiagram copiedDiagram = (DataFlowDiagram) copier.copy(dataFlowDiagram);
+        DataDictionary copiedDictionary = (DataDictionary) copier.copy(dataDictionary);
+        copier.copyReferences();
+        var copiedDfd = dfd2WebConverter.convert(new DataFlowDiagramAndDictionary(copiedDiagram, copiedDictionary));
+
+        assertEquals(1, cache.getMisses());
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.size());
+        assertEquals(uncachedDfd.getModel()
+                .model()
+                .children(),
+                cachedDfd.getModel()
+                        .model()
+                        .children());
+        assertEquals(uncachedDfd.getModel()
+                .model()
+                .children(),
+                copiedDfd.getModel()
+                        .model()
+                        .children());
+
+        dfd2WebConverter.setTransposeFlowGraphFinder(DFDSimpleTransposeFlowGraphFinder.class);
+        dfd2WebConverter.convert(new DataFlowDiagramAndDictionary(dataFlowDiagram, dataDictionary));
+        assertEquals(2, cache.getMisses());
+        assertEquals(2, cache.size());
+
+        TransposeFlowGraphCache smallCache = new TransposeFlowGraphCache(2);
+        dfd2WebConverter.setTransposeFlowGraphCache(smallCache);
+        dfd2WebConverter.convert(new DataFlowDiagramAndDictionary(dataFlowDiagram, dataDictionary));
+        assertEquals(0, smallCache.size());
+    }
+
+    @Test
+    public void testFingerprintOfDeepTerms() {
+        Label other = createLabel("other");
+        other.setId("other");
+        Label value = type.getLabel()
+                .get(0);
+        value.setId("value");
+        LabelReference innermost = createReference("value");
+        Term term = innermost;
+        for (int i = 0; i < 20_000; i++) {
+            AND and = ddFactory.createAND();
+            and.getTerms()
+                    .addAll(List.of(term, negate(createReference(i % 2 == 0 ? "value" : "other"))));
+            term = and;
+        }
+        Node c = dataFlowDiagram.getNodes()
+                .get(2);
+        c.getBehavior()
+                .getAssignment()
+                .add(createAssignment(c, term, value));
+
+        String fingerprint = TransposeFlowGraphCache.computeFingerprint(new DataFlowDiagramAndDictionary(dataFlowDiagram, dataDictionary));
+        assertEquals(fingerprint, TransposeFlowGraphCache.computeFingerprint(new DataFlowDiagramAndDictionary(dataFlowDiagram, dataDictionary)));
+        innermost.setLabel(other);
+        assertNotEquals(fingerprint,
+                TransposeFlowGraphCache.computeFingerprint(new DataFlowDiagramAndDictionary(dataFlowDiagram, dataDictionary)));
+    }
+
+    @Test
+    public void testAnalysisBudget() {
+        dfd2WebConverter.setAutomaticFinderSelection(true);
+        dfd2WebConverter.setAnalysisBudget(new AnalysisBudget(10, 100, Duration.ofMinutes(1)));
+        Map<String, String> budgetedAnnotations = getPropagatedLabels();
+        assertTrue(dfd2WebConverter.getPartialAnalysisReason()
+                .isEmpty());
+        assertEquals("type.value", budgetedAnnotations.get("a"));
+
+        dfd2WebConverter.setAnalysisBudget(new AnalysisBudget(10, 2, Duration.ofMinutes(1)));
+        Map<String, String> partialAnnotations = getPropagatedLabels();
+        assertTrue(dfd2WebConverter.getPartialAnalysisReason()
+                .isPresent());
+        String partialAnalysis = "PartialAnalysis: " + dfd2WebConverter.getPartialAnalysisReason()
+                .get();
+        assertEquals(partialAnalysis + ",type.value", partialAnnotations.get("a"));
+        assertEquals(partialAnalysis + ",type.value", partialAnnotations.get("b"));
+        assertEquals(partialAnalysis, partialAnnotations.get("c"));
+    }
+
+    @Test
+    public void testAutomaticFinderSelectionForCyclicDiagram() {
+        Node c = dataFlowDiagram.getNodes()
+                .get(2);
+        createFlow(c, b, null, b.getBehavior()
+                .getInPin()
+                .get(0), "c2b");
+
+        dfd2WebConverter.setTransposeFlowGraphFinder(DFDTransposeFlowGraphFinder.class);
+        Map<String, String> expectedAnnotations = getPropagatedLabels();
+
+        dfd2WebConverter = new DFD2WebConverter();
+        dfd2WebConverter.setAutomaticFinderSelection(true);
+        dfd2WebConverter.setAnalysisBudget(new AnalysisBudget(100, 1000, Duration.ofMinutes(1)));
+        Map<String, String> annotations = getPropagatedLabels();
+        assertTrue(dfd2WebConverter.getPartialAnalysisReason()
+                .isEmpty());
+        assertEquals(expectedAnnotations, annotations);
+        assertEquals("type.value", annotations.get("b"));
+        assertEquals("type.value", annotations.get("c"));
+    }
+
+    @Test
+    public void testAnalysisTimeout() {
+        // Every path through the layers is a transpose flow graph and the flows back to b make the diagram cyclic
+        List<Node> previousLayer = List.of(b);
+        List<Node> layeredNodes = new ArrayList<>();
+        for (int layer = 0; layer < 10; layer++) {
+            List<Node> currentLayer = List.of(createNode("l" + layer + "a"), createNode("l" + layer + "b"));
+            for (Node destination : currentLayer) {
+                for (Node source : previousLayer) {
+                    Pin sourcePin = getFirstPin(source.getBehavior()
+                            .getOutPin());
+                    Pin destinationPin = getFirstPin(destination.getBehavior()
+                            .getInPin());
+                    createFlow(source, destination, sourcePin, destinationPin, source.getEntityName() + "2" + destination.getEntityName());
+                }
+            }
+            layeredNodes.addAll(currentLayer);
+            previousLayer = currentLayer;
+        }
+        for (Node source : previousLayer) {
+            createFlow(source, b, null, b.getBehavior()
+                    .getInPin()
+                    .get(0), source.getEntityName() + "2b");
+        }
+        layeredNodes.forEach(node -> node.getBehavior()
+                .getAssignment()
+                .add(createForwarding(node)));
+
+        dfd2WebConverter.setAutomaticFinderSelection(true);
+        dfd2WebConverter.setAnalysisBudget(new AnalysisBudget(Long.MAX_VALUE, Long.MAX_VALUE, Duration.ofNanos(1)));
+        Set<Thread> previousThreads = getAnalysisThreads();
+        for (int i = 0; i < 10; i++) {
+            Map<String, String> annotations = assertTimeout(Duration.ofSeconds(30), this::getPropagatedLabels);
+            String reason = dfd2WebConverter.getPartialAnalysisReason()
+                    .orElseThrow();
+            assertTrue(reason.startsWith("Analysis did not finish") || reason.startsWith("Previous analysis"), reason);
+            assertEquals("PartialAnalysis: " + reason + ",type.value", annotations.get("l9b"));
+
+            // An abandoned analysis is not started again while it is still running
+            assertTrue(getAnalysisThreads().stream()
+                    .filter(it -> !previousThreads.contains(it))
+                    .count() <= 1);
+        }
+    }
+
+    @Test
+    public void testWorklistLabelPropagation() {
+        Label other = ddFactory.createLabel();
+        other.setEntityName("other");
+        type.getLabel()
+                .add(other);
+        Node a = dataFlowDiagram.getNodes()
+                .get(0);
+        Node d = createNode("d");
+        Node e = createNode("e");
+        createFlow(a, d, a.getBehavior()
+                .getOutPin()
+                .get(0), null, "a2d");
+        createFlow(d, e, null, null, "d2e");
+        createFlow(b, e, null, null, "b2e");
+
+        ForwardingAssignment forwardingAssignment = ddFactory.createForwardingAssignment();
+        forwardingAssignment.getInputPins()
+                .addAll(d.getBehavior()
+                        .getInPin());
+        forwardingAssignment.setOutputPin(d.getBehavior()
+                .getOutPin()
+                .get(0));
+        SetAssignment setAssignment = ddFactory.createSetAssignment();
+        setAssignment.getOutputLabels()
+                .add(other);
+        setAssignment.setOutputPin(d.getBehavior()
+                .getOutPin()
+                .get(0));
+        d.getBehavior()
+                .getAssignment()
+                .addAll(List.of(forwardingAssignment, setAssignment));
+
+        // A negated term must not fire, because the node is listed before the predecessor that provides the label
+        Node n = createNode("n");
+        dataFlowDiagram.getNodes()
+                .move(0, n);
+        createFlow(a, n, a.getBehavior()
+                .getOutPin()
+                .get(0), null, "a2n");
+        createFlow(n, dataFlowDiagram.getNodes()
+                .get(3), null, null, "n2c");
+        n.getBehavior()
+                .getAssignment()
+                .addAll(List.of(createForwarding(n), createAssignment(n, negate(createReference("value")), other)));
+
+        Map<String, String> transposeFlowGraphAnnotations = getPropagatedLabels();
+        dfd2WebConverter.setLabelPropagationMode(LabelPropagationMode.WORKLIST);
+        Map<String, String> worklistAnnotations = getPropagatedLabels();
+
+        assertEquals(transposeFlowGraphAnnotations, worklistAnnotations);
+        assertEquals("type.other,type.value", worklistAnnotations.get("d"));
+        assertEquals("type.value", worklistAnnotations.get("n"));
+        assertNull(worklistAnnotations.get("e"));
+    }
+
+    @Test
+    public void testPropagationOfLabelsWithoutType() {
+        // Labels created for unknown references or removed from the dictionary have no label type
+        Label dangling = ddFactory.createLabel();
+        dangling.setEntityName("Undefined.value");
+        Node a = dataFlowDiagram.getNodes()
+                .get(0);
+        a.getBehavior()
+                .getAssignment()
+                .add(createAssignment(a, ddFactory.createTRUE(), dangling));
+
+        dfd2WebConverter.setLabelPropagationMode(LabelPropagationMode.WORKLIST);
+        Map<String, String> annotations = getPropagatedLabels();
+        assertEquals("Undefined.value,type.value", annotations.get("a"));
+        assertEquals("Undefined.value,type.value", annotations.get("b"));
+    }
+
+    @Test
+    public void testWorklistLabelPropagationAtJoins() {
+        Label other = createLabel("other");
+        Label joined = createLabel("joined");
+        Label either = createLabel("either");
+        Node a = dataFlowDiagram.getNodes()
+                .get(0);
+        Node c = dataFlowDiagram.getNodes()
+                .get(2);
+        Node s = createNode("s");
+        Node j = createNode("j");
+        Flow a2j = createFlow(a, j, a.getBehavior()
+                .getOutPin()
+                .get(0), null, "a2j");
+        createFlow(s, j, null, a2j.getDestinationPin(), "s2j");
+        createFlow(j, c, null, null, "j2c");
+        s.getBehavior()
+                .getAssignment()
+                .add(createAssignment(s, ddFactory.createTRUE(), other));
+
+        // Labels of both flows into the same pin are merged, although each transpose flow graph only contains one flow
+        AND both = ddFactory.createAND();
+        both.getTerms()
+                .addAll(List.of(createReference("value"), createReference("other")));
+        OR any = ddFactory.createOR();
+        any.getTerms()
+                .addAll(List.of(createReference("value"), createReference("other")));
+        j.getBehavior()
+                .getAssignment()
+                .addAll(List.of(createForwarding(j), createAssignment(j, both, joined), createAssignment(j, any, either)));
+
+        Map<String, String> transposeFlowGraphAnnotations = getPropagatedLabels();
+        dfd2WebConverter.setLabelPropagationMode(LabelPropagationMode.WORKLIST);
+        Map<String, String> worklistAnnotations = getPropagatedLabels();
+
+        assertEquals("type.either,type.other,type.value", transposeFlowGraphAnnotations.get("j"));
+        assertEquals("type.either,type.joined,type.other,type.value", worklistAnnotations.get("j"));
+        transposeFlowGraphAnnotations.remove("j");
+        worklistAnnotations.remove("j");
+        assertEquals(transposeFlowGraphAnnotations, worklistAnnotations);
+    }
+
+    private Label createLabel(String name) {
+        Label label = ddFactory.createLabel();
+        label.setEntityName(name);
+        type.getLabel()
+                .add(label);
+        return label;
+    }
+
+    private LabelReference createReference(String labelName) {
+        LabelReference reference = ddFactory.createLabelReference();
+        reference.setLabel(type.getLabel()
+                .stream()
+                .filter(it -> it.getEntityName()
+                        .equals(labelName))
+                .findFirst()
+                .orElseThrow());
+        return reference;
+    }
+
+    private NOT negate(Term term) {
+        NOT not = ddFactory.createNOT();
+        not.setNegatedTerm(term);
+        return not;
+    }
+
+    private ForwardingAssignment createForwarding(Node node) {
+        ForwardingAssignment forwardingAssignment = ddFactory.createForwardingAssignment();
+        forwardingAssignment.getInputPins()
+                .addAll(node.getBehavior()
+                        .getInPin());
+        forwardingAssignment.setOutputPin(node.getBehavior()
+                .getOutPin()
+                .get(0));
+        return forwardingAssignment;
+    }
+
+    private Assignment createAssignment(Node node, Term term, Label label) {
+        Assignment assignment = ddFactory.createAssignment();
+        assignment.getInputPins()
+                .addAll(node.getBehavior()
+                        .getInPin());
+        assignment.setOutputPin(node.getBehavior()
+                .getOutPin()
+                .get(0));
+        assignment.setTerm(term);
+        assignment.getOutputLabels()
+                .add(label);
+        return assignment;
+    }
+
+    private Pin getFirstPin(List<Pin> pins) {
+        return pins.isEmpty() ? null : pins.get(0);
+    }
+
+    private Set<Thread> getAnalysisThreads() {
+        return Thread.getAllStackTraces()
+                .keySet()
+                .stream()
+                .filter(it -> it.getName()
+                        .equals("dfd2web-analysis") && it.isAlive())
+                .collect(Collectors.toSet());
+    }
+
+    private Map<String, String> getPropagatedLabels() {
+        var webDfd = dfd2WebConverter.convert(new DataFlowDiagramAndDictionary(dataFlowDiagram, dataDictionary));
+        return webDfd.getModel()
+                .model()
+                .children()
+                .stream()
+                .filter(child -> child.type()
+                        .startsWith("node") && child.annotation() != null)
+                .collect(Collectors.toMap(Child::text, child -> child.annotation()
+                        .message()
+                        .lines()
+                        .filter(line -> !line.equals("PropagatedLabels:"))
+                        .sorted()
+                        .collect(Collectors.joining(","))));
+    }
+
     private boolean condition(AbstractVertex<?> node) {
         List<String> properties = node.getVertexCharacteristics("type")
                 .stream()
@@ -1,13 +1,22 @@
 package org.dataflowanalysis.converter.tests;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import org.dataflowanalysis.converter.dfd2web.AnnotationMode;
 import org.dataflowanalysis.converter.dfd2web.DFD2WebConverter;
 import org.dataflowanalysis.converter.dfd2web.DataFlowDiagramAndDictionary;
+import org.dataflowanalysis.converter.util.IncomingFlowIndex;
+import org.dataflowanalysis.converter.util.LabelRegistry;
 import org.dataflowanalysis.converter.web2dfd.BehaviorConverter;
+import org.dataflowanalysis.converter.web2dfd.BehaviorParseException;
+import org.dataflowanalysis.converter.web2dfd.BehaviorParser;
 import org.dataflowanalysis.converter.web2dfd.model.Child;
 import org.dataflowanalysis.converter.web2dfd.model.WebEditorDfd;
 import org.dataflowanalysis.dfd.datadictionary.*;
@@ -18,6 +27,8 @@ import org.dataflowanalysis.dfd.dataflowdiagram.DataFlowDiagram;
 import org.dataflowanalysis.dfd.dataflowdiagram.Flow;
 import org.dataflowanalysis.dfd.dataflowdiagram.Node;
 import org.dataflowanalysis.dfd.dataflowdiagram.dataflowdiagramFactory;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -26,6 +37,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 
 public class BehaviorTest {
     private BehaviorConverter behaviourConverter;
+    private LabelRegistry labelRegistry;
     private DFD2WebConverter dfd2WebConverter;
     private final dataflowdiagramFactory dfdFactory = dataflowdiagramFactory.eINSTANCE;
     private final datadictionaryFactory ddFactory = datadictionaryFactory.eINSTANCE;
@@ -38,6 +50,13 @@ public class BehaviorTest {
         dataFlowDiagram = dfdFactory.createDataFlowDiagram();
         dataDictionary = ddFactory.createDataDictionary();
         behaviourConverter = new BehaviorConverter(dataDictionary);
+        labelRegistry = new LabelRegistry(dataDictionary);
+    }
+
+    @AfterEach
+    public void close() {
+        behaviourConverter.close();
+        labelRegistry.close();
     }
 
     @ParameterizedTest
@@ -48,19 +67,164 @@ public class BehaviorTest {
             "!((TypeA.ValueA && (TypeB.ValueB || !TypeC.ValueC)) || (!(TypeD.ValueD && TypeE.ValueE) && (TypeF.ValueF || TypeG.ValueG)))"})
     @DisplayName("Test Behavior Conversion")
     void testBehaviorConversion(String behavior) {
-        for (char c = 'A'; c <= 'G'; c++) {
-            LabelType type = ddFactory.createLabelType();
-            type.setEntityName("Type" + c);
-            Label label = ddFactory.createLabel();
-            label.setEntityName("Value" + c);
-            type.getLabel()
-                    .add(label);
-            dataDictionary.getLabelTypes()
-                    .add(type);
-        }
+        createLabelTypes('G');
         assertEquals(behavior, behaviourConverter.termToString(behaviourConverter.stringToTerm(behavior)));
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"TRUE || FALSE", "TypeA.ValueA && TypeB.ValueB", "TypeA.ValueA || TypeB.ValueB", "!TypeA.ValueA && TypeB.ValueB",
+            "TypeA.ValueA || !TypeB.ValueB", "(TypeA.ValueA && TypeB.ValueB) || TypeC.ValueC", "!(TypeA.ValueA || TypeB.ValueB) && TypeC.ValueC",
+            "((TypeA.ValueA && TRUE) || !TypeB.ValueB) || FALSE", "(!TypeA.ValueA && TypeB.ValueB) || (TypeC.ValueC && !TypeD.ValueD)",
+            "((TypeA.ValueA || !TypeB.ValueB) && TypeC.ValueC) || (TypeD.ValueD && !(TypeE.ValueE || TypeF.ValueF))",
+            "!((TypeA.ValueA && (TypeB.ValueB || !TypeC.ValueC)) || (!(TypeD.ValueD && TypeE.ValueE) && (TypeF.ValueF || TypeG.ValueG)))"})
+    @DisplayName("Test parsing conditions of web editor assignments")
+    void testBehaviorParserConditions(String behavior) {
+        createLabelTypes('G');
+        BehaviorParser parser = new BehaviorParser(labelRegistry, new IncomingFlowIndex(dataFlowDiagram));
+        List<BehaviorParseException> errors = new ArrayList<>();
+
+        List<AbstractAssignment> assignments = parser.parse("assign TypeA.ValueA if " + behavior, createNode("a"), errors::add);
+
+        assertEquals(List.of(), errors);
+        assertEquals(1, assignments.size());
+        Term parsedTerm = ((Assignment) assignments.get(0)).getTerm();
+        assertEquals(behavior, behaviourConverter.termToString(parsedTerm));
+        assertTrue(EcoreUtil.equals(behaviourConverter.stringToTerm(behavior), parsedTerm));
+    }
+
+    @Test
+    @DisplayName("Test parsing web editor assignments")
+    void testBehaviorParser() {
+        createLabelTypes('B');
+        Node a = createNode("a");
+        Node b = createNode("b");
+        Node c = createNode("c");
+        createFlow(a, c, null, null, "a2c");
+        Pin destinationPin = c.getBehavior()
+                .getInPin()
+                .get(0);
+        createFlow(b, c, null, destinationPin, "b2c");
+        createFlow(b, c, null, null, "b2c_2");
+        BehaviorParser parser = new BehaviorParser(labelRegistry, new IncomingFlowIndex(dataFlowDiagram));
+        List<BehaviorParseException> errors = new ArrayList<>();
+
+        String behavior = """
+                forward a2c|b2c, b2c_2
+                set TypeA.ValueA,TypeB.ValueB
+
+                unset TypeB.ValueB
+                assign TypeA.ValueA if TypeB.ValueB from b2c_2
+                """;
+        List<AbstractAssignment> assignments = parser.parse(behavior, c, errors::add);
+
+        assertEquals(List.of(), errors);
+        assertEquals(4, assignments.size());
+        ForwardingAssignment forwardingAssignment = (ForwardingAssignment) assignments.get(0);
+        assertEquals(c.getBehavior()
+                .getInPin(), forwardingAssignment.getInputPins());
+        assertEquals(List.of("ValueA", "ValueB"), ((SetAssignment) assignments.get(1)).getOutputLabels()
+                .stream()
+                .map(Label::getEntityName)
+                .toList());
+        assertEquals(1, ((UnsetAssignment) assignments.get(2)).getOutputLabels()
+                .size());
+        Assignment assignment = (Assignment) assignments.get(3);
+        assertEquals("TypeB.ValueB", behaviourConverter.termToString(assignment.getTerm()));
+        assertEquals(List.of(c.getBehavior()
+                .getInPin()
+                .get(1)), assignment.getInputPins());
+    }
+
+    @Test
+    @DisplayName("Test resolving cached web editor assignments")
+    void testBehaviorParserCache() {
+        createLabelTypes('A');
+        Node a = createNode("a");
+        Node b = createNode("b");
+        Node c = createNode("c");
+        createFlow(a, b, null, null, "data");
+        createFlow(a, c, null, null, "data");
+        BehaviorParser parser = new BehaviorParser(labelRegistry, new IncomingFlowIndex(dataFlowDiagram));
+        List<BehaviorParseException> errors = new ArrayList<>();
+
+        String behavior = "forward data\nassign TypeA.ValueA if !TypeA.ValueA from data\nset TypeA.Unknown";
+        List<AbstractAssignment> first = parser.parse(behavior, b, errors::add);
+        List<AbstractAssignment> second = parser.parse(behavior, c, errors::add);
+
+        assertEquals(1, parser.getHits());
+        assertEquals(1, parser.getMisses());
+        assertEquals(0.5, parser.getHitRatio());
+        assertEquals(List.of(3, 3), errors.stream()
+                .map(BehaviorParseException::getLine)
+                .toList());
+        for (var entry : List.of(Map.entry(b, first), Map.entry(c, second))) {
+            List<Pin> inPins = entry.getKey()
+                    .getBehavior()
+                    .getInPin();
+            assertEquals(2, entry.getValue()
+                    .size());
+            assertEquals(inPins, ((ForwardingAssignment) entry.getValue()
+                    .get(0)).getInputPins());
+            assertEquals(inPins, ((Assignment) entry.getValue()
+                    .get(1)).getInputPins());
+        }
+        Term firstTerm = ((Assignment) first.get(1)).getTerm();
+        Term secondTerm = ((Assignment) second.get(1)).getTerm();
+        assertNotSame(firstTerm, secondTerm);
+        assertTrue(EcoreUtil.equals(firstTerm, secondTerm));
+    }
+
+    @Test
+    @DisplayName("Test errors of parsing web editor assignments")
+    void testBehaviorParserErrors() {
+        createLabelTypes('A');
+        BehaviorParser parser = new BehaviorParser(labelRegistry, new IncomingFlowIndex(dataFlowDiagram));
+        List<BehaviorParseException> errors = new ArrayList<>();
+
+        String behavior = String.join("\n", "set TypeA.ValueA", "assign TypeA.ValueA if TypeA.ValueA &&", "copy TypeA.ValueA",
+                "assign TypeA.ValueA if (TypeA.ValueA from a2b", "set TypeA.Unknown", "assign TypeA.ValueA TRUE", "unset TypeA.ValueA");
+        List<AbstractAssignment> assignments = parser.parse(behavior, createNode("a"), errors::add);
+
+        assertEquals(2, assignments.size());
+        assertEquals(List.of(List.of(2, 39), List.of(3, 1), List.of(4, 24), List.of(5, 5), List.of(6, 8)), errors.stream()
+                .map(it -> List.of(it.getLine(), it.getColumn()))
+                .toList());
+    }
+
+    @Test
+    @DisplayName("Test cached Behavior Conversion")
+    void testCachedBehaviorConversion() {
+        LabelType type = ddFactory.createLabelType();
+        type.setEntityName("TypeA");
+        Label label = ddFactory.createLabel();
+        label.setEntityName("ValueA");
+        type.getLabel()
+                .add(label);
+        dataDictionary.getLabelTypes()
+                .add(type);
+        behaviourConverter.setCacheTerms(true);
+
+        String behavior = "TypeA.ValueA && !Unknown.Value";
+        Term first = behaviourConverter.stringToTerm(behavior);
+        Term second = behaviourConverter.stringToTerm(behavior);
+
+        assertNotSame(first, second);
+        AND firstAnd = (AND) first;
+        AND secondAnd = (AND) second;
+        assertSame(label, ((LabelReference) secondAnd.getTerms()
+                .get(0)).getLabel());
+        assertSame(((LabelReference) ((NOT) firstAnd.getTerms()
+                .get(1)).getNegatedTerm()).getLabel(),
+                ((LabelReference) ((NOT) secondAnd.getTerms()
+                        .get(1)).getNegatedTerm()).getLabel());
+        assertEquals(1, behaviourConverter.getTermTemplateCache()
+                .orElseThrow()
+                .getMisses());
+        assertEquals(1, behaviourConverter.getTermTemplateCache()
+                .orElseThrow()
+                .getHits());
+    }
+
     @Test
     void testAssignmentConversion() {
         Node a = createNode("a");
@@ -139,6 +303,92 @@ public class BehaviorTest {
                 List.of("assign type.value,type.value2 if !(type.value && TRUE) from a2b", "set type.value", "unset type.value2"));
     }
 
+    @Test
+    @DisplayName("Test conversion of conditions with many operands")
+    void testLongConditionConversion() {
+        final int operandCount = 20_000;
+        LabelType type = ddFactory.createLabelType();
+        type.setEntityName("Type");
+        List<String> operands = new ArrayList<>();
+        AND flatAnd = ddFactory.createAND();
+        for (int i = 0; i < operandCount; i++) {
+            Label label = ddFactory.createLabel();
+            label.setEntityName("Value" + i);
+            type.getLabel()
+                    .add(label);
+            operands.add("Type.Value" + i);
+            LabelReference labelReference = ddFactory.createLabelReference();
+            labelReference.setLabel(label);
+            NOT not = ddFactory.createNOT();
+            not.setNegatedTerm(labelReference);
+            flatAnd.getTerms()
+                    .add(not);
+        }
+        dataDictionary.getLabelTypes()
+                .add(type);
+
+        // Parsed chains are nested to the left, so every operator except the outermost one is parenthesized
+        String chain = String.join(" && ", operands);
+        StringBuilder expected = new StringBuilder("(".repeat(operandCount - 2));
+        expected.append(operands.get(0))
+                .append(" && ")
+                .append(operands.get(1));
+        for (int i = 2; i < operandCount; i++) {
+            expected.append(") && ")
+                    .append(operands.get(i));
+        }
+        assertEquals(expected.toString(), behaviourConverter.termToString(behaviourConverter.stringToTerm(chain)));
+
+        String flat = operands.stream()
+                .map(it -> "!" + it)
+                .collect(Collectors.joining(" && "));
+        assertEquals(flat, behaviourConverter.termToString(flatAnd));
+    }
+
+    @Test
+    void testLongConditionWebConversion() {
+        final int operandCount = 20_000;
+        LabelType type = ddFactory.createLabelType();
+        type.setEntityName("Type");
+        List<String> operands = new ArrayList<>();
+        for (int i = 0; i < operandCount; i++) {
+            Label label = ddFactory.createLabel();
+            label.setEntityName("Value" + i);
+            type.getLabel()
+                    .add(label);
+            operands.add("Type.Value" + i);
+        }
+        dataDictionary.getLabelTypes()
+                .add(type);
+
+        Node a = createNode("a");
+        Pin outPin = ddFactory.createPin();
+        a.getBehavior()
+                .getOutPin()
+                .add(outPin);
+        // Both conditions are parsed separately, so the memoized string of the first one is found by comparing the structure
+        String chain = String.join(" && ", operands);
+        for (int i = 0; i < 2; i++) {
+            Assignment assignment = ddFactory.createAssignment();
+            assignment.setOutputPin(outPin);
+            assignment.setTerm(behaviourConverter.stringToTerm(chain));
+            assignment.getOutputLabels()
+                    .add(type.getLabel()
+                            .get(0));
+            a.getBehavior()
+                    .getAssignment()
+                    .add(assignment);
+        }
+
+        // The analysis is not part of this test, so only the behavior is converted
+        dfd2WebConverter.setAnnotationMode(AnnotationMode.NONE);
+        var webDfd = dfd2WebConverter.convert(new DataFlowDiagramAndDictionary(dataFlowDiagram, dataDictionary));
+        String expected = "assign Type.Value0 if " + behaviourConverter.termToString(behaviourConverter.stringToTerm(chain));
+        testAssignment(webDfd.getModel(), "a", List.of(expected, expected));
+        // The output label and the condition of the second assignment are memoized
+        assertTrue(dfd2WebConverter.getMemoHits() >= 2);
+    }
+
     @Test
     void testFlowNameAndPinDelimiter() {
         Node a = createNode("a");
@@ -227,6 +477,19 @@ public class BehaviorTest {
         return node;
     }
 
+    private void createLabelTypes(char last) {
+        for (char c = 'A'; c <= last; c++) {
+            LabelType type = ddFactory.createLabelType();
+            type.setEntityName("Type" + c);
+            Label label = ddFactory.createLabel();
+            label.setEntityName("Value" + c);
+            type.getLabel()
+                    .add(label);
+            dataDictionary.getLabelTypes()
+                    .add(type);
+        }
+    }
+
     private Flow createFlow(Node sourceNode, Node destinationNode, Pin sourcePin, Pin destinationPin, String name) {
         Flow flow = dfdFactory.createFlow();
         flow.setDestinationNode(destinationNode);
@@ -0,0 +1,640 @@
+package org.dataflowanalysis.converter.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import org.apache.log4j.Logger;
+import org.dataflowanalysis.analysis.core.AbstractVertex;
+import org.dataflowanalysis.analysis.dfd.simple.DFDSimpleTransposeFlowGraphFinder;
+import org.dataflowanalysis.converter.dfd2web.AnnotationMode;
+import org.dataflowanalysis.converter.dfd2web.DFD2WebConverter;
+import org.dataflowanalysis.converter.dfd2web.DataFlowDiagramAndDictionary;
+import org.dataflowanalysis.converter.pcm2dfd.PCM2DFDConverter;
+import org.dataflowanalysis.converter.pcm2dfd.PCMConverterModel;
+import org.dataflowanalysis.converter.util.IncomingFlowIndex;
+import org.dataflowanalysis.converter.util.LabelRegistry;
+import org.dataflowanalysis.converter.web2dfd.BehaviorConverter;
+import org.dataflowanalysis.converter.web2dfd.BehaviorParser;
+import org.dataflowanalysis.converter.web2dfd.WebEditorConverterModel;
+import org.dataflowanalysis.dfd.datadictionary.AND;
+import org.dataflowanalysis.dfd.datadictionary.AbstractAssignment;
+import org.dataflowanalysis.dfd.datadictionary.Assignment;
+import org.dataflowanalysis.dfd.datadictionary.Behavior;
+import org.dataflowanalysis.dfd.datadictionary.DataDictionary;
+import org.dataflowanalysis.dfd.datadictionary.ForwardingAssignment;
+import org.dataflowanalysis.dfd.datadictionary.Label;
+import org.dataflowanalysis.dfd.datadictionary.LabelReference;
+import org.dataflowanalysis.dfd.datadictionary.LabelType;
+import org.dataflowanalysis.dfd.datadictionary.NOT;
+import org.dataflowanalysis.dfd.datadictionary.Pin;
+import org.dataflowanalysis.dfd.datadictionary.SetAssignment;
+import org.dataflowanalysis.dfd.datadictionary.Term;
+import org.dataflowanalysis.dfd.datadictionary.UnsetAssignment;
+import org.dataflowanalysis.dfd.datadictionary.datadictionaryFactory;
+import org.dataflowanalysis.dfd.dataflowdiagram.DataFlowDiagram;
+import org.dataflowanalysis.dfd.dataflowdiagram.Flow;
+import org.dataflowanalysis.dfd.dataflowdiagram.Node;
+import org.dataflowanalysis.dfd.dataflowdiagram.dataflowdiagramFactory;
+import org.dataflowanalysis.examplemodels.Activator;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures the size and runtime of converter outputs and logs the results. The assertions only guard against
+ * regressions, while the logged numbers are used to compare different converter configurations
+ */
+public class BenchmarkTest extends ConverterTest {
+    private static final int ITERATIONS = 5;
+
+    private final Logger logger = Logger.getLogger(BenchmarkTest.class);
+
+    @Test
+    @DisplayName("Benchmark compact PCM2DFD behavior")
+    public void benchmarkCompactBehavior() throws IOException {
+        final var usageModelPath = Paths.get("scenarios", "pcm", "TravelPlanner", "travelPlanner.usagemodel")
+                .toString();
+        final var allocationPath = Paths.get("scenarios", "pcm", "TravelPlanner", "travelPlanner.allocation")
+                .toString();
+        final var nodeCharPath = Paths.get("scenarios", "pcm", "TravelPlanner", "travelPlanner.nodecharacteristics")
+                .toString();
+        PCMConverterModel converterModel = new PCMConverterModel(TEST_MODELS, usageModelPath, allocationPath, nodeCharPath, Activator.class);
+
+        DataFlowDiagramAndDictionary regular = new PCM2DFDConverter().convert(converterModel);
+        PCM2DFDConverter compactConverter = new PCM2DFDConverter();
+        compactConverter.setCompactBehavior(true);
+        DataFlowDiagramAndDictionary compact = compactConverter.convert(converterModel);
+
+        long regularSize = serializedSize(regular);
+        long compactSize = serializedSize(compact);
+        long regularTime = measureAnalysis(regular);
+        long compactTime = measureAnalysis(compact);
+        logger.info("Regular behavior: " + regularSize + " bytes, analysis in " + regularTime / 1_000_000 + " ms");
+        logger.info("Compact behavior: " + compactSize + " bytes, analysis in " + compactTime / 1_000_000 + " ms");
+
+        assertTrue(compactSize <= regularSize);
+    }
+
+    @Test
+    @DisplayName("Benchmark cached term construction")
+    public void benchmarkTermTemplates() {
+        DataDictionary dataDictionary = datadictionaryFactory.eINSTANCE.createDataDictionary();
+        for (int type = 0; type < 50; type++) {
+            LabelType labelType = datadictionaryFactory.eINSTANCE.createLabelType();
+            labelType.setEntityName("Type" + type);
+            for (int value = 0; value < 20; value++) {
+                Label label = datadictionaryFactory.eINSTANCE.createLabel();
+                label.setEntityName("Value" + value);
+                labelType.getLabel()
+                        .add(label);
+            }
+            dataDictionary.getLabelTypes()
+                    .add(labelType);
+        }
+        List<String> expressions = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            expressions.add("(Type" + i % 50 + ".Value" + i % 20 + " || !Undefined.Value" + i % 10 + ") && Type" + (i + 1) % 50 + ".Value" + i % 7);
+        }
+
+        BehaviorConverter regularConverter = new BehaviorConverter(dataDictionary);
+        BehaviorConverter cachingConverter = new BehaviorConverter(dataDictionary);
+        cachingConverter.setCacheTerms(true);
+        long regularStart = System.nanoTime();
+        List<Term> regularTerms = buildTerms(regularConverter, expressions);
+        long regularTime = System.nanoTime() - regularStart;
+        long cachedStart = System.nanoTime();
+        List<Term> cachedTerms = buildTerms(cachingConverter, expressions);
+        long cachedTime = System.nanoTime() - cachedStart;
+        regularConverter.close();
+        cachingConverter.close();
+
+        long regularTermObjects = countTermObjects(regularTerms);
+        long cachedTermObjects = countTermObjects(cachedTerms);
+        Set<Label> regularLabels = collectLabels(regularTerms);
+        Set<Label> cachedLabels = collectLabels(cachedTerms);
+        logger.info("Regular terms: " + regularTermObjects + " term objects and " + regularLabels.size() + " labels in " + regularTime / 1_000_000
+                + " ms");
+        logger.info("Cached terms: " + cachedTermObjects + " term objects and " + cachedLabels.size() + " labels in " + cachedTime / 1_000_000
+                + " ms, " + cachingConverter.getTermTemplateCache()
+                        .orElseThrow()
+                        .getHits() + " template hits");
+
+        // Terms are contained in their parent, so copies of a template contain as many term objects as parsed terms
+        assertEquals(regularTermObjects, cachedTermObjects);
+        // Labels of the dictionary are always shared, while labels of unknown references are only shared by cached terms
+        assertEquals(100L * ITERATIONS * 200, countDanglingLabels(regularLabels));
+        assertEquals(10, countDanglingLabels(cachedLabels));
+        assertEquals(regularLabels.size() - countDanglingLabels(regularLabels), cachedLabels.size() - countDanglingLabels(cachedLabels));
+    }
+
+    @Test
+    @DisplayName("Benchmark DFD2Web annotation modes")
+    public void benchmarkAnnotationModes() {
+        DataFlowDiagramAndDictionary dfd = createLayeredDiagram(8, 20);
+        List<Predicate<? super AbstractVertex<?>>> conditions = List.of(vertex -> !vertex.getAllIncomingDataCharacteristics()
+                .isEmpty());
+
+        Map<AnnotationMode, Long> annotationCounts = new EnumMap<>(AnnotationMode.class);
+        for (AnnotationMode annotationMode : AnnotationMode.values()) {
+            DFD2WebConverter converter = new DFD2WebConverter();
+            converter.setAnnotationMode(annotationMode);
+            converter.setConditions(conditions);
+            long totalTime = 0;
+            WebEditorConverterModel webEditorDfd = null;
+            for (int i = 0; i < ITERATIONS; i++) {
+                long start = System.nanoTime();
+                webEditorDfd = converter.convert(dfd);
+                totalTime += System.nanoTime() - start;
+            }
+            long annotations = webEditorDfd.getModel()
+                    .model()
+                    .children()
+                    .stream()
+                    .filter(it -> it.annotation() != null)
+                    .count();
+            annotationCounts.put(annotationMode, annotations);
+            logger.info("Annotation mode " + annotationMode + ": " + annotations + " annotations in " + totalTime / ITERATIONS / 1_000_000 + " ms");
+        }
+
+        assertEquals(0, annotationCounts.get(AnnotationMode.NONE));
+        assertEquals(annotationCounts.get(AnnotationMode.PROPAGATED_LABELS), annotationCounts.get(AnnotationMode.PROPAGATED_LABELS_AND_VIOLATIONS));
+    }
+
+    @Test
+    @DisplayName("Benchmark memoized DFD2Web behavior strings")
+    public void benchmarkMemoizedStrings() {
+        DataFlowDiagramAndDictionary dfd = createForwardingDiagram(300, 4, 6);
+
+        DFD2WebConverter regularConverter = new DFD2WebConverter();
+        regularConverter.setAnnotationMode(AnnotationMode.NONE);
+        regularConverter.setMemoizeStrings(false);
+        DFD2WebConverter memoizedConverter = new DFD2WebConverter();
+        memoizedConverter.setAnnotationMode(AnnotationMode.NONE);
+
+        WebEditorConverterModel regular = regularConverter.convert(dfd);
+        WebEditorConverterModel memoized = memoizedConverter.convert(dfd);
+        assertEquals(regular.getModel(), memoized.getModel());
+        assertTrue(memoizedConverter.getMemoHits() > memoizedConverter.getMemoMisses());
+
+        long[] regularMeasurement = measureConversion(regularConverter, dfd);
+        long[] memoizedMeasurement = measureConversion(memoizedConverter, dfd);
+        logger.info("Regular behavior strings: " + regularMeasurement[1] + " bytes allocated in " + regularMeasurement[0] / 1_000_000 + " ms");
+        logger.info("Memoized behavior strings: " + memoizedMeasurement[1] + " bytes allocated in " + memoizedMeasurement[0] / 1_000_000 + " ms, "
+                + memoizedConverter.getMemoHits() + " memo hits, " + memoizedConverter.getMemoMisses() + " memo misses");
+    }
+
+    @Test
+    @DisplayName("Benchmark parsing web editor behavior")
+    public void benchmarkBehaviorParsing() {
+        DataFlowDiagramAndDictionary dfd = createForwardingDiagram(1, 2, 1);
+        Node node = dfd.dataFlowDiagram()
+                .getNodes()
+                .get(2);
+        LabelRegistry labelRegistry = new LabelRegistry(dfd.dataDictionary());
+        IncomingFlowIndex incomingFlowIndex = new IncomingFlowIndex(dfd.dataFlowDiagram());
+        BehaviorConverter behaviorConverter = new BehaviorConverter(labelRegistry);
+        String behavior = String.join("\n", "forward source_0_0|source_1_0,source_0_1", "set Type.Value", "unset Type.Other",
+                "assign Type.Value,Type.Other if (Type.Value && !Type.Other) || (Type.Other && TRUE) || !Type.Value from source_1_1");
+        final int behaviors = ITERATIONS * 2_000;
+
+        long regularAssignments = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < behaviors; i++) {
+            regularAssignments += parseWithSplit(behavior, node, labelRegistry, behaviorConverter, incomingFlowIndex).size();
+        }
+        long regularTime = System.nanoTime() - start;
+        long parsedAssignments = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < behaviors; i++) {
+            // A new parser does not reuse the template of the previous iteration
+            parsedAssignments += new BehaviorParser(labelRegistry, incomingFlowIndex).parse(behavior, node, it -> fail(it.getMessage()))
+                    .size();
+        }
+        long parserTime = System.nanoTime() - start;
+        BehaviorParser cachingParser = new BehaviorParser(labelRegistry, incomingFlowIndex);
+        long cachedAssignments = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < behaviors; i++) {
+            cachedAssignments += cachingParser.parse(behavior, node, it -> fail(it.getMessage()))
+                    .size();
+        }
+        long cachedTime = System.nanoTime() - start;
+        logger.info("Split behavior parsing: " + behaviors * 1_000_000_000L / Math.max(regularTime, 1) + " behaviors per second");
+        logger.info("Single-pass behavior parsing: " + behaviors * 1_000_000_000L / Math.max(parserTime, 1) + " behaviors per second");
+        logger.info("Cached behavior parsing: " + behaviors * 1_000_000_000L / Math.max(cachedTime, 1) + " behaviors per second with hit ratio "
+                + cachingParser.getHitRatio());
+
+        assertEquals(regularAssignments, parsedAssignments);
+        assertEquals(regularAssignments, cachedAssignments);
+        assertEquals(4L * behaviors, parsedAssignments);
+        assertEquals(behaviors - 1, cachingParser.getHits());
+        labelRegistry.close();
+    }
+
+    /**
+     * Parses the given behavior by splitting it with regular expressions and converting the conditions with the
+     * {@link BehaviorConverter}, which was done by the web editor converter before the single-pass parser was added
+     * @param lines Behavior of a web editor port
+     * @param node Node whose incoming flows are used to resolve the referenced pins
+     * @param labelRegistry Label registry of the referenced labels
+     * @param behaviorConverter Behavior converter that converts the conditions
+     * @param incomingFlowIndex Index of the incoming flows of the node
+     * @return Returns the parsed assignments
+     */
+    private List<AbstractAssignment> parseWithSplit(String lines, Node node, LabelRegistry labelRegistry, BehaviorConverter behaviorConverter,
+            IncomingFlowIndex incomingFlowIndex) {
+        datadictionaryFactory ddFactory = datadictionaryFactory.eINSTANCE;
+        List<AbstractAssignment> assignments = new ArrayList<>();
+        for (String line : lines.split("\n")) {
+            if (line.startsWith("forward")) {
+                ForwardingAssignment assignment = ddFactory.createForwardingAssignment();
+                assignment.getInputPins()
+                        .addAll(getPinsWithSplit(line.replaceFirst("forward ", "")
+                                .trim(), node, incomingFlowIndex));
+                assignments.add(assignment);
+            } else if (line.startsWith("set")) {
+                SetAssignment assignment = ddFactory.createSetAssignment();
+                assignment.getOutputLabels()
+                        .addAll(getLabelsWithSplit(line.replaceFirst("set ", "")
+                                .trim(), labelRegistry));
+                assignments.add(assignment);
+            } else if (line.startsWith("unset")) {
+                UnsetAssignment assignment = ddFactory.createUnsetAssignment();
+                assignment.getOutputLabels()
+                        .addAll(getLabelsWithSplit(line.replaceFirst("unset ", "")
+                                .trim(), labelRegistry));
+                assignments.add(assignment);
+            } else if (line.contains("assign")) {
+                Assignment assignment = ddFactory.createAssignment();
+                assignment.getOutputLabels()
+                        .addAll(getLabelsWithSplit(line.replaceFirst("assign", "")
+                                .split(" if ")[0].trim(), labelRegistry));
+                String remainder = line.replaceFirst("assign", "")
+                        .split(" if ")[1].trim();
+                if (remainder.contains(" from ")) {
+                    assignment.getInputPins()
+                            .addAll(getPinsWithSplit(remainder.split(" from ")[1].trim(), node, incomingFlowIndex));
+                    remainder = remainder.split(" from ")[0].trim();
+                }
+                assignment.setTerm(behaviorConverter.stringToTerm(remainder));
+                assignments.add(assignment);
+            }
+        }
+        return assignments;
+    }
+
+    private List<Label> getLabelsWithSplit(String labels, LabelRegistry labelRegistry) {
+        List<Label> result = new ArrayList<>();
+        for (String typeValuePair : labels.split(",")) {
+            if (!typeValuePair.trim()
+                    .isEmpty()) {
+                result.add(labelRegistry.getLabel(typeValuePair.split("\\.")[0], typeValuePair.split("\\.")[1])
+                        .orElseThrow());
+            }
+        }
+        return result;
+    }
+
+    private List<Pin> getPinsWithSplit(String pins, Node node, IncomingFlowIndex incomingFlowIndex) {
+        List<Pin> result = new ArrayList<>();
+        for (String pinName : pins.split(",\\s*")) {
+            List<String> flowNames = Arrays.asList(pinName.split(Pattern.quote("|")));
+            incomingFlowIndex.getConnectedInPins(node)
+                    .stream()
+                    .filter(it -> incomingFlowIndex.getFlowNameSet(it)
+                            .containsAll(flowNames))
+                    .forEach(result::add);
+        }
+        return result;
+    }
+
+    /**
+     * Measures the average time and allocated bytes of converting the given data flow diagram to the web editor format
+     * @param converter Converter that converts the diagram
+     * @param dfd Data flow diagram and dictionary that is converted
+     * @return Returns the average conversion time in nanoseconds and the average number of allocated bytes, which is
+     * negative, if the platform cannot measure allocations
+     */
+    private long[] measureConversion(DFD2WebConverter converter, DataFlowDiagramAndDictionary dfd) {
+        boolean measureAllocations = allocatedBytes() >= 0;
+        long totalTime = 0;
+        long totalBytes = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long startBytes = allocatedBytes();
+            long start = System.nanoTime();
+            converter.convert(dfd);
+            totalTime += System.nanoTime() - start;
+            totalBytes += allocatedBytes() - startBytes;
+        }
+        return new long[] {totalTime / ITERATIONS, measureAllocations ? totalBytes / ITERATIONS : -1};
+    }
+
+    /**
+     * Returns the number of bytes allocated by the current thread. The platform MBean server is used, as the extended
+     * thread management interface of the JVM is not available to the test bundle
+     * @return Returns the number of allocated bytes or -1, if the platform cannot measure allocations
+     */
+    private long allocatedBytes() {
+        try {
+            Object[] parameters = new Object[] {Thread.currentThread()
+                    .getId()};
+            Object allocatedBytes = ManagementFactory.getPlatformMBeanServer()
+                    .invoke(new ObjectName(ManagementFactory.THREAD_MXBEAN_NAME), "getThreadAllocatedBytes", parameters,
+                            new String[] {long.class.getName()});
+            return (Long) allocatedBytes;
+        } catch (JMException | ClassCastException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Creates a diagram in which every node receives the flows of a set of source nodes on each of its input pins. Each
+     * output pin forwards all input pins and assigns a label with the same condition, so the behavior of every node
+     * references the same pins, labels and terms many times
+     * @param nodes Number of nodes that receive the flows of the source nodes
+     * @param inputPins Number of input pins and source nodes
+     * @param outputPins Number of output pins of each node
+     * @return Returns the created data flow diagram and dictionary
+     */
+    private DataFlowDiagramAndDictionary createForwardingDiagram(int nodes, int inputPins, int outputPins) {
+        datadictionaryFactory ddFactory = datadictionaryFactory.eINSTANCE;
+        dataflowdiagramFactory dfdFactory = dataflowdiagramFactory.eINSTANCE;
+        DataFlowDiagram dataFlowDiagram = dfdFactory.createDataFlowDiagram();
+        DataDictionary dataDictionary = ddFactory.createDataDictionary();
+        LabelType labelType = ddFactory.createLabelType();
+        labelType.setEntityName("Type");
+        Label label = ddFactory.createLabel();
+        label.setEntityName("Value");
+        Label otherLabel = ddFactory.createLabel();
+        otherLabel.setEntityName("Other");
+        labelType.getLabel()
+                .addAll(List.of(label, otherLabel));
+        dataDictionary.getLabelTypes()
+                .add(labelType);
+
+        List<Node> sources = new ArrayList<>();
+        for (int i = 0; i < inputPins; i++) {
+            Node source = dfdFactory.createExternal();
+            source.setEntityName("source_" + i);
+            Behavior behavior = ddFactory.createBehavior();
+            Pin outPin = ddFactory.createPin();
+            behavior.getOutPin()
+                    .add(outPin);
+            source.setBehavior(behavior);
+            dataFlowDiagram.getNodes()
+                    .add(source);
+            dataDictionary.getBehavior()
+                    .add(behavior);
+            sources.add(source);
+        }
+        for (int i = 0; i < nodes; i++) {
+            Node node = dfdFactory.createProcess();
+            node.setEntityName("node_" + i);
+            Behavior behavior = ddFactory.createBehavior();
+            node.setBehavior(behavior);
+            for (int pin = 0; pin < inputPins; pin++) {
+                Pin inPin = ddFactory.createPin();
+                behavior.getInPin()
+                        .add(inPin);
+                for (Node source : sources) {
+                    Flow flow = dfdFactory.createFlow();
+                    flow.setEntityName(source.getEntityName() + "_" + pin);
+                    flow.setSourceNode(source);
+                    flow.setSourcePin(source.getBehavior()
+                            .getOutPin()
+                            .get(0));
+                    flow.setDestinationNode(node);
+                    flow.setDestinationPin(inPin);
+                    dataFlowDiagram.getFlows()
+                            .add(flow);
+                }
+            }
+            for (int pin = 0; pin < outputPins; pin++) {
+                Pin outPin = ddFactory.createPin();
+                behavior.getOutPin()
+                        .add(outPin);
+                ForwardingAssignment forwardingAssignment = ddFactory.createForwardingAssignment();
+                forwardingAssignment.getInputPins()
+                        .addAll(behavior.getInPin());
+                forwardingAssignment.setOutputPin(outPin);
+                Assignment assignment = ddFactory.createAssignment();
+                assignment.setTerm(createCondition(ddFactory, label, otherLabel));
+                assignment.getInputPins()
+                        .addAll(behavior.getInPin());
+                assignment.getOutputLabels()
+                        .add(otherLabel);
+                assignment.setOutputPin(outPin);
+                behavior.getAssignment()
+                        .addAll(List.of(forwardingAssignment, assignment));
+            }
+            dataFlowDiagram.getNodes()
+                    .add(node);
+            dataDictionary.getBehavior()
+                    .add(behavior);
+        }
+        return new DataFlowDiagramAndDictionary(dataFlowDiagram, dataDictionary);
+    }
+
+    private Term createCondition(datadictionaryFactory ddFactory, Label label, Label otherLabel) {
+        LabelReference labelReference = ddFactory.createLabelReference();
+        labelReference.setLabel(label);
+        LabelReference otherLabelReference = ddFactory.createLabelReference();
+        otherLabelReference.setLabel(otherLabel);
+        NOT not = ddFactory.createNOT();
+        not.setNegatedTerm(otherLabelReference);
+        AND and = ddFactory.createAND();
+        and.getTerms()
+                .addAll(List.of(labelReference, not));
+        return and;
+    }
+
+    /**
+     * Creates a diagram of the given number of layers. Each node forwards its data to two nodes of the next layer, so the
+     * number of paths grows exponentially with the number of layers. The nodes of the first layer set a label
+     * @param layers Number of layers of the diagram
+     * @param width Number of nodes in each layer
+     * @return Returns the created data flow diagram and dictionary
+     */
+    private DataFlowDiagramAndDictionary createLayeredDiagram(int layers, int width) {
+        datadictionaryFactory ddFactory = datadictionaryFactory.eINSTANCE;
+        dataflowdiagramFactory dfdFactory = dataflowdiagramFactory.eINSTANCE;
+        DataFlowDiagram dataFlowDiagram = dfdFactory.createDataFlowDiagram();
+        DataDictionary dataDictionary = ddFactory.createDataDictionary();
+        LabelType labelType = ddFactory.createLabelType();
+        labelType.setEntityName("Type");
+        Label label = ddFactory.createLabel();
+        label.setEntityName("Value");
+        labelType.getLabel()
+                .add(label);
+        dataDictionary.getLabelTypes()
+                .add(labelType);
+
+        List<Node> previousLayer = List.of();
+        for (int layer = 0; layer < layers; layer++) {
+            List<Node> currentLayer = new ArrayList<>();
+            for (int i = 0; i < width; i++) {
+                Node node = dfdFactory.createProcess();
+                node.setEntityName("node_" + layer + "_" + i);
+                Behavior behavior = ddFactory.createBehavior();
+                Pin outPin = ddFactory.createPin();
+                outPin.setEntityName("out");
+                behavior.getOutPin()
+                        .add(outPin);
+                node.setBehavior(behavior);
+                if (layer == 0) {
+                    Assignment assignment = ddFactory.createAssignment();
+                    assignment.setTerm(ddFactory.createTRUE());
+                    assignment.getOutputLabels()
+                            .add(label);
+                    assignment.setOutputPin(outPin);
+                    behavior.getAssignment()
+                            .add(assignment);
+                } else {
+                    Pin inPin = ddFactory.createPin();
+                    inPin.setEntityName("in");
+                    behavior.getInPin()
+                            .add(inPin);
+                    ForwardingAssignment assignment = ddFactory.createForwardingAssignment();
+                    assignment.getInputPins()
+                            .add(inPin);
+                    assignment.setOutputPin(outPin);
+                    behavior.getAssignment()
+                            .add(assignment);
+                    for (Node source : List.of(previousLayer.get(i), previousLayer.get((i + 1) % width))) {
+                        Flow flow = dfdFactory.createFlow();
+                        flow.setEntityName(source.getEntityName());
+                        flow.setSourceNode(source);
+                        flow.setSourcePin(source.getBehavior()
+                                .getOutPin()
+                                .get(0));
+                        flow.setDestinationNode(node);
+                        flow.setDestinationPin(inPin);
+                        dataFlowDiagram.getFlows()
+                                .add(flow);
+                    }
+                }
+                dataFlowDiagram.getNodes()
+                        .add(node);
+                dataDictionary.getBehavior()
+                        .add(behavior);
+                currentLayer.add(node);
+            }
+            previousLayer = currentLayer;
+        }
+        return new DataFlowDiagramAndDictionary(dataFlowDiagram, dataDictionary);
+    }
+
+    /**
+     * Converts each of the given expressions a number of times
+     * @param behaviorConverter Behavior converter that converts the expressions
+     * @param expressions Expressions that are converted
+     * @return Returns the converted terms
+     */
+    private List<Term> buildTerms(BehaviorConverter behaviorConverter, List<String> expressions) {
+        List<Term> terms = new ArrayList<>();
+        for (int i = 0; i < ITERATIONS * 200; i++) {
+            expressions.forEach(it -> terms.add(behaviorConverter.stringToTerm(it)));
+        }
+        return terms;
+    }
+
+    /**
+     * Counts the distinct term objects of the given terms including their subterms
+     * @param terms Terms whose objects are counted
+     * @return Returns the number of distinct term objects
+     */
+    private long countTermObjects(List<Term> terms) {
+        Set<EObject> objects = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Term term : terms) {
+            objects.add(term);
+            term.eAllContents()
+                    .forEachRemaining(objects::add);
+        }
+        return objects.size();
+    }
+
+    /**
+     * Collects the distinct labels referenced by the given terms
+     * @param terms Terms whose labels are collected
+     * @return Returns the distinct referenced labels
+     */
+    private Set<Label> collectLabels(List<Term> terms) {
+        Set<Label> labels = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Term term : terms) {
+            if (term instanceof LabelReference labelReference) {
+                labels.add(labelReference.getLabel());
+            }
+            term.eAllContents()
+                    .forEachRemaining(it -> {
+                        if (it instanceof LabelReference labelReference) {
+                            labels.add(labelReference.getLabel());
+                        }
+                    });
+        }
+        return labels;
+    }
+
+    /**
+     * Counts the given labels that are not contained in a label type of the data dictionary
+     * @param labels Labels that are counted
+     * @return Returns the number of labels without a containing label type
+     */
+    private long countDanglingLabels(Set<Label> labels) {
+        return labels.stream()
+                .filter(it -> it.eContainer() == null)
+                .count();
+    }
+
+    /**
+     * Returns the size of the XMI serialization of the given data flow diagram and dictionary
+     * @param dfd Data flow diagram and dictionary that is serialized
+     * @return Returns the number of bytes of the serialization
+     * @throws IOException Thrown, if the serialization fails
+     */
+    private long serializedSize(DataFlowDiagramAndDictionary dfd) throws IOException {
+        EcoreUtil.Copier copier = new EcoreUtil.Copier();
+        Resource resource = new XMIResourceImpl();
+        resource.getContents()
+                .add(copier.copy(dfd.dataFlowDiagram()));
+        resource.getContents()
+                .add(copier.copy(dfd.dataDictionary()));
+        copier.copyReferences();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        resource.save(outputStream, Map.of());
+        return outputStream.size();
+    }
+
+    /**
+     * Measures the average time to find and evaluate the transpose flow graphs of the given data flow diagram
+     * @param dfd Data flow diagram and dictionary that is analyzed
+     * @return Returns the average analysis time in nanoseconds
+     */
+    private long measureAnalysis(DataFlowDiagramAndDictionary dfd) {
+        long totalTime = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            new DFDSimpleTransposeFlowGraphFinder(dfd.dataDictionary(), dfd.dataFlowDiagram()).findTransposeFlowGraphs()
+                    .forEach(it -> it.evaluate());
+            totalTime += System.nanoTime() - start;
+        }
+        return totalTime / ITERATIONS;
+    }
+}
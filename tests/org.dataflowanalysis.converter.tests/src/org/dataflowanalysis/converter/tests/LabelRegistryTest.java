@@ -0,0 +1,203 @@
+package org.dataflowanalysis.converter.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import org.dataflowanalysis.converter.util.LabelRegistry;
+import org.dataflowanalysis.converter.web2dfd.BehaviorConverter;
+import org.dataflowanalysis.dfd.datadictionary.DataDictionary;
+import org.dataflowanalysis.dfd.datadictionary.Label;
+import org.dataflowanalysis.dfd.datadictionary.LabelType;
+import org.dataflowanalysis.dfd.datadictionary.datadictionaryFactory;
+import org.eclipse.emf.common.notify.Notifier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class LabelRegistryTest {
+    private final datadictionaryFactory ddFactory = datadictionaryFactory.eINSTANCE;
+    private DataDictionary dataDictionary;
+    private LabelType sensitivity;
+    private Label personal;
+
+    @BeforeEach
+    public void init() {
+        dataDictionary = ddFactory.createDataDictionary();
+        sensitivity = createLabelType("Sensitivity");
+        personal = createLabel(sensitivity, "Personal");
+        createLabel(sensitivity, "Public");
+        dataDictionary.getLabelTypes()
+                .add(sensitivity);
+    }
+
+    @Test
+    @DisplayName("Test lookup by type and value name and by id")
+    public void testLookup() {
+        try (LabelRegistry labelRegistry = new LabelRegistry(dataDictionary)) {
+            assertEquals(sensitivity, labelRegistry.getLabelType("Sensitivity")
+                    .orElseThrow());
+            assertEquals(sensitivity, labelRegistry.getLabelTypeById(sensitivity.getId())
+                    .orElseThrow());
+            assertEquals(personal, labelRegistry.getLabel("Sensitivity", "Personal")
+                    .orElseThrow());
+            assertEquals(personal, labelRegistry.getLabelById(personal.getId())
+                    .orElseThrow());
+            assertTrue(labelRegistry.getLabel("Sensitivity", "Secret")
+                    .isEmpty());
+            assertTrue(labelRegistry.getLabel("Location", "Personal")
+                    .isEmpty());
+            assertTrue(labelRegistry.getLabelById("unknown")
+                    .isEmpty());
+
+            assertEquals(personal, labelRegistry.getOrCreateLabel("Sensitivity", "Personal"));
+            Label secret = labelRegistry.getOrCreateLabel("Location", "Secret");
+            assertEquals(2, dataDictionary.getLabelTypes()
+                    .size());
+            assertEquals(secret, labelRegistry.getLabelById(secret.getId())
+                    .orElseThrow());
+            assertEquals(secret, labelRegistry.getOrCreateLabel("Location", "Secret"));
+        }
+    }
+
+    @Test
+    @DisplayName("Test indexing of label types and labels added directly to the dictionary")
+    public void testIncrementalIndexing() {
+        try (LabelRegistry labelRegistry = new LabelRegistry(dataDictionary)) {
+            assertTrue(labelRegistry.getLabelType("Location")
+                    .isEmpty());
+
+            LabelType location = createLabelType("Location");
+            Label onPremise = createLabel(location, "OnPremise");
+            dataDictionary.getLabelTypes()
+                    .add(location);
+            assertEquals(location, labelRegistry.getLabelType("Location")
+                    .orElseThrow());
+            assertEquals(onPremise, labelRegistry.getLabel("Location", "OnPremise")
+                    .orElseThrow());
+
+            Label cloud = createLabel(location, "Cloud");
+            assertEquals(cloud, labelRegistry.getLabel("Location", "Cloud")
+                    .orElseThrow());
+            assertEquals(cloud, labelRegistry.getLabelById(cloud.getId())
+                    .orElseThrow());
+        }
+    }
+
+    @Test
+    @DisplayName("Test that renaming and removing labels rebuilds the index")
+    public void testRenameAndRemove() {
+        try (LabelRegistry labelRegistry = new LabelRegistry(dataDictionary)) {
+            assertEquals(personal, labelRegistry.getLabel("Sensitivity", "Personal")
+                    .orElseThrow());
+
+            personal.setEntityName("Private");
+            assertTrue(labelRegistry.getLabel("Sensitivity", "Personal")
+                    .isEmpty());
+            assertEquals(personal, labelRegistry.getLabel("Sensitivity", "Private")
+                    .orElseThrow());
+
+            sensitivity.setEntityName("Confidentiality");
+            assertTrue(labelRegistry.getLabelType("Sensitivity")
+                    .isEmpty());
+            assertEquals(personal, labelRegistry.getLabel("Confidentiality", "Private")
+                    .orElseThrow());
+
+            sensitivity.getLabel()
+                    .remove(personal);
+            assertTrue(labelRegistry.getLabel("Confidentiality", "Private")
+                    .isEmpty());
+            assertTrue(labelRegistry.getLabelById(personal.getId())
+                    .isEmpty());
+
+            dataDictionary.getLabelTypes()
+                    .remove(sensitivity);
+            assertTrue(labelRegistry.getLabelType("Confidentiality")
+                    .isEmpty());
+            assertTrue(labelRegistry.getLabel("Confidentiality", "Public")
+                    .isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Test concurrent lookup and creation of labels")
+    public void testConcurrentLookup() {
+        try (LabelRegistry labelRegistry = new LabelRegistry(dataDictionary)) {
+            List<Label> created = IntStream.range(0, 1_000)
+                    .parallel()
+                    .mapToObj(i -> {
+                        assertEquals(personal, labelRegistry.getLabel("Sensitivity", "Personal")
+                                .orElseThrow());
+                        return labelRegistry.getOrCreateLabel("Type" + i % 10, "Value" + i % 100);
+                    })
+                    .toList();
+            for (int i = 0; i < created.size(); i++) {
+                assertEquals(created.get(i), labelRegistry.getLabel("Type" + i % 10, "Value" + i % 100)
+                        .orElseThrow());
+            }
+            assertEquals(11, dataDictionary.getLabelTypes()
+                    .size());
+            assertEquals(100, dataDictionary.getLabelTypes()
+                    .stream()
+                    .filter(it -> it.getEntityName()
+                            .startsWith("Type"))
+                    .mapToInt(it -> it.getLabel()
+                            .size())
+                    .sum());
+        }
+    }
+
+    @Test
+    @DisplayName("Test that closing registries removes their observers")
+    public void testClose() {
+        for (int i = 0; i < 10; i++) {
+            try (LabelRegistry labelRegistry = new LabelRegistry(dataDictionary)) {
+                assertEquals(personal, labelRegistry.getLabel("Sensitivity", "Personal")
+                        .orElseThrow());
+                assertEquals(1, personal.eAdapters()
+                        .size());
+            }
+        }
+        assertNoAdapters(dataDictionary);
+        assertNoAdapters(sensitivity);
+        sensitivity.getLabel()
+                .forEach(this::assertNoAdapters);
+
+        // Behavior converters close the registry they created for the dictionary
+        for (int i = 0; i < 10; i++) {
+            try (BehaviorConverter behaviorConverter = new BehaviorConverter(dataDictionary)) {
+                assertEquals("Sensitivity.Personal", behaviorConverter.termToString(behaviorConverter.stringToTerm("Sensitivity.Personal")));
+            }
+        }
+        assertNoAdapters(dataDictionary);
+        assertNoAdapters(personal);
+
+        LabelRegistry labelRegistry = new LabelRegistry(dataDictionary);
+        labelRegistry.getLabel("Sensitivity", "Personal");
+        labelRegistry.close();
+        Label created = labelRegistry.getOrCreateLabel("Sensitivity", "Secret");
+        assertEquals(created, labelRegistry.getLabel("Sensitivity", "Secret")
+                .orElseThrow());
+        assertNoAdapters(created);
+        assertNoAdapters(dataDictionary);
+    }
+
+    private void assertNoAdapters(Notifier notifier) {
+        assertTrue(notifier.eAdapters()
+                .isEmpty(), "Observer left at " + notifier);
+    }
+
+    private LabelType createLabelType(String name) {
+        LabelType labelType = ddFactory.createLabelType();
+        labelType.setEntityName(name);
+        return labelType;
+    }
+
+    private Label createLabel(LabelType labelType, String name) {
+        Label label = ddFactory.createLabel();
+        label.setEntityName(name);
+        labelType.getLabel()
+                .add(label);
+        return label;
+    }
+}
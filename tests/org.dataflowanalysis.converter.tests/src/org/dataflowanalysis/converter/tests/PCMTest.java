@@ -2,16 +2,24 @@ package org.dataflowanalysis.converter.tests;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.log4j.Level;
@@ -25,21 +33,39 @@ import org.dataflowanalysis.analysis.dfd.DFDConfidentialityAnalysis;
 import org.dataflowanalysis.analysis.dfd.simple.DFDSimpleTransposeFlowGraphFinder;
 import org.dataflowanalysis.analysis.pcm.PCMDataFlowConfidentialityAnalysisBuilder;
 import org.dataflowanalysis.analysis.pcm.core.AbstractPCMVertex;
+import org.dataflowanalysis.converter.ConverterChain;
 import org.dataflowanalysis.converter.dfd2web.DFD2WebConverter;
 import org.dataflowanalysis.converter.dfd2web.DataFlowDiagramAndDictionary;
 import org.dataflowanalysis.converter.pcm2dfd.PCM2DFDConverter;
+import org.dataflowanalysis.converter.pcm2dfd.PCMConversionSession;
+import org.dataflowanalysis.converter.pcm2dfd.PCMConversionSession.PCMVariant;
+import org.dataflowanalysis.converter.pcm2dfd.PCMConversionTrace;
 import org.dataflowanalysis.converter.pcm2dfd.PCMConverterModel;
+import org.dataflowanalysis.converter.pcm2dfd.PCMSnapshotCache;
+import org.dataflowanalysis.converter.pcm2dfd.PassThroughCompactionConverter;
+import org.dataflowanalysis.converter.util.TermSimplificationConverter;
+import org.dataflowanalysis.converter.web2dfd.BehaviorConverter;
 import org.dataflowanalysis.dfd.datadictionary.AND;
 import org.dataflowanalysis.dfd.datadictionary.AbstractAssignment;
 import org.dataflowanalysis.dfd.datadictionary.Assignment;
+import org.dataflowanalysis.dfd.datadictionary.Behavior;
 import org.dataflowanalysis.dfd.datadictionary.DataDictionary;
 import org.dataflowanalysis.dfd.datadictionary.ForwardingAssignment;
+import org.dataflowanalysis.dfd.datadictionary.Label;
 import org.dataflowanalysis.dfd.datadictionary.LabelReference;
 import org.dataflowanalysis.dfd.datadictionary.LabelType;
+import org.dataflowanalysis.dfd.datadictionary.Pin;
+import org.dataflowanalysis.dfd.datadictionary.Term;
 import org.dataflowanalysis.dfd.dataflowdiagram.DataFlowDiagram;
+import org.dataflowanalysis.dfd.dataflowdiagram.Flow;
 import org.dataflowanalysis.dfd.dataflowdiagram.Node;
 import org.dataflowanalysis.examplemodels.Activator;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Plugin;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -161,6 +187,120 @@ public class PCMTest extends ConverterTest {
                 .size());
     }
 
+    @Test
+    @DisplayName("Test PCM2DFD conversion of an already evaluated flow graph collection")
+    public void testEvaluatedFlowGraphCollection() {
+        final var usageModelPath = Paths.get("scenarios", "pcm", "TravelPlanner", "travelPlanner.usagemodel")
+                .toString();
+        final var allocationPath = Paths.get("scenarios", "pcm", "TravelPlanner", "travelPlanner.allocation")
+                .toString();
+        final var nodeCharPath = Paths.get("scenarios", "pcm", "TravelPlanner", "travelPlanner.nodecharacteristics")
+                .toString();
+
+        DataFlowConfidentialityAnalysis analysis = new PCMDataFlowConfidentialityAnalysisBuilder().standalone()
+                .modelProjectName(TEST_MODELS)
+                .usePluginActivator(Activator.class)
+                .useUsageModel(usageModelPath)
+                .useAllocationModel(allocationPath)
+                .useNodeCharacteristicsModel(nodeCharPath)
+                .build();
+        analysis.initializeAnalysis();
+        var flowGraph = analysis.findFlowGraphs();
+
+        assertThrows(IllegalArgumentException.class, () -> new PCMConverterModel(flowGraph));
+
+        flowGraph.evaluate();
+        PCMConverterModel pcmConverterModel = new PCMConverterModel(flowGraph);
+        assertSame(flowGraph, pcmConverterModel.getFlowGraphCollection());
+
+        var dfd = new PCM2DFDConverter().convert(pcmConverterModel);
+        checkIDPreserving(flowGraph, dfd.dataFlowDiagram());
+        checkNames(flowGraph, dfd.dataFlowDiagram());
+    }
+
+    @Test
+    @DisplayName("Test PCM snapshot cache keys and entries")
+    public void testSnapshotCache() throws IOException {
+        Path modelDirectory = Files.createTempDirectory("pcm-models");
+        Path usageModel = Files.writeString(modelDirectory.resolve("model.usagemodel"), "<usage><call href=\"model.repository#_call\"/></usage>");
+        Path allocation = Files.writeString(modelDirectory.resolve("model.allocation"), "<allocation/>");
+        Path nodeCharacteristics = Files.writeString(modelDirectory.resolve("model.nodecharacteristics"), "<nodes/>");
+        Path repository = Files.writeString(modelDirectory.resolve("model.repository"), "<repository id=\"_call\"/>");
+
+        PCMSnapshotCache snapshotCache = new PCMSnapshotCache(modelDirectory.resolve("cache"));
+        String key = snapshotCache.computeKey(usageModel.toString(), allocation.toString(), nodeCharacteristics.toString());
+        assertEquals(key, snapshotCache.computeKey(usageModel.toString(), allocation.toString(), nodeCharacteristics.toString()));
+        Files.writeString(repository, "<repository id=\"_call\" changed=\"true\"/>");
+        assertNotEquals(key, snapshotCache.computeKey(usageModel.toString(), allocation.toString(), nodeCharacteristics.toString()));
+        Files.delete(repository);
+        assertThrows(IllegalArgumentException.class,
+                () -> snapshotCache.computeKey(usageModel.toString(), allocation.toString(), nodeCharacteristics.toString()));
+        Files.writeString(repository, "<repository id=\"_call\"/>");
+        assertEquals(key, snapshotCache.computeKey(usageModel.toString(), allocation.toString(), nodeCharacteristics.toString()));
+
+        assertTrue(snapshotCache.load(key)
+                .isEmpty());
+        final var usageModelPath = Paths.get("scenarios", "pcm", "TravelPlanner", "travelPlanner.usagemodel")
+                .toString();
+        final var allocationPath = Paths.get("scenarios", "pcm", "TravelPlanner", "travelPlanner.allocation")
+                .toString();
+        final var nodeCharPath = Paths.get("scenarios", "pcm", "TravelPlanner", "travelPlanner.nodecharacteristics")
+                .toString();
+        PCMConverterModel pcmConverterModel = new PCMConverterModel(TEST_MODELS, usageModelPath, allocationPath, nodeCharPath, Activator.class);
+        var dfd = new PCM2DFDConverter().convert(pcmConverterModel);
+        int nodeCount = dfd.dataFlowDiagram()
+                .getNodes()
+                .size();
+        snapshotCache.store(key, dfd);
+
+        var cachedDfd = snapshotCache.load(key)
+                .orElseThrow();
+        assertEquals(nodeCount, cachedDfd.dataFlowDiagram()
+                .getNodes()
+                .size());
+        assertEquals(dfd.dataDictionary()
+                .getLabelTypes()
+                .size(),
+                cachedDfd.dataDictionary()
+                        .getLabelTypes()
+                        .size());
+    }
+
+    @Test
+    @DisplayName("Test that snapshots depend on the options and are not read in incremental mode")
+    public void testSnapshotCacheOptions() throws IOException {
+        Path modelDirectory = copyExampleModels(Paths.get("scenarios", "pcm")).resolve(Paths.get("scenarios", "pcm", "TravelPlanner"));
+        String usageModelPath = modelDirectory.resolve("travelPlanner.usagemodel")
+                .toString();
+        String allocationPath = modelDirectory.resolve("travelPlanner.allocation")
+                .toString();
+        String nodeCharPath = modelDirectory.resolve("travelPlanner.nodecharacteristics")
+                .toString();
+        PCMSnapshotCache snapshotCache = new PCMSnapshotCache(modelDirectory.resolve("cache"));
+
+        PCM2DFDConverter converter = new PCM2DFDConverter();
+        converter.convert(new PCMConverterModel(usageModelPath, allocationPath, nodeCharPath, snapshotCache));
+        assertFalse(converter.getStatistics()
+                .isSnapshotCacheHit());
+        converter.convert(new PCMConverterModel(usageModelPath, allocationPath, nodeCharPath, snapshotCache));
+        assertTrue(converter.getStatistics()
+                .isSnapshotCacheHit());
+
+        PCM2DFDConverter compactConverter = new PCM2DFDConverter();
+        compactConverter.setCompactBehavior(true);
+        compactConverter.convert(new PCMConverterModel(usageModelPath, allocationPath, nodeCharPath, snapshotCache));
+        assertFalse(compactConverter.getStatistics()
+                .isSnapshotCacheHit());
+
+        PCM2DFDConverter incrementalConverter = new PCM2DFDConverter();
+        incrementalConverter.setIncremental(true);
+        incrementalConverter.convert(new PCMConverterModel(usageModelPath, allocationPath, nodeCharPath, snapshotCache));
+        assertFalse(incrementalConverter.getStatistics()
+                .isSnapshotCacheHit());
+        assertTrue(incrementalConverter.getTrace()
+                .isPresent());
+    }
+
     private void testSpecificModel(String inputModel, String inputFile, String modelLocation, String webTarget,
             Predicate<AbstractVertex<?>> constraint) {
         final var usageModelPath = Paths.get("scenarios", "pcm", inputModel, inputFile + ".usagemodel")
@@ -193,7 +333,8 @@ public class PCMTest extends ConverterTest {
         }
 
         PCMConverterModel pcmConverterModel = new PCMConverterModel(modelLocation, usageModelPath, allocationPath, nodeCharPath, Activator.class);
-        var complete = new PCM2DFDConverter().convert(pcmConverterModel);
+        var pcm2dfdConverter = new PCM2DFDConverter();
+        var complete = pcm2dfdConverter.convert(pcmConverterModel);
 
         var dfd2WebConverter = new DFD2WebConverter();
         List<Predicate<? super AbstractVertex<?>>> constraints = new ArrayList<>();
@@ -208,6 +349,25 @@ public class PCMTest extends ConverterTest {
 
         assertEquals(dfd.getNodes()
                 .size(), vertices.size());
+        assertEquals(dfd.getNodes()
+                .size(),
+                pcm2dfdConverter.getStatistics()
+                        .getDistinctVertices());
+        assertEquals(vertices.size(), pcm2dfdConverter.getStatistics()
+                .getNameCacheHits()
+                + pcm2dfdConverter.getStatistics()
+                        .getNameCacheMisses());
+        // Only set variable actions and calls have variable usages, so other vertices are no characterisation lookups
+        long verticesWithVariableUsages = vertices.stream()
+                .filter(it -> Set.of("SetVariableAction", "ExternalCallAction", "EntryLevelSystemCall")
+                        .contains(it.getReferencedElement()
+                                .eClass()
+                                .getName()))
+                .count();
+        assertTrue(pcm2dfdConverter.getStatistics()
+                .getCharacterisationCacheHits()
+                + pcm2dfdConverter.getStatistics()
+                        .getCharacterisationCacheMisses() <= 3 * verticesWithVariableUsages);
 
         if (constraint != null) {
             DFDSimpleTransposeFlowGraphFinder dfdTransposeFlowGraphFinder = new DFDSimpleTransposeFlowGraphFinder(dd, dfd);
@@ -437,6 +597,506 @@ public class PCMTest extends ConverterTest {
                 "scenarios/pcm/CoCarNextGen/AudiA6C8.nodecharacteristics", Activator.class));
     }
 
+    @ParameterizedTest
+    @MethodSource("getPCMModels")
+    @DisplayName("Test parallel PCM2DFD conversion is identical to sequential conversion")
+    public void testParallelConversion(String modelLocation, String usageModelPath, String allocationPath, String nodeCharPath,
+            Class<? extends Plugin> activator) {
+        PCMConverterModel converterModel = new PCMConverterModel(modelLocation, usageModelPath, allocationPath, nodeCharPath, activator);
+        DataFlowDiagramAndDictionary sequential = new PCM2DFDConverter().convert(converterModel);
+
+        PCM2DFDConverter parallelConverter = new PCM2DFDConverter();
+        parallelConverter.setParallel(true);
+        DataFlowDiagramAndDictionary parallel = parallelConverter.convert(converterModel);
+
+        assertEqualIgnoringIds(sequential, parallel);
+    }
+
+    @ParameterizedTest
+    @MethodSource("getPCMModels")
+    @DisplayName("Test PCM2DFD conversion with cached terms is identical to regular conversion")
+    public void testCachedTerms(String modelLocation, String usageModelPath, String allocationPath, String nodeCharPath,
+            Class<? extends Plugin> activator) {
+        PCMConverterModel converterModel = new PCMConverterModel(modelLocation, usageModelPath, allocationPath, nodeCharPath, activator);
+        DataFlowDiagramAndDictionary regular = new PCM2DFDConverter().convert(converterModel);
+
+        PCM2DFDConverter cachingConverter = new PCM2DFDConverter();
+        cachingConverter.setCacheTerms(true);
+        DataFlowDiagramAndDictionary cached = cachingConverter.convert(converterModel);
+
+        assertEqualIgnoringIds(regular, cached);
+    }
+
+    @ParameterizedTest
+    @MethodSource("getPCMModels")
+    @DisplayName("Test term simplification post-pass preserves label propagation")
+    public void testTermSimplification(String modelLocation, String usageModelPath, String allocationPath, String nodeCharPath,
+            Class<? extends Plugin> activator) {
+        PCMConverterModel converterModel = new PCMConverterModel(modelLocation, usageModelPath, allocationPath, nodeCharPath, activator);
+        ConverterChain converterChain = new ConverterChain(List.of(new PCM2DFDConverter(), new TermSimplificationConverter()));
+        DataFlowDiagramAndDictionary complete = new PCM2DFDConverter().convert(converterModel);
+        DataFlowDiagramAndDictionary simplified = (DataFlowDiagramAndDictionary) converterChain.convert(converterModel);
+
+        assertEquals(collectPropagatedLabels(complete), collectPropagatedLabels(simplified));
+    }
+
+    private void assertEqualIgnoringIds(DataFlowDiagramAndDictionary expected, DataFlowDiagramAndDictionary actual) {
+        // Identifiers of pins, labels and assignments are generated by the metamodel and differ between conversions
+        EcoreUtil.EqualityHelper equalityHelper = new EcoreUtil.EqualityHelper() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean haveEqualAttribute(EObject eObject1, EObject eObject2, EAttribute attribute) {
+                return attribute.getName()
+                        .equals("id") || super.haveEqualAttribute(eObject1, eObject2, attribute);
+            }
+        };
+        assertTrue(equalityHelper.equals(List.of(expected.dataFlowDiagram(), expected.dataDictionary()),
+                List.of(actual.dataFlowDiagram(), actual.dataDictionary())));
+    }
+
+    @ParameterizedTest
+    @MethodSource("getPCMModels")
+    @DisplayName("Test compact PCM2DFD behavior omits only redundant fallback assignments")
+    public void testCompactBehavior(String modelLocation, String usageModelPath, String allocationPath, String nodeCharPath,
+            Class<? extends Plugin> activator) {
+        PCMConverterModel converterModel = new PCMConverterModel(modelLocation, usageModelPath, allocationPath, nodeCharPath, activator);
+        DataFlowDiagramAndDictionary regular = new PCM2DFDConverter().convert(converterModel);
+
+        PCM2DFDConverter compactConverter = new PCM2DFDConverter();
+        compactConverter.setCompactBehavior(true);
+        DataFlowDiagramAndDictionary compact = compactConverter.convert(converterModel);
+
+        assertTrue(countAssignments(compact) <= countAssignments(regular));
+        for (Node node : compact.dataFlowDiagram()
+                .getNodes()) {
+            for (var outPin : node.getBehavior()
+                    .getOutPin()) {
+                List<AbstractAssignment> targetingAssignments = node.getBehavior()
+                        .getAssignment()
+                        .stream()
+                        .filter(it -> it.getOutputPin() == outPin)
+                        .toList();
+                assertFalse(targetingAssignments.isEmpty(), "Out-pin without assignment at node " + node.getEntityName());
+                if (targetingAssignments.size() > 1) {
+                    assertTrue(targetingAssignments.stream()
+                            .noneMatch(it -> "Dummy Assignment".equals(it.getEntityName())));
+                }
+            }
+        }
+    }
+
+    private long countAssignments(DataFlowDiagramAndDictionary dfd) {
+        return dfd.dataDictionary()
+                .getBehavior()
+                .stream()
+                .mapToLong(it -> it.getAssignment()
+                        .size())
+                .sum();
+    }
+
+    @ParameterizedTest
+    @MethodSource("getPCMModels")
+    @DisplayName("Test pass-through compaction preserves label propagation")
+    public void testPassThroughCompaction(String modelLocation, String usageModelPath, String allocationPath, String nodeCharPath,
+            Class<? extends Plugin> activator) {
+        PCMConverterModel converterModel = new PCMConverterModel(modelLocation, usageModelPath, allocationPath, nodeCharPath, activator);
+        DataFlowDiagramAndDictionary complete = new PCM2DFDConverter().convert(converterModel);
+        PassThroughCompactionConverter compactionConverter = new PassThroughCompactionConverter();
+        DataFlowDiagramAndDictionary compacted = compactionConverter.convert(complete);
+
+        assertTrue(compacted.dataFlowDiagram()
+                .getNodes()
+                .size() <= complete.dataFlowDiagram()
+                        .getNodes()
+                        .size());
+        List<String> tracedIds = compactionConverter.getTraceMap()
+                .values()
+                .stream()
+                .flatMap(List::stream)
+                .sorted()
+                .toList();
+        List<String> originalIds = complete.dataFlowDiagram()
+                .getNodes()
+                .stream()
+                .map(Node::getId)
+                .sorted()
+                .toList();
+        assertEquals(originalIds, tracedIds);
+
+        Map<String, Set<String>> originalLabels = collectPropagatedLabels(complete);
+        Map<String, Set<String>> compactedLabels = collectPropagatedLabels(compacted);
+        for (Node node : compacted.dataFlowDiagram()
+                .getNodes()) {
+            assertEquals(originalLabels.get(node.getId()), compactedLabels.get(node.getId()), "Labels differ at node " + node.getEntityName());
+        }
+    }
+
+    @Test
+    @DisplayName("Test pass-through compaction merges the SEFF start and stop nodes of the TravelPlanner")
+    public void testPassThroughCompactionMergesNodes() {
+        final var usageModelPath = Paths.get("scenarios", "pcm", "TravelPlanner", "travelPlanner.usagemodel")
+                .toString();
+        final var allocationPath = Paths.get("scenarios", "pcm", "TravelPlanner", "travelPlanner.allocation")
+                .toString();
+        final var nodeCharPath = Paths.get("scenarios", "pcm", "TravelPlanner", "travelPlanner.nodecharacteristics")
+                .toString();
+        PCMConverterModel travelPlanner = new PCMConverterModel(TEST_MODELS, usageModelPath, allocationPath, nodeCharPath, Activator.class);
+        DataFlowDiagramAndDictionary complete = new PCM2DFDConverter().convert(travelPlanner);
+        PassThroughCompactionConverter compactionConverter = new PassThroughCompactionConverter();
+        DataFlowDiagramAndDictionary compacted = compactionConverter.convert(complete);
+
+        assertTrue(compacted.dataFlowDiagram()
+                .getNodes()
+                .size() < complete.dataFlowDiagram()
+                        .getNodes()
+                        .size());
+        Map<String, String> originalNames = new HashMap<>();
+        complete.dataFlowDiagram()
+                .getNodes()
+                .forEach(node -> originalNames.put(node.getId(), node.getEntityName()));
+        List<String> mergedNames = compactionConverter.getTraceMap()
+                .values()
+                .stream()
+                .filter(it -> it.size() > 1)
+                .flatMap(it -> it.subList(1, it.size())
+                        .stream())
+                .map(originalNames::get)
+                .toList();
+        assertFalse(mergedNames.isEmpty());
+        assertEquals(complete.dataFlowDiagram()
+                .getNodes()
+                .size()
+                - compacted.dataFlowDiagram()
+                        .getNodes()
+                        .size(),
+                mergedNames.size());
+        assertTrue(mergedNames.stream()
+                .anyMatch(it -> it.startsWith("Beginning ") || it.startsWith("Ending ")), "No SEFF start or stop node merged: " + mergedNames);
+
+        Map<String, Set<String>> originalLabels = collectPropagatedLabels(complete);
+        Map<String, Set<String>> compactedLabels = collectPropagatedLabels(compacted);
+        for (Node node : compacted.dataFlowDiagram()
+                .getNodes()) {
+            assertEquals(originalLabels.get(node.getId()), compactedLabels.get(node.getId()), "Labels differ at node " + node.getEntityName());
+        }
+    }
+
+    @Test
+    @DisplayName("Test incremental PCM2DFD conversion matches a complete conversion")
+    public void testIncrementalConversion() {
+        final var usageModelPath = Paths.get("scenarios", "pcm", "TravelPlanner", "travelPlanner.usagemodel")
+                .toString();
+        final var allocationPath = Paths.get("scenarios", "pcm", "TravelPlanner", "travelPlanner.allocation")
+                .toString();
+        final var nodeCharPath = Paths.get("scenarios", "pcm", "TravelPlanner", "travelPlanner.nodecharacteristics")
+                .toString();
+        PCMConverterModel travelPlanner = new PCMConverterModel(TEST_MODELS, usageModelPath, allocationPath, nodeCharPath, Activator.class);
+        DataFlowDiagramAndDictionary complete = new PCM2DFDConverter().convert(travelPlanner);
+
+        PCM2DFDConverter converter = new PCM2DFDConverter();
+        converter.setIncremental(true);
+        DataFlowDiagramAndDictionary previous = converter.convert(travelPlanner);
+        PCMConversionTrace trace = converter.getTrace()
+                .orElseThrow();
+        DataFlowDiagramAndDictionary unchanged = converter.convertIncrementally(travelPlanner, previous, trace);
+        PCMConversionTrace unchangedTrace = converter.getTrace()
+                .orElseThrow();
+        assertTrue(unchangedTrace.getRebuiltNodeIds()
+                .isEmpty());
+        assertTrue(unchangedTrace.getTouchedNodeIds()
+                .isEmpty());
+        assertEquals(complete.dataFlowDiagram()
+                .getFlows()
+                .size(),
+                unchanged.dataFlowDiagram()
+                        .getFlows()
+                        .size());
+
+        // Switching to an unrelated model must rebuild every node and yield the result of a complete conversion
+        Arguments otherModel = getPCMModels().findFirst()
+                .orElseThrow();
+        Object[] arguments = otherModel.get();
+        PCMConverterModel other = new PCMConverterModel((String) arguments[0], (String) arguments[1], (String) arguments[2], (String) arguments[3],
+                Activator.class);
+        DataFlowDiagramAndDictionary otherComplete = new PCM2DFDConverter().convert(other);
+        DataFlowDiagramAndDictionary updated = converter.convertIncrementally(other, unchanged, unchangedTrace);
+        PCMConversionTrace updatedTrace = converter.getTrace()
+                .orElseThrow();
+        assertEquals(otherComplete.dataFlowDiagram()
+                .getNodes()
+                .size(),
+                updatedTrace.getRebuiltNodeIds()
+                        .size());
+        assertEquals(otherComplete.dataFlowDiagram()
+                .getNodes()
+                .size(),
+                updated.dataFlowDiagram()
+                        .getNodes()
+                        .size());
+        assertEquals(otherComplete.dataFlowDiagram()
+                .getFlows()
+                .size(),
+                updated.dataFlowDiagram()
+                        .getFlows()
+                        .size());
+        assertEquals(collectPropagatedLabels(otherComplete), collectPropagatedLabels(updated));
+    }
+
+    @Test
+    @DisplayName("Test incremental PCM2DFD conversion after changing a single SEFF action")
+    public void testIncrementalConversionOfChangedAction() throws IOException {
+        Path modelDirectory = copyExampleModels(Paths.get("scenarios", "pcm")).resolve(Paths.get("scenarios", "pcm", "TravelPlanner"));
+        String usageModelPath = modelDirectory.resolve("travelPlanner.usagemodel")
+                .toString();
+        String allocationPath = modelDirectory.resolve("travelPlanner.allocation")
+                .toString();
+        String nodeCharPath = modelDirectory.resolve("travelPlanner.nodecharacteristics")
+                .toString();
+        PCM2DFDConverter converter = new PCM2DFDConverter();
+        converter.setIncremental(true);
+        DataFlowDiagramAndDictionary previous = converter.convert(new PCMConverterModel(usageModelPath, allocationPath, nodeCharPath));
+        PCMConversionTrace trace = converter.getTrace()
+                .orElseThrow();
+
+        // Rename the first set variable action of the repository, which only changes the nodes of this action
+        Pattern actionPattern = Pattern.compile("(<steps_Behaviour xsi:type=\"seff:SetVariableAction\"[^>]*?entityName=\")([^\"]*)(\")");
+        String changedName = null;
+        try (Stream<Path> files = Files.list(modelDirectory)) {
+            for (Path repository : files.filter(it -> it.toString()
+                    .endsWith(".repository"))
+                    .toList()) {
+                String content = Files.readString(repository);
+                Matcher matcher = actionPattern.matcher(content);
+                if (changedName == null && matcher.find()) {
+                    changedName = matcher.group(2) + "Changed";
+                    Files.writeString(repository, content.substring(0, matcher.start()) + matcher.group(1) + changedName + matcher.group(3)
+                            + content.substring(matcher.end()));
+                }
+            }
+        }
+        assertNotNull(changedName, "No set variable action found in the TravelPlanner repository");
+
+        PCMConverterModel changedModel = new PCMConverterModel(usageModelPath, allocationPath, nodeCharPath);
+        DataFlowDiagramAndDictionary changedComplete = new PCM2DFDConverter().convert(changedModel);
+        DataFlowDiagramAndDictionary updated = converter.convertIncrementally(changedModel, previous, trace);
+        PCMConversionTrace updatedTrace = converter.getTrace()
+                .orElseThrow();
+
+        String name = changedName;
+        Set<String> changedNodeIds = changedComplete.dataFlowDiagram()
+                .getNodes()
+                .stream()
+                .filter(it -> name.equals(it.getEntityName()))
+                .map(Node::getId)
+                .collect(Collectors.toSet());
+        assertFalse(changedNodeIds.isEmpty());
+        Set<String> neighbourNodeIds = new HashSet<>(changedNodeIds);
+        changedComplete.dataFlowDiagram()
+                .getFlows()
+                .stream()
+                .filter(it -> changedNodeIds.contains(it.getSourceNode()
+                        .getId())
+                        || changedNodeIds.contains(it.getDestinationNode()
+                                .getId()))
+                .forEach(it -> {
+                    neighbourNodeIds.add(it.getSourceNode()
+                            .getId());
+                    neighbourNodeIds.add(it.getDestinationNode()
+                            .getId());
+                });
+        assertEquals(changedNodeIds, updatedTrace.getRebuiltNodeIds());
+        assertEquals(neighbourNodeIds, updatedTrace.getTouchedNodeIds());
+        assertTrue(updatedTrace.getRemovedNodeIds()
+                .isEmpty());
+        assertTrue(neighbourNodeIds.size() > changedNodeIds.size());
+
+        // The label registry of the incremental conversion must not stay attached to the reused data dictionary
+        assertTrue(updated.dataDictionary()
+                .eAdapters()
+                .isEmpty());
+        assertEquals(describeIgnoringOrder(changedComplete), describeIgnoringOrder(updated));
+        assertEquals(collectPropagatedLabels(changedComplete), collectPropagatedLabels(updated));
+    }
+
+    /**
+     * Describes the nodes, behaviors and flows of the given data flow diagram independent of the order of the elements and
+     * the generated ids of pins, labels and assignments. Checks that every flow and assignment only references pins of the
+     * behavior of its nodes
+     */
+    private Map<String, List<String>> describeIgnoringOrder(DataFlowDiagramAndDictionary dfd) {
+        BehaviorConverter behaviorConverter = new BehaviorConverter(dfd.dataDictionary());
+        Map<String, List<String>> description = new HashMap<>();
+        for (Node node : dfd.dataFlowDiagram()
+                .getNodes()) {
+            Behavior behavior = node.getBehavior();
+            List<String> elements = new ArrayList<>();
+            elements.add(node.eClass()
+                    .getName() + " " + node.getEntityName());
+            node.getProperties()
+                    .forEach(it -> elements.add("property " + describeValue(it, behaviorConverter)));
+            behavior.getInPin()
+                    .forEach(it -> elements.add("in " + it.getEntityName()));
+            behavior.getOutPin()
+                    .forEach(it -> elements.add("out " + it.getEntityName()));
+            for (AbstractAssignment assignment : behavior.getAssignment()) {
+                StringBuilder assignmentDescription = new StringBuilder(assignment.eClass()
+                        .getName());
+                for (EStructuralFeature feature : assignment.eClass()
+                        .getEAllStructuralFeatures()) {
+                    if (feature.getName()
+                            .equals("id")) {
+                        continue;
+                    }
+                    Object value = assignment.eGet(feature);
+                    for (Object element : value instanceof List<?> list ? list : Collections.singletonList(value)) {
+                        if (element instanceof Pin pin) {
+                            assertTrue(behavior.getInPin()
+                                    .contains(pin)
+                                    || behavior.getOutPin()
+                                            .contains(pin),
+                                    "Assignment references foreign pin at node " + node.getEntityName());
+                        }
+                    }
+                    assignmentDescription.append(' ')
+                            .append(feature.getName())
+                            .append('=')
+                            .append(describeValue(value, behaviorConverter));
+                }
+                elements.add(assignmentDescription.toString());
+            }
+            Collections.sort(elements);
+            description.put(node.getId(), elements);
+        }
+        List<String> flows = new ArrayList<>();
+        for (Flow flow : dfd.dataFlowDiagram()
+                .getFlows()) {
+            assertTrue(flow.getSourceNode()
+                    .getBehavior()
+                    .getOutPin()
+                    .contains(flow.getSourcePin()), "Flow starts at foreign pin of node " + flow.getSourceNode()
+                            .getEntityName());
+            assertTrue(flow.getDestinationNode()
+                    .getBehavior()
+                    .getInPin()
+                    .contains(flow.getDestinationPin()), "Flow ends at foreign pin of node " + flow.getDestinationNode()
+                            .getEntityName());
+            flows.add(flow.getEntityName() + " " + flow.getSourceNode()
+                    .getId() + "."
+                    + flow.getSourcePin()
+                            .getEntityName()
+                    + " -> " + flow.getDestinationNode()
+                            .getId()
+                    + "." + flow.getDestinationPin()
+                            .getEntityName());
+        }
+        Collections.sort(flows);
+        description.put("flows", flows);
+        return description;
+    }
+
+    private String describeValue(Object value, BehaviorConverter behaviorConverter) {
+        if (value instanceof List<?> list) {
+            return list.stream()
+                    .map(it -> describeValue(it, behaviorConverter))
+                    .sorted()
+                    .toList()
+                    .toString();
+        } else if (value instanceof Pin pin) {
+            return "pin " + pin.getEntityName();
+        } else if (value instanceof Label label) {
+            return ((LabelType) label.eContainer()).getEntityName() + "." + label.getEntityName();
+        } else if (value instanceof Term term) {
+            return behaviorConverter.termToString(term);
+        }
+        return String.valueOf(value);
+    }
+
+    @Test
+    @DisplayName("Test PCM conversion session shares models between variants")
+    public void testConversionSession() throws IOException {
+        Path modelDirectory = copyExampleModels(Paths.get("scenarios", "pcm")).resolve(Paths.get("scenarios", "pcm", "TravelPlanner"));
+        String usageModelPath = modelDirectory.resolve("travelPlanner.usagemodel")
+                .toString();
+        String allocationPath = modelDirectory.resolve("travelPlanner.allocation")
+                .toString();
+        String nodeCharPath = modelDirectory.resolve("travelPlanner.nodecharacteristics")
+                .toString();
+        // Variants only differ in the content of their usage model, so they are converted separately
+        List<PCMVariant> variants = new ArrayList<>();
+        variants.add(new PCMVariant(usageModelPath, allocationPath, nodeCharPath));
+        for (int i = 1; i <= 2; i++) {
+            Path variantUsageModel = Files.writeString(modelDirectory.resolve("travelPlannerVariant" + i + ".usagemodel"),
+                    Files.readString(Path.of(usageModelPath)) + "<!-- Variant " + i + " -->" + System.lineSeparator());
+            variants.add(new PCMVariant(variantUsageModel.toString(), allocationPath, nodeCharPath));
+        }
+
+        List<DataFlowDiagramAndDictionary> sequential;
+        try (PCMConversionSession session = new PCMConversionSession()) {
+            session.convert(usageModelPath, allocationPath, nodeCharPath);
+            int sharedResourceLoads = session.getSharedResourceLoads();
+            assertTrue(sharedResourceLoads > 0);
+
+            sequential = session.convertAll(variants);
+            assertEquals(3, session.getConvertedVariants());
+            assertEquals(1, session.getReusedVariants());
+            assertEquals(sharedResourceLoads, session.getSharedResourceLoads());
+        }
+
+        for (int i = 0; i < variants.size(); i++) {
+            PCMVariant variant = variants.get(i);
+            PCMConverterModel standaloneModel = new PCMConverterModel(variant.usageModelPath(), variant.allocationPath(), variant.nodeCharPath());
+            assertEqualIgnoringIds(new PCM2DFDConverter().convert(standaloneModel), sequential.get(i));
+        }
+
+        try (PCMConversionSession session = new PCMConversionSession()) {
+            session.setParallel(true);
+            List<DataFlowDiagramAndDictionary> parallel = session.convertAll(variants);
+            assertEquals(3, session.getConvertedVariants());
+            for (int i = 0; i < variants.size(); i++) {
+                assertEqualIgnoringIds(sequential.get(i), parallel.get(i));
+            }
+        }
+    }
+
+    private Path copyExampleModels(Path folder) throws IOException {
+        Path targetDirectory = Files.createTempDirectory("pcm-models");
+        Enumeration<URL> entries = Platform.getBundle(TEST_MODELS)
+                .findEntries(folder.toString()
+                        .replace('\\', '/'), "*", true);
+        while (entries.hasMoreElements()) {
+            URL entry = entries.nextElement();
+            if (entry.getPath()
+                    .endsWith("/")) {
+                continue;
+            }
+            Path targetFile = targetDirectory.resolve(entry.getPath()
+                    .substring(1));
+            Files.createDirectories(targetFile.getParent());
+            try (InputStream inputStream = entry.openStream()) {
+                Files.copy(inputStream, targetFile);
+            }
+        }
+        return targetDirectory;
+    }
+
+    private Map<String, Set<String>> collectPropagatedLabels(DataFlowDiagramAndDictionary dfd) {
+        Map<String, Set<String>> propagatedLabels = new HashMap<>();
+        new DFDSimpleTransposeFlowGraphFinder(dfd.dataDictionary(), dfd.dataFlowDiagram()).findTransposeFlowGraphs()
+                .stream()
+                .map(AbstractTransposeFlowGraph::evaluate)
+                .map(AbstractTransposeFlowGraph::getVertices)
+                .flatMap(List::stream)
+                .forEach(vertex -> {
+                    Set<String> labels = propagatedLabels.computeIfAbsent(((Node) vertex.getReferencedElement()).getId(), it -> new HashSet<>());
+                    vertex.getAllIncomingDataCharacteristics()
+                            .forEach(dataCharacteristic -> dataCharacteristic.getAllCharacteristics()
+                                    .forEach(value -> labels
+                                            .add(dataCharacteristic.getVariableName() + ":" + value.getTypeName() + "." + value.getValueName())));
+                });
+        return propagatedLabels;
+    }
+
     @ParameterizedTest
     @MethodSource("getPCMModels")
     public void testValidDFD(String modelLocation, String usageModelPath, String allocationPath, String nodeCharPath,
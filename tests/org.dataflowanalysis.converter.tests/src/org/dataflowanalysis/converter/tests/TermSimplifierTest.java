@@ -0,0 +1,257 @@
+package org.dataflowanalysis.converter.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.dataflowanalysis.converter.util.TermSimplifier;
+import org.dataflowanalysis.converter.web2dfd.BehaviorConverter;
+import org.dataflowanalysis.dfd.datadictionary.AND;
+import org.dataflowanalysis.dfd.datadictionary.DataDictionary;
+import org.dataflowanalysis.dfd.datadictionary.Label;
+import org.dataflowanalysis.dfd.datadictionary.LabelReference;
+import org.dataflowanalysis.dfd.datadictionary.LabelType;
+import org.dataflowanalysis.dfd.datadictionary.NOT;
+import org.dataflowanalysis.dfd.datadictionary.OR;
+import org.dataflowanalysis.dfd.datadictionary.TRUE;
+import org.dataflowanalysis.dfd.datadictionary.Term;
+import org.dataflowanalysis.dfd.datadictionary.datadictionaryFactory;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+public class TermSimplifierTest {
+    private static final int LABEL_COUNT = 4;
+    private static final int RANDOM_TERMS = 500;
+
+    private final datadictionaryFactory ddFactory = datadictionaryFactory.eINSTANCE;
+    private final TermSimplifier termSimplifier = new TermSimplifier();
+    private DataDictionary dataDictionary;
+    private BehaviorConverter behaviorConverter;
+    private List<Label> labels;
+
+    @BeforeEach
+    public void init() {
+        dataDictionary = ddFactory.createDataDictionary();
+        LabelType type = ddFactory.createLabelType();
+        type.setEntityName("Type");
+        for (int i = 0; i < LABEL_COUNT; i++) {
+            Label label = ddFactory.createLabel();
+            label.setEntityName("Value" + i);
+            type.getLabel()
+                    .add(label);
+        }
+        dataDictionary.getLabelTypes()
+                .add(type);
+        labels = type.getLabel();
+        behaviorConverter = new BehaviorConverter(dataDictionary);
+    }
+
+    @AfterEach
+    public void close() {
+        behaviorConverter.close();
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {"TRUE && Type.Value0; Type.Value0", "!(!Type.Value0); Type.Value0",
+            "Type.Value0 || Type.Value0; Type.Value0",
+            "Type.Value0 && (Type.Value1 && Type.Value2); Type.Value0 && Type.Value1 && Type.Value2",
+            "(Type.Value0 || Type.Value1) || (Type.Value1 || Type.Value2); Type.Value0 || Type.Value1 || Type.Value2",
+            "Type.Value0 && !Type.Value0; FALSE", "Type.Value0 || !Type.Value0; TRUE", "FALSE || Type.Value1; Type.Value1",
+            "Type.Value0 && FALSE; FALSE", "!FALSE; TRUE", "!(TRUE && TRUE); FALSE",
+            "(Type.Value0 && TRUE) || (Type.Value0 && Type.Value0); Type.Value0"})
+    @DisplayName("Test simplification of known terms")
+    public void testKnownSimplifications(String input, String expected) {
+        Term simplified = termSimplifier.simplify(behaviorConverter.stringToTerm(input));
+        assertEquals(expected, behaviorConverter.termToString(simplified));
+    }
+
+    @Test
+    @DisplayName("Test simplified terms are equivalent to random terms")
+    public void testRandomTermEquivalence() {
+        Random random = new Random(42);
+        for (int i = 0; i < RANDOM_TERMS; i++) {
+            Term term = createRandomTerm(random, 5);
+            Term copy = EcoreUtil.copy(term);
+            Term simplified = termSimplifier.simplify(copy);
+            for (int assignment = 0; assignment < 1 << LABEL_COUNT; assignment++) {
+                Set<Label> presentLabels = presentLabels(assignment);
+                assertEquals(evaluate(term, presentLabels), evaluate(simplified, presentLabels),
+                        "Simplification of " + behaviorConverter.termToString(term) + " is not equivalent");
+            }
+            assertNormalized(simplified, null);
+            assertTrue(size(simplified) <= size(term));
+        }
+    }
+
+    @Test
+    @DisplayName("Test simplification of long nested operand chains")
+    public void testLongChainSimplification() {
+        int operands = 20000;
+        Term conjunction = createReference(0);
+        Term disjunction = createReference(0);
+        Term negations = createReference(1);
+        for (int i = 1; i < operands; i++) {
+            AND and = ddFactory.createAND();
+            and.getTerms()
+                    .add(conjunction);
+            and.getTerms()
+                    .add(createReference(i % LABEL_COUNT));
+            conjunction = and;
+
+            OR or = ddFactory.createOR();
+            or.getTerms()
+                    .add(createReference(i % LABEL_COUNT));
+            or.getTerms()
+                    .add(disjunction);
+            disjunction = or;
+
+            NOT not = ddFactory.createNOT();
+            not.setNegatedTerm(negations);
+            negations = not;
+        }
+
+        assertEquals("Type.Value0 && Type.Value1 && Type.Value2 && Type.Value3",
+                behaviorConverter.termToString(termSimplifier.simplify(conjunction)));
+        assertEquals("Type.Value3 || Type.Value2 || Type.Value1 || Type.Value0",
+                behaviorConverter.termToString(termSimplifier.simplify(disjunction)));
+        assertEquals("!Type.Value1", behaviorConverter.termToString(termSimplifier.simplify(negations)));
+
+        NOT negatedLabel = ddFactory.createNOT();
+        negatedLabel.setNegatedTerm(createReference(0));
+        Term chain = negatedLabel;
+        for (int i = 0; i < operands; i++) {
+            AND and = ddFactory.createAND();
+            and.getTerms()
+                    .add(chain);
+            and.getTerms()
+                    .add(createReference(0));
+            chain = and;
+        }
+        assertTrue(TermSimplifier.isFalse(termSimplifier.simplify(chain)));
+    }
+
+    private LabelReference createReference(int label) {
+        LabelReference reference = ddFactory.createLabelReference();
+        reference.setLabel(labels.get(label));
+        return reference;
+    }
+
+    private Set<Label> presentLabels(int assignment) {
+        return IntStream.range(0, LABEL_COUNT)
+                .filter(it -> (assignment & 1 << it) != 0)
+                .mapToObj(labels::get)
+                .collect(Collectors.toSet());
+    }
+
+    private Term createRandomTerm(Random random, int depth) {
+        int kind = depth == 0 ? random.nextInt(3) : random.nextInt(6);
+        switch (kind) {
+            case 0:
+                return ddFactory.createTRUE();
+            case 1: {
+                NOT term = ddFactory.createNOT();
+                term.setNegatedTerm(ddFactory.createTRUE());
+                return term;
+            }
+            case 2: {
+                LabelReference term = ddFactory.createLabelReference();
+                term.setLabel(labels.get(random.nextInt(LABEL_COUNT)));
+                return term;
+            }
+            case 3: {
+                NOT term = ddFactory.createNOT();
+                term.setNegatedTerm(createRandomTerm(random, depth - 1));
+                return term;
+            }
+            case 4: {
+                AND term = ddFactory.createAND();
+                int operands = 2 + random.nextInt(2);
+                for (int i = 0; i < operands; i++) {
+                    term.getTerms()
+                            .add(createRandomTerm(random, depth - 1));
+                }
+                return term;
+            }
+            default: {
+                OR term = ddFactory.createOR();
+                int operands = 2 + random.nextInt(2);
+                for (int i = 0; i < operands; i++) {
+                    term.getTerms()
+                            .add(createRandomTerm(random, depth - 1));
+                }
+                return term;
+            }
+        }
+    }
+
+    private boolean evaluate(Term term, Set<Label> presentLabels) {
+        if (term instanceof TRUE) {
+            return true;
+        } else if (term instanceof LabelReference labelReference) {
+            return presentLabels.contains(labelReference.getLabel());
+        } else if (term instanceof NOT not) {
+            return !evaluate(not.getNegatedTerm(), presentLabels);
+        } else if (term instanceof AND and) {
+            return and.getTerms()
+                    .stream()
+                    .allMatch(it -> evaluate(it, presentLabels));
+        } else if (term instanceof OR or) {
+            return or.getTerms()
+                    .stream()
+                    .anyMatch(it -> evaluate(it, presentLabels));
+        }
+        throw new IllegalArgumentException("Unknown term type");
+    }
+
+    /**
+     * Asserts that the given simplified term contains no foldable constants, nested terms of the same operator and double
+     * negations
+     * @param term Simplified term
+     * @param parent Parent of the term or null, if the term is the root
+     */
+    private void assertNormalized(Term term, Term parent) {
+        if (parent instanceof AND || parent instanceof OR) {
+            assertFalse(TermSimplifier.isTrue(term) || TermSimplifier.isFalse(term), "Constant operand was not folded");
+            assertNotEquals(parent.eClass(), term.eClass(), "Nested term was not flattened");
+        }
+        if (term instanceof NOT not) {
+            assertFalse(not.getNegatedTerm() instanceof NOT, "Double negation was not eliminated");
+            assertNormalized(not.getNegatedTerm(), term);
+        } else if (term instanceof AND and) {
+            assertTrue(and.getTerms()
+                    .size() > 1);
+            and.getTerms()
+                    .forEach(it -> assertNormalized(it, term));
+        } else if (term instanceof OR or) {
+            assertTrue(or.getTerms()
+                    .size() > 1);
+            or.getTerms()
+                    .forEach(it -> assertNormalized(it, term));
+        }
+    }
+
+    private int size(Term term) {
+        if (term instanceof NOT not) {
+            return 1 + size(not.getNegatedTerm());
+        } else if (term instanceof AND and) {
+            return 1 + and.getTerms()
+                    .stream()
+                    .mapToInt(this::size)
+                    .sum();
+        } else if (term instanceof OR or) {
+            return 1 + or.getTerms()
+                    .stream()
+                    .mapToInt(this::size)
+                    .sum();
+        }
+        return 1;
+    }
+}
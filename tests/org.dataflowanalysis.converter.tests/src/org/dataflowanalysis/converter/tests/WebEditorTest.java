@@ -3,7 +3,12 @@ package org.dataflowanalysis.converter.tests;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import org.dataflowanalysis.converter.dfd2web.DFD2WebConverter;
 import org.dataflowanalysis.converter.dfd2web.DataFlowDiagramAndDictionary;
@@ -95,6 +100,21 @@ public class WebEditorTest extends ConverterTest {
         cleanup(tempWebDFD);
     }
 
+    @Test
+    @DisplayName("Test streaming conversion is identical to storing the web editor model")
+    public void testStreamingConversion() throws IOException {
+        DataFlowDiagramAndDictionary dfd = web2DFDConverter.convert(minimalWebDFD);
+        dfd2WebConverter.convert(dfd)
+                .save(".", tempWebDFD);
+        String storedJson = Files.readString(Path.of(tempWebDFD + ".json"));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        dfd2WebConverter.convert(dfd, outputStream);
+
+        assertEquals(storedJson, outputStream.toString(StandardCharsets.UTF_8));
+        cleanup(tempWebDFD + ".json");
+    }
+
     private void checkBehaviorAndPinNames(DataFlowDiagramAndDictionary dfd) {
         for (Node node : dfd.dataFlowDiagram()
                 .getNodes()) {